@@ -1,6 +1,7 @@
 import os
 import json
 import time
+import socket
 import subprocess
 
 
@@ -141,6 +142,9 @@ class Experiment:
     
     checker = WaveOrderPicking()
 
+    # (host, port) of a running SolverDaemon; None runs every experiment in a new JVM
+    daemon_address = None
+
     def __init__(self, batch_name, instance, algorithm, run_id):
         
         self.batch_name = batch_name
@@ -182,13 +186,24 @@ class Experiment:
         # Run solver and measure time
         start = time.time()
         print(cmd)
-        subprocess.run(cmd, check=True)
+        if Experiment.daemon_address is None:
+            subprocess.run(cmd, check=True)
+        else:
+            self.run_on_daemon(cmd[3:])
         end = time.time()
 
         self.execution_time = end - start
 
         self.compute_result()
 
+    def run_on_daemon(self, args):
+        # one request line with the solver arguments, one reply line ("OK ...", "NOSOLUTION ..." or "ERROR ...")
+        with socket.create_connection(Experiment.daemon_address) as connection:
+            connection.sendall((" ".join(args) + "\n").encode())
+            reply = connection.makefile().readline().strip()
+        if reply.startswith("ERROR"):
+            raise RuntimeError(f"Solver daemon: {reply}")
+
     def run_cmd(self, show_output=False):
 
         # Build algorithm mode
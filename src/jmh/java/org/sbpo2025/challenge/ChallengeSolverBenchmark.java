@@ -0,0 +1,106 @@
+package org.sbpo2025.challenge;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/*
+ * Instance reading and the greedy hot paths: order selection on a fixed set of
+ * aisles and the feasibility check of the wave it selects
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChallengeSolverBenchmark {
+
+    private ChallengeSolution wave;
+
+    @Setup(Level.Trial)
+    public void setup(InstanceState state) {
+        ChallengeSolver solver = state.solver;
+        List<Integer> aisles = randomQuarter(solver);
+        AisleCoverage coverage = coverage(solver, aisles);
+        resetStock(solver, coverage);
+        wave = new ChallengeSolution(solver.selectOrders(coverage), Set.copyOf(aisles));
+    }
+
+    /*
+     * selectOrders consumes the stock of the items, so it is reset before every call, outside
+     * the measured time (per-invocation setup adds timestamps around each call, well under a
+     * microsecond against tens of microseconds for selectOrders on the smallest instance)
+     */
+    @State(Scope.Benchmark)
+    public static class StockState {
+
+        private ChallengeSolver solver;
+        private AisleCoverage coverage;
+
+        @Setup(Level.Trial)
+        public void setup(InstanceState state) {
+            solver = state.solver;
+            coverage = coverage(solver, randomQuarter(solver));
+        }
+
+        @Setup(Level.Invocation)
+        public void reset() {
+            resetStock(solver, coverage);
+        }
+    }
+
+    // a fixed random quarter of the aisles
+    private static List<Integer> randomQuarter(ChallengeSolver solver) {
+        List<Integer> aisles = new ArrayList<>();
+        for (int a = 0; a < solver.aisles.size(); a++) aisles.add(a);
+        Collections.shuffle(aisles, new Random(42));
+        return aisles.subList(0, Math.max(1, aisles.size() / 4));
+    }
+
+    private static AisleCoverage coverage(ChallengeSolver solver, List<Integer> aisles) {
+        AisleCoverage coverage = new AisleCoverage(solver.csr);
+        for (int a : aisles) coverage.addAisle(a);
+        return coverage;
+    }
+
+    private static void resetStock(ChallengeSolver solver, AisleCoverage coverage) {
+        for (Item item : solver.items) {
+            item.resetStock();
+            item.addStock(coverage.getCapacity(item.id));
+        }
+    }
+
+    @Benchmark
+    public Challenge readInput(InstanceState state) {
+        Challenge challenge = new Challenge();
+        challenge.readInput(state.inputFilePath);
+        return challenge;
+    }
+
+    @Benchmark
+    public Set<Integer> selectOrders(StockState stock) {
+        return stock.solver.selectOrders(stock.coverage);
+    }
+
+    @Benchmark
+    public void isSolutionFeasible(InstanceState state, Blackhole blackhole) {
+        blackhole.consume(state.solver.isSolutionFeasible(wave));
+    }
+}
@@ -0,0 +1,103 @@
+package org.sbpo2025.challenge;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sbpo2025.challenge.genetic_algorithm.SplitMixRandom;
+import org.sbpo2025.challenge.genetic_algorithm.binary_genetic_algorithm.BinaryWavePickingProblem;
+import org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm.WavePickingProblem;
+import org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm.WaveSolution;
+import org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm.operators.WaveBitFlipMutation;
+import org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm.operators.WaveUniformCrossover;
+import org.uma.jmetal.solution.binarysolution.BinarySolution;
+
+/*
+ * GA hot paths over a whole population: evaluation (with repair) for both encodings,
+ * crossover of consecutive pairs and mutation. Evaluation repairs the solutions in
+ * place, so every invocation evaluates fresh copies of the initial population
+ * (the copies are part of the measurement).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeneticOperatorsBenchmark {
+
+    @Param({"10", "100"})
+    public int populationSize;
+
+    private WavePickingProblem problem;
+    private BinaryWavePickingProblem binaryProblem;
+    private List<WaveSolution> population;
+    private List<BinarySolution> binaryPopulation;
+    private WaveUniformCrossover crossover;
+    private WaveBitFlipMutation mutation;
+
+    @Setup(Level.Trial)
+    public void setup(InstanceState state) {
+        ChallengeSolver solver = state.solver;
+        problem = new WavePickingProblem(solver.orders, solver.aisles, solver.items, solver.csr,
+                solver.waveSizeLB, solver.waveSizeUB, 42L);
+        binaryProblem = new BinaryWavePickingProblem(solver.orders, solver.aisles, solver.items, solver.csr,
+                solver.waveSizeLB, solver.waveSizeUB, 42L);
+
+        population = problem.createInitialPopulation(populationSize);
+        binaryPopulation = binaryProblem.createInitialPopulation(populationSize);
+
+        crossover = new WaveUniformCrossover(0.9, true, problem.random);
+        mutation = new WaveBitFlipMutation(1.0 / (solver.orders.size() + solver.aisles.size()),
+                solver.orders.size(), solver.aisles.size(), new SplitMixRandom(42L));
+    }
+
+    @Benchmark
+    public void evaluate(Blackhole blackhole) {
+        for (WaveSolution solution : population) {
+            WaveSolution copy = solution.copy();
+            problem.evaluate(copy);
+            blackhole.consume(copy.getObjective(0));
+        }
+    }
+
+    @Benchmark
+    public void evaluateBinary(Blackhole blackhole) {
+        for (BinarySolution solution : binaryPopulation) {
+            BinarySolution copy = (BinarySolution) solution.copy();
+            binaryProblem.evaluate(copy);
+            blackhole.consume(copy.getObjective(0));
+        }
+    }
+
+    @Benchmark
+    public void crossover(Blackhole blackhole) {
+        for (int i = 0; i + 1 < population.size(); i += 2) {
+            blackhole.consume(crossover.execute(List.of(population.get(i), population.get(i + 1))));
+        }
+    }
+
+    @Benchmark
+    public void mutation(Blackhole blackhole) {
+        List<WaveSolution> offspring = new ArrayList<>(population.size());
+        for (WaveSolution solution : population) {
+            WaveSolution copy = solution.copy();
+            mutation.doMutation(mutation.getMutationProbability(), copy);
+            offspring.add(copy);
+        }
+        blackhole.consume(offspring);
+    }
+}
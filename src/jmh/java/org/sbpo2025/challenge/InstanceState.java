@@ -0,0 +1,30 @@
+package org.sbpo2025.challenge;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/*
+ * Benchmark fixture: one representative instance of each dataset, read from
+ * datasets/ (run the benchmarks from the project root)
+ */
+@State(Scope.Benchmark)
+public class InstanceState {
+
+    @Param({"a/instance_0012", "b/instance_0008", "x/instance_0001"})
+    public String instance;
+
+    public String inputFilePath;
+    public Challenge challenge;
+    public ChallengeSolver solver;
+
+    @Setup(Level.Trial)
+    public void load() {
+        inputFilePath = "datasets/" + instance + ".txt";
+        challenge = new Challenge();
+        challenge.readInput(inputFilePath);
+        solver = new ChallengeSolver(challenge.orders, challenge.aisles, challenge.nItems, challenge.waveSizeLB, challenge.waveSizeUB);
+    }
+}
@@ -0,0 +1,173 @@
+package org.sbpo2025.challenge;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/*
+ * Incremental index of the orders that are fully covered by a set of open aisles,
+ * i.e. the open aisles together hold every item of the order in the quantity it asks for.
+ *
+ * Per item it keeps the capacity of the open aisles and the orders of the item sorted by
+ * demand; per order, the number of its items whose demand is not covered yet. Opening or
+ * closing an aisle only visits the orders whose demand of one of the aisle's items lies
+ * between the old and the new capacity, so an update costs time proportional to the
+ * coverage changes it causes. The orders whose status changed in the last update are
+ * available through getChanged / getChangedCount.
+ */
+public class AisleCoverage {
+
+    private final CsrInstance csr;
+
+    // item -> (order, demand) sorted by demand, rows as in csr.itemOrderStart
+    private final int[] sortedOrder;
+    private final int[] sortedQuantity;
+
+    private final int[] capacity;
+    private final int[] missing;
+    private final BitSet open;
+    private final BitSet covered;
+
+    private final int[] changed;
+    private int changedCount = 0;
+
+    public AisleCoverage(CsrInstance csr) {
+        this(csr, new int[csr.itemOrder.length], new int[csr.itemOrder.length]);
+
+        Integer[] row = new Integer[0];
+        for (int i = 0; i < csr.nItems; i++) {
+            int from = csr.itemOrderStart[i];
+            int count = csr.itemOrderStart[i + 1] - from;
+            if (row.length < count) row = new Integer[count];
+            for (int k = 0; k < count; k++) row[k] = from + k;
+            Arrays.sort(row, 0, count, (x, y) -> Integer.compare(csr.itemOrderQuantity[x], csr.itemOrderQuantity[y]));
+            for (int k = 0; k < count; k++) {
+                sortedOrder[from + k] = csr.itemOrder[row[k]];
+                sortedQuantity[from + k] = csr.itemOrderQuantity[row[k]];
+            }
+        }
+    }
+
+    private AisleCoverage(CsrInstance csr, int[] sortedOrder, int[] sortedQuantity) {
+        this.csr = csr;
+        this.sortedOrder = sortedOrder;
+        this.sortedQuantity = sortedQuantity;
+        this.capacity = new int[csr.nItems];
+        this.missing = new int[csr.nOrders];
+        this.open = new BitSet(csr.nAisles);
+        this.covered = new BitSet(csr.nOrders);
+        this.changed = new int[csr.nOrders];
+        for (int o = 0; o < csr.nOrders; o++) {
+            missing[o] = csr.orderStart[o + 1] - csr.orderStart[o];
+            if (missing[o] == 0) covered.set(o);
+        }
+    }
+
+    /*
+     * An empty coverage (no open aisles) sharing the sorted index with this one
+     */
+    public AisleCoverage copy() {
+        return new AisleCoverage(csr, sortedOrder, sortedQuantity);
+    }
+
+    public void addAisle(int aisle) {
+        changedCount = 0;
+        if (open.get(aisle)) return;
+        open.set(aisle);
+
+        for (int k = csr.aisleStart[aisle]; k < csr.aisleStart[aisle + 1]; k++) {
+            int item = csr.aisleItem[k];
+            int before = capacity[item];
+            int after = before + csr.aisleQuantity[k];
+            capacity[item] = after;
+
+            // orders whose demand of the item is now covered: before < demand <= after
+            int end = csr.itemOrderStart[item + 1];
+            for (int j = firstAbove(item, before); j < end && sortedQuantity[j] <= after; j++) {
+                int order = sortedOrder[j];
+                if (--missing[order] == 0) {
+                    covered.set(order);
+                    changed[changedCount++] = order;
+                }
+            }
+        }
+    }
+
+    public void removeAisle(int aisle) {
+        changedCount = 0;
+        if (!open.get(aisle)) return;
+        open.clear(aisle);
+
+        for (int k = csr.aisleStart[aisle]; k < csr.aisleStart[aisle + 1]; k++) {
+            int item = csr.aisleItem[k];
+            int before = capacity[item];
+            int after = before - csr.aisleQuantity[k];
+            capacity[item] = after;
+
+            // orders whose demand of the item is no longer covered: after < demand <= before
+            int end = csr.itemOrderStart[item + 1];
+            for (int j = firstAbove(item, after); j < end && sortedQuantity[j] <= before; j++) {
+                int order = sortedOrder[j];
+                if (missing[order]++ == 0) {
+                    covered.clear(order);
+                    changed[changedCount++] = order;
+                }
+            }
+        }
+    }
+
+    /*
+     * Close every open aisle
+     */
+    public void clear() {
+        for (int a = open.nextSetBit(0); a >= 0; a = open.nextSetBit(a + 1)) removeAisle(a);
+        changedCount = 0;
+    }
+
+    /*
+     * First position in the sorted row of the item with demand > quantity
+     */
+    private int firstAbove(int item, int quantity) {
+        int low = csr.itemOrderStart[item];
+        int high = csr.itemOrderStart[item + 1];
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedQuantity[mid] <= quantity) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    public boolean isOpen(int aisle) {
+        return open.get(aisle);
+    }
+
+    public boolean isCovered(int order) {
+        return covered.get(order);
+    }
+
+    /*
+     * Covered orders (read only view, updated in place)
+     */
+    public BitSet getCovered() {
+        return covered;
+    }
+
+    public int getCoveredCount() {
+        return covered.cardinality();
+    }
+
+    public int getCapacity(int item) {
+        return capacity[item];
+    }
+
+    /*
+     * Orders that became covered (addAisle) or uncovered (removeAisle) in the last update
+     */
+    public int[] getChanged() {
+        return changed;
+    }
+
+    public int getChangedCount() {
+        return changedCount;
+    }
+}
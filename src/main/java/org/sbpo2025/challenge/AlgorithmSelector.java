@@ -0,0 +1,57 @@
+package org.sbpo2025.challenge;
+
+import java.util.Map;
+
+/*
+ * Rule-based choice of the algorithm and its parameters from the instance features, for
+ * the "auto" argument. The rules summarize the runs in experiments/:
+ *  - encoding: the subset encoding beat the binary one on every instance (a_0001, a_0004,
+ *    a_0009, a_0017, a_0019) by 30% to 7x, and the orders-union crossover always beat the
+ *    default one, so both are always used
+ *  - GA implementation: the steady-state GA won on a_0004 and a_0009, the only instances
+ *    with several times more aisles than orders; the generational GA won on the others
+ *  - population: 80 was the best of 40/60/80 on b_0003, b_0007 and b_0009 for every
+ *    mutation rate
+ *  - mutation rate: 0.01 won on b_0003 and b_0007, where a full wave fits in 2-3 aisles;
+ *    on b_0009 (27 aisles per wave) it was the worst and 0.001 was among the best
+ *  - generations: on x_0001, x_0003 and x_0007 the value barely moves after 50
+ *  - size: on x_0008 (20k orders x 482 aisles) the GA took 30 minutes and lost to the
+ *    greedy, so above that size parallel tempering (from the greedy wave) is used instead
+ * Parameters given on the command line (GA implementation, params:, encoding and operator
+ * flags, seed:, threads) are kept; the rules only fill in the others.
+ */
+public class AlgorithmSelector {
+
+    static final double MAX_GA_SIZE = 6e6; // order non-zeros x aisles; x_0007 is 3.6e6, x_0008 is 9.8e6
+    static final double STEADY_STATE_AISLES_PER_ORDER = 3;
+    static final double FEW_AISLES_PER_WAVE = 5;
+
+    /*
+     * Put the selected algorithm and parameters in params and return a one-line summary
+     */
+    public static String select(InstanceFeatures features, Map<String, Object> params) {
+
+        if ((double) features.orderNonZeros * features.aisles > MAX_GA_SIZE) {
+            params.put("algorithm", "parallelTempering");
+            return "parallelTempering (instance too large for the GA)";
+        }
+
+        params.put("algorithm", "genetic");
+        params.putIfAbsent("GAimplementation",
+                features.aisles >= STEADY_STATE_AISLES_PER_ORDER * features.orders ? "steadyState" : "generational");
+        params.putIfAbsent("binaryEncoding", false);
+        params.putIfAbsent("ordersUnionCrossover", true);
+        params.putIfAbsent("warmStart", true);
+        params.putIfAbsent("feasibleOperators", false);
+        params.putIfAbsent("randomSeed", 12345L);
+        params.putIfAbsent("maxIterations", 1);
+        params.putIfAbsent("populationSize", 80);
+        params.putIfAbsent("generations", 50);
+        params.putIfAbsent("crossoverProbability", 1.0);
+        params.putIfAbsent("mutationProbability", features.ubInAisles < FEW_AISLES_PER_WAVE ? 0.01 : 0.001);
+
+        return String.format("genetic %s, %s encoding, population %d, %d generations, mutation %s",
+                params.get("GAimplementation"), (boolean) params.get("binaryEncoding") ? "binary" : "subset",
+                params.get("populationSize"), params.get("generations"), params.get("mutationProbability"));
+    }
+}
@@ -0,0 +1,280 @@
+package org.sbpo2025.challenge;
+
+import org.apache.commons.lang3.time.StopWatch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/*
+ * Branch-and-bound over the aisles, started from the greedy incumbent.
+ *
+ * Aisles are branched in decreasing order of their useful capacity u(a) = sum over items
+ * of min(capacity, total demand); every node includes or excludes the next aisle. Bounds:
+ *  - extensions of the included set I with k more aisles from the remaining ones have at
+ *    most min(UB, U(I) + the k largest u of the remaining aisles) units, where
+ *    U(I) = sum over items of min(total demand, capacity of I), hence a ratio bound
+ *    maximized over k (units must also reach LB)
+ *  - the wave with exactly the aisles of I has at most min(UB, sum over items of
+ *    min(capacity of I, demand of the orders covered by I)) units
+ * The orders of a wave are chosen by a greedy (covered orders by decreasing units); when it
+ * does not reach the second bound, that bound stays open in the final upper bound.
+ *
+ * The search is a parallel depth-first search on a ForkJoinPool: the exclude branch of a
+ * node is forked when the worker has few queued tasks, so idle workers steal subtrees.
+ * At the time limit, the bounds of the nodes left open are collected, so the result always
+ * comes with a proven upper bound (optimal when it meets the incumbent).
+ */
+public class BranchAndBound {
+
+    private static final double EPSILON = 1e-9;
+
+    private final ChallengeSolver solver;
+    private final CsrInstance csr;
+    private final AisleCoverage index; // shared sorted index, copied per task
+    private final int[] totalDemand;
+    private final int[] aisleOrder; // branching order
+    private final long[] prefix; // prefix[d] = sum of u over aisleOrder[0..d)
+
+    private final LongAdder nodes = new LongAdder();
+    private final AtomicLong openBound = new AtomicLong(Double.doubleToLongBits(0)); // max bound left open
+    private long deadline;
+    private double rootBound;
+    private double upperBound;
+
+    public BranchAndBound(ChallengeSolver solver) {
+        this.solver = solver;
+        this.csr = solver.csr;
+        this.index = new AisleCoverage(csr);
+
+        totalDemand = new int[csr.nItems];
+        for (int k = 0; k < csr.orderItem.length; k++) totalDemand[csr.orderItem[k]] += csr.orderQuantity[k];
+
+        long[] useful = new long[csr.nAisles];
+        for (int a = 0; a < csr.nAisles; a++) {
+            for (int k = csr.aisleStart[a]; k < csr.aisleStart[a + 1]; k++) {
+                useful[a] += Math.min(csr.aisleQuantity[k], totalDemand[csr.aisleItem[k]]);
+            }
+        }
+        aisleOrder = IntStream.range(0, csr.nAisles).boxed()
+                .sorted((x, y) -> Long.compare(useful[y], useful[x])).mapToInt(Integer::intValue).toArray();
+        prefix = new long[csr.nAisles + 1];
+        for (int d = 0; d < csr.nAisles; d++) prefix[d + 1] = prefix[d] + useful[aisleOrder[d]];
+    }
+
+    public PartialResult solve(PartialResult bestSolution, StopWatch stopWatch, Map<String, Object> params) {
+
+        solver.incumbent.offer(bestSolution);
+        deadline = solver.getDeadline(stopWatch);
+        int threads = (int) params.getOrDefault("bbThreads", Runtime.getRuntime().availableProcessors());
+
+        rootBound = extensionBound(0, 0, 0);
+        SolverLog.info("Branch-and-bound: %d aisles, root bound %.4f, incumbent %.4f, %d threads",
+                csr.nAisles, rootBound, solver.incumbent.get().objValue(), threads);
+
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.invoke(new Subtree(0, new int[0]));
+        } finally {
+            pool.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        double lower = solver.incumbent.get().objValue();
+        double upper = Math.max(lower, Double.longBitsToDouble(openBound.get()));
+        upperBound = upper;
+        double gap = upper > 0 ? (upper - lower) / upper : 0;
+        long count = nodes.sum();
+        SolverLog.info("Branch-and-bound %s: %d nodes in %.2f s (%.0f nodes/s), lower bound %.4f, upper bound %.4f, gap %.4f%%",
+                gap <= EPSILON ? "proved optimality" : "stopped", count, seconds, count / Math.max(seconds, 1e-9),
+                lower, upper, 100 * gap);
+
+        return solver.incumbent.get();
+    }
+
+    /*
+     * Bound of the root node and proven upper bound of the last solve
+     */
+    public double getRootBound() {
+        return rootBound;
+    }
+
+    public double getUpperBound() {
+        return upperBound;
+    }
+
+    /*
+     * Upper bound on the ratio of the waves with the included aisles (m of them, U(I) = useful)
+     * plus at least one aisle from aisleOrder[d..]
+     */
+    private double extensionBound(int d, int m, long useful) {
+        double best = 0;
+        boolean feasible = false;
+        for (int k = 1; d + k <= csr.nAisles; k++) {
+            long units = Math.min(solver.waveSizeUB, useful + prefix[d + k] - prefix[d]);
+            if (units < solver.waveSizeLB) continue;
+            double ratio = (double) units / (m + k);
+            if (feasible && ratio < best) break; // the ratio is unimodal in k (concave over linear)
+            feasible = true;
+            best = Math.max(best, ratio);
+            if (units == solver.waveSizeUB) break; // more aisles only lower the ratio
+        }
+        return best;
+    }
+
+    private boolean pruned(double bound) {
+        return bound <= solver.incumbent.get().objValue() + EPSILON;
+    }
+
+    private void recordOpen(double bound) {
+        openBound.accumulateAndGet(Double.doubleToLongBits(bound),
+                (x, y) -> Double.longBitsToDouble(x) >= Double.longBitsToDouble(y) ? x : y);
+    }
+
+    /*
+     * Search state of one task: open aisles with per-item capacity, covered orders and bounds
+     */
+    private class Node {
+        final AisleCoverage coverage = index.copy();
+        final int[] capacity = new int[csr.nItems];
+        final int[] coveredDemand = new int[csr.nItems];
+        final int[] included = new int[csr.nAisles];
+        int m = 0;
+        long useful = 0; // sum of min(total demand, capacity)
+        long servable = 0; // sum of min(capacity, demand of covered orders)
+
+        void add(int aisle) {
+            coverage.addAisle(aisle);
+            int[] changed = coverage.getChanged();
+            for (int c = 0; c < coverage.getChangedCount(); c++) updateOrder(changed[c], 1);
+            for (int k = csr.aisleStart[aisle]; k < csr.aisleStart[aisle + 1]; k++) update(csr.aisleItem[k], csr.aisleQuantity[k], 0);
+            included[m++] = aisle;
+        }
+
+        void remove(int aisle) {
+            coverage.removeAisle(aisle);
+            int[] changed = coverage.getChanged();
+            for (int c = 0; c < coverage.getChangedCount(); c++) updateOrder(changed[c], -1);
+            for (int k = csr.aisleStart[aisle]; k < csr.aisleStart[aisle + 1]; k++) update(csr.aisleItem[k], -csr.aisleQuantity[k], 0);
+            m--;
+        }
+
+        private void updateOrder(int order, int sign) {
+            for (int k = csr.orderStart[order]; k < csr.orderStart[order + 1]; k++) update(csr.orderItem[k], 0, sign * csr.orderQuantity[k]);
+        }
+
+        private void update(int item, int capacityChange, int demandChange) {
+            useful -= Math.min(totalDemand[item], capacity[item]);
+            servable -= Math.min(capacity[item], coveredDemand[item]);
+            capacity[item] += capacityChange;
+            coveredDemand[item] += demandChange;
+            useful += Math.min(totalDemand[item], capacity[item]);
+            servable += Math.min(capacity[item], coveredDemand[item]);
+        }
+
+        /*
+         * The wave with exactly the included aisles: bound, then greedy order selection if promising
+         */
+        void evaluate() {
+            long units = Math.min(solver.waveSizeUB, servable);
+            if (units < solver.waveSizeLB) return;
+            double bound = (double) units / m;
+            if (pruned(bound)) return;
+
+            // covered orders by decreasing units, while the items and the upper bound allow
+            int[] stock = capacity.clone();
+            Set<Integer> selected = new HashSet<>();
+            long total = 0;
+            for (int o : coveredByDecreasingUnits()) {
+                if (total + csr.orderUnits[o] > solver.waveSizeUB) continue;
+                boolean fits = true;
+                for (int k = csr.orderStart[o]; k < csr.orderStart[o + 1] && fits; k++) {
+                    fits = stock[csr.orderItem[k]] >= csr.orderQuantity[k];
+                }
+                if (!fits) continue;
+                for (int k = csr.orderStart[o]; k < csr.orderStart[o + 1]; k++) stock[csr.orderItem[k]] -= csr.orderQuantity[k];
+                selected.add(o);
+                total += csr.orderUnits[o];
+            }
+
+            if (total >= solver.waveSizeLB) {
+                Set<Integer> aisles = new HashSet<>();
+                for (int i = 0; i < m; i++) aisles.add(included[i]);
+                solver.offerIncumbent(new ChallengeSolution(selected, aisles));
+            }
+            if (total < units) recordOpen(bound); // greedy may have missed the best orders of this wave
+        }
+
+        private int[] coveredByDecreasingUnits() {
+            return coverage.getCovered().stream().boxed()
+                    .sorted((x, y) -> Integer.compare(csr.orderUnits[y], csr.orderUnits[x]))
+                    .mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /*
+     * Subtree below depth d with the given aisles included
+     */
+    private class Subtree extends RecursiveAction {
+        private final int depth;
+        private final int[] includedAisles;
+        private final List<Subtree> forked = new ArrayList<>();
+        private Node node;
+        private int sinceCheck = 0;
+        private boolean timedOut = false;
+
+        Subtree(int depth, int[] includedAisles) {
+            this.depth = depth;
+            this.includedAisles = includedAisles;
+        }
+
+        @Override
+        protected void compute() {
+            node = new Node();
+            for (int a : includedAisles) node.add(a);
+            search(depth);
+            node = null;
+            for (Subtree task : forked) task.join();
+        }
+
+        private void search(int d) {
+            nodes.increment();
+            if (d == csr.nAisles) return;
+
+            double bound = extensionBound(d, node.m, node.useful);
+            if (pruned(bound)) return;
+            if (timedOut || (++sinceCheck & 63) == 0 && System.nanoTime() - deadline >= 0) {
+                timedOut = true;
+                recordOpen(bound);
+                return;
+            }
+
+            // exclude branch: forked while the local queue is short, so idle workers can steal it
+            boolean fork = d + 8 < csr.nAisles && getSurplusQueuedTaskCount() < 2;
+            if (fork) {
+                Subtree task = new Subtree(d + 1, Arrays.copyOf(node.included, node.m));
+                task.fork();
+                forked.add(task);
+                if (forked.size() >= 64) forked.removeIf(Subtree::isCompletedNormally);
+            }
+
+            int aisle = aisleOrder[d];
+            node.add(aisle);
+            node.evaluate();
+            search(d + 1);
+            node.remove(aisle);
+
+            if (!fork) search(d + 1);
+        }
+    }
+}
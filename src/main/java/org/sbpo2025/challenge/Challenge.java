@@ -5,8 +5,11 @@ import org.apache.commons.lang3.time.StopWatch;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -22,6 +25,8 @@ public class Challenge {
     public int waveSizeUB;
 
     public void readInput(String inputFilePath) {
+        SolverEvents.ReadInput event = new SolverEvents.ReadInput();
+        event.begin();
         try {
             BufferedReader reader = new BufferedReader(new FileReader(inputFilePath));
             String line = reader.readLine();
@@ -49,9 +54,17 @@ public class Challenge {
 
             reader.close();
         } catch (IOException e) {
-            System.err.println("Error reading input from " + inputFilePath);
+            SolverLog.error("Error reading input from %s", inputFilePath);
             e.printStackTrace();
         }
+        event.end();
+        if (event.shouldCommit()) {
+            event.file = inputFilePath;
+            event.orders = orders == null ? 0 : orders.size();
+            event.items = nItems;
+            event.aisles = aisles == null ? 0 : aisles.size();
+            event.commit();
+        }
     }
 
     private void readItemQuantityPairs(BufferedReader reader, int nLines, List<Map<Integer, Integer>> orders) throws IOException {
@@ -72,40 +85,60 @@ public class Challenge {
 
     public void writeOutput(ChallengeSolution challengeSolution, String outputFilePath) {
         if (challengeSolution == null) {
-            System.err.println("Solution not found");
+            SolverLog.error("Solution not found");
             return;
         }
         try {
-            BufferedWriter writer = new BufferedWriter(new FileWriter(outputFilePath));
-            var orders = challengeSolution.orders();
-            var aisles = challengeSolution.aisles();
+            writeSolution(challengeSolution, Path.of(outputFilePath));
+            SolverLog.info("Output written to %s", outputFilePath);
+
+        } catch (IOException e) {
+            SolverLog.error("Error writing output to %s", outputFilePath);
+            e.printStackTrace();
+        }
+    }
 
-            // Write the number of orders
-            writer.write(String.valueOf(orders.size()));
-            writer.newLine();
+    /*
+     * Write the solution to a temporary file next to the output and rename it over the
+     * output, so readers (and a kill at the time limit) never see a partial file
+     */
+    public static void writeSolution(ChallengeSolution challengeSolution, Path outputFile) throws IOException {
+        Path directory = outputFile.toAbsolutePath().getParent();
+        Path temporary = directory.resolve(String.format("%s.%d.%d.tmp", outputFile.getFileName(),
+                ProcessHandle.current().pid(), Thread.currentThread().getId())); // unique per writing thread
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temporary)) {
+                var orders = challengeSolution.orders();
+                var aisles = challengeSolution.aisles();
 
-            // Write each order
-            for (int order : orders) {
-                writer.write(String.valueOf(order));
+                // Write the number of orders
+                writer.write(String.valueOf(orders.size()));
                 writer.newLine();
-            }
 
-            // Write the number of aisles
-            writer.write(String.valueOf(aisles.size()));
-            writer.newLine();
+                // Write each order
+                for (int order : orders) {
+                    writer.write(String.valueOf(order));
+                    writer.newLine();
+                }
 
-            // Write each aisle
-            for (int aisle : aisles) {
-                writer.write(String.valueOf(aisle));
+                // Write the number of aisles
+                writer.write(String.valueOf(aisles.size()));
                 writer.newLine();
-            }
 
-            writer.close();
-            System.out.println("Output written to " + outputFilePath);
+                // Write each aisle
+                for (int aisle : aisles) {
+                    writer.write(String.valueOf(aisle));
+                    writer.newLine();
+                }
+            }
 
-        } catch (IOException e) {
-            System.err.println("Error writing output to " + outputFilePath);
-            e.printStackTrace();
+            try {
+                Files.move(temporary, outputFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, outputFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
         }
     }
 
@@ -134,7 +167,7 @@ public class Challenge {
             mutationProb = parts.length > 5 ? Double.parseDouble(parts[5]) : -1; //optional
 
         } catch (Exception e) {
-            System.out.println(e.getMessage() + "\n -> Default parameters will be used.");
+            SolverLog.info("%s\n -> Default parameters will be used.", e.getMessage());
             seed = 12345L;
             iterations = 1;
             populationSize = 50;
@@ -153,6 +186,94 @@ public class Challenge {
         params.put("binaryEncoding", Arrays.asList(args).contains("binaryEncoding"));
         params.put("ordersUnionCrossover", !Arrays.asList(args).contains("defaultCrossover"));
         params.put("warmStart", !Arrays.asList(args).contains("randomStart"));
+        params.put("feasibleOperators", Arrays.asList(args).contains("feasibleOperators"));
+
+        return params;
+    }
+
+    /*
+     * Algorithm and parameters selected by the command line arguments
+     */
+    public static Map<String, Object> parseParams(String[] args) {
+        Map<String, Object> params = new HashMap<>();
+
+        if (Arrays.asList(args).contains("genetic")) {
+            
+            params.put("algorithm", "genetic");
+            
+            if (Arrays.asList(args).contains("steadyState")) {
+                params.put("GAimplementation", "steadyState");
+            } else if (Arrays.asList(args).contains("generational")) {
+                params.put("GAimplementation", "generational");
+            } else if (Arrays.asList(args).contains("nsgaII")) {
+                params.put("GAimplementation", "nsgaII"); // bi-objective: units vs aisles
+            }
+            for (String arg : args) {
+                if (arg.startsWith("evaluationThreads:")) params.put("evaluationThreads", Integer.parseInt(arg.substring("evaluationThreads:".length())));
+            }
+
+            params = parseGeneticParams(params, args);
+
+        } else if (Arrays.asList(args).contains("greedy")) {
+            params.put("algorithm", "greedy");
+
+        } else if (Arrays.asList(args).contains("branchAndBound")) {
+
+            params.put("algorithm", "branchAndBound");
+            for (String arg : args) {
+                if (arg.startsWith("bbThreads:")) params.put("bbThreads", Integer.parseInt(arg.substring("bbThreads:".length())));
+            }
+
+        } else if (Arrays.asList(args).contains("parallelTempering")) {
+
+            params.put("algorithm", "parallelTempering");
+            for (String arg : args) {
+                if (arg.startsWith("ptReplicas:")) params.put("ptReplicas", Integer.parseInt(arg.substring("ptReplicas:".length())));
+                if (arg.startsWith("ptRoundMoves:")) params.put("ptRoundMoves", Integer.parseInt(arg.substring("ptRoundMoves:".length())));
+                if (arg.startsWith("seed:")) params.put("randomSeed", Long.parseLong(arg.substring("seed:".length())));
+            }
+
+        } else if (Arrays.asList(args).contains("portfolio")) {
+
+            params.put("algorithm", "portfolio");
+            params = parseGeneticParams(params, args); // population and operators of the GA components
+            for (String arg : args) {
+                if (arg.startsWith("portfolioSlice:")) params.put("portfolioSlice", Double.parseDouble(arg.substring("portfolioSlice:".length())));
+                if (arg.startsWith("portfolioThreads:")) params.put("portfolioThreads", Integer.parseInt(arg.substring("portfolioThreads:".length())));
+            }
+
+        } else if (Arrays.asList(args).contains("auto")) {
+
+            params.put("algorithm", "auto"); // replaced from the instance features by AlgorithmSelector
+            // only the arguments actually given, the selector fills in the rest
+            if (Arrays.asList(args).contains("steadyState")) params.put("GAimplementation", "steadyState");
+            if (Arrays.asList(args).contains("generational")) params.put("GAimplementation", "generational");
+            if (Arrays.asList(args).contains("nsgaII")) params.put("GAimplementation", "nsgaII");
+            if (Arrays.stream(args).anyMatch(arg -> arg.startsWith("params:"))) params = parseGeneticParams(params, args);
+            if (Arrays.asList(args).contains("binaryEncoding")) params.put("binaryEncoding", true);
+            if (Arrays.asList(args).contains("defaultCrossover")) params.put("ordersUnionCrossover", false);
+            if (Arrays.asList(args).contains("randomStart")) params.put("warmStart", false);
+            if (Arrays.asList(args).contains("feasibleOperators")) params.put("feasibleOperators", true);
+            for (String arg : args) {
+                if (arg.startsWith("evaluationThreads:")) params.put("evaluationThreads", Integer.parseInt(arg.substring("evaluationThreads:".length())));
+                if (arg.startsWith("ptReplicas:")) params.put("ptReplicas", Integer.parseInt(arg.substring("ptReplicas:".length())));
+                if (arg.startsWith("ptRoundMoves:")) params.put("ptRoundMoves", Integer.parseInt(arg.substring("ptRoundMoves:".length())));
+                if (arg.startsWith("seed:")) params.put("randomSeed", Long.parseLong(arg.substring("seed:".length())));
+            }
+        }
+
+        params.put("showStats", Arrays.asList(args).contains("showStats"));
+        params.put("showOutput", Arrays.asList(args).contains("showOutput"));
+        params.put("decompose", Arrays.asList(args).contains("decompose"));
+
+        for (String arg : args) {
+            if (arg.startsWith("timeLimit:")) { // seconds
+                params.put("maxRuntime", (long) (Double.parseDouble(arg.substring("timeLimit:".length())) * 1000));
+            }
+            if (arg.startsWith("aisleSelection:")) { // lazy (marginal useful capacity) or capacity
+                params.put("aisleSelection", arg.substring("aisleSelection:".length()));
+            }
+        }
 
         return params;
     }
@@ -160,14 +281,16 @@ public class Challenge {
     public static void main(String[] args) {
         // Start the stopwatch to track the running time
         StopWatch stopWatch = StopWatch.createStarted();
-        Map<String, Object> params = new HashMap<>();
 
         // Usage: 
         // java -jar target/ChallengeSBPO2025-1.0.jar ...
         // 	<inputfile>
         // 	[showStats] [showOutput]
-        // 	[genetic|greedy] 
-        // 	[steadyState|generational] [binaryEncoding] [defaultCrossover] [randomStart]
+        // 	[genetic|greedy|portfolio|branchAndBound|parallelTempering|auto] [portfolioSlice:<seconds>] [portfolioThreads:<n>] [bbThreads:<n>]
+        // 	[ptReplicas:<n>] [ptRoundMoves:<n>] [seed:<n>]
+        // 	[steadyState|generational|nsgaII] [evaluationThreads:<n>] [binaryEncoding] [defaultCrossover] [randomStart] [feasibleOperators]
+        // 	[telemetry|telemetry:jsonl] [archive|archive:<directory>] [resultCache|resultCache:<directory>] [resultCacheMB:<n>] [checkpoint|checkpoint:<generations>]
+        // 	[logLevel:<error|warn|info|debug|trace>] [logSample:<n>] [noReduction] [decompose] [timeLimit:<seconds>] [aisleSelection:<lazy|capacity>] [noStreaming] [streamInterval:<milliseconds>]
         // 	params:
         // <randomSeed>/<iterations>/<generations>/<populationSize>/<crossoverProbability>/[mutationProbability]
 
@@ -185,22 +308,32 @@ public class Challenge {
 
         String inputFilePath = args[0];
 
-        if (Arrays.asList(args).contains("genetic")) {
-            
-            params.put("algorithm", "genetic");
-            
-            if (Arrays.asList(args).contains("steadyState")) {
-                params.put("GAimplementation", "steadyState");
-            } else if (Arrays.asList(args).contains("generational")) {
-                params.put("GAimplementation", "generational");
-            }
-
-            params = parseGeneticParams(params, args);
+        SolverLog.configure(args);
+        Challenge challenge = new Challenge();
+        challenge.readInput(inputFilePath);
 
-        } else if (Arrays.asList(args).contains("greedy")) {
-            params.put("algorithm", "greedy");
+        // remove impossible orders, dead items and saturated aisles; all algorithms run on the reduced instance
+        InstanceReduction reduction = null;
+        if (!Arrays.asList(args).contains("noReduction")) {
+            reduction = new InstanceReduction(challenge.orders, challenge.aisles, challenge.nItems, challenge.waveSizeUB);
+            reduction.showReport();
         }
 
+        run(challenge, reduction, args, stopWatch);
+    }
+
+    /*
+     * Solve a loaded (and possibly reduced) instance as selected by the command line
+     * arguments and write the output; returns the solution in the original ids.
+     * Shared by main and the solver daemon, which keeps instances loaded between jobs.
+     * The log level is global and set by the caller (SolverLog.configure), not per run.
+     */
+    public static ChallengeSolution run(Challenge challenge, InstanceReduction reduction, String[] args, StopWatch stopWatch) {
+
+        String inputFilePath = args[0];
+
+        Map<String, Object> params = parseParams(args);
+
         String outputFilePath = null;
         for (String arg : args) {
             if (arg.startsWith("output:")) {
@@ -209,24 +342,122 @@ public class Challenge {
             }
         }
 
-        params.put("showStats", Arrays.asList(args).contains("showStats"));
-        params.put("showOutput", Arrays.asList(args).contains("showOutput"));
-
-        Challenge challenge = new Challenge();
-        challenge.readInput(inputFilePath);
-
         String[] split = inputFilePath.split("/");
         String instance = split[split.length-1];
         String dataset = split[split.length-2];
-        System.out.printf("Processing instance: %s/%s%n", dataset, instance);
+        SolverLog.info("Processing instance: %s/%s", dataset, instance);
 
-        var challengeSolver = new ChallengeSolver(
-                challenge.orders, challenge.aisles, challenge.nItems, challenge.waveSizeLB, challenge.waveSizeUB);
+        if (outputFilePath == null) outputFilePath = String.format("output/%s/%s/%s", params.getOrDefault("algorithm", "greedy"), dataset, instance);
 
-        ChallengeSolution challengeSolution = challengeSolver.solve(stopWatch, params);
+        // convergence telemetry is written next to the solution output
+        for (String arg : args) {
+            if (arg.equals("telemetry") || arg.equals("telemetry:csv") || arg.equals("telemetry:jsonl")) {
+                String extension = arg.endsWith("jsonl") ? "jsonl" : "csv";
+                params.put("telemetryFile", outputFilePath.replaceFirst("\\.txt$", "") + ".telemetry." + extension);
+            }
+        }
+
+        // GA checkpoint next to the solution output, resumed automatically if present
+        for (String arg : args) {
+            if (arg.equals("checkpoint") || arg.startsWith("checkpoint:")) {
+                params.put("checkpointFile", outputFilePath.replaceFirst("\\.txt$", "") + ".checkpoint");
+                if (arg.startsWith("checkpoint:")) params.put("checkpointInterval", Integer.parseInt(arg.substring("checkpoint:".length())));
+                try { // a checkpoint of another instance with the same sizes is not resumed
+                    params.put("instanceHash", EliteArchive.contentHash(inputFilePath) + (reduction == null ? "" : "/reduced"));
+                } catch (IOException e) {
+                    SolverLog.warn("Checkpoint not tied to the instance content: %s", e.getMessage());
+                }
+            }
+        }
+
+        // elite archive of previous solutions for this instance (seeds the GA, stores improvements)
+        for (String arg : args) {
+            if (arg.equals("archive") || arg.startsWith("archive:")) {
+                String archiveRoot = arg.startsWith("archive:") ? arg.substring("archive:".length()) : "elite_archive";
+                try {
+                    EliteArchive archive = new EliteArchive(Path.of(archiveRoot), dataset, instance, EliteArchive.contentHash(inputFilePath));
+                    archive.addLegacySources(Path.of("."), dataset, instance);
+                    archive.setReduction(reduction);
+                    params.put("eliteArchive", archive);
+                } catch (IOException e) {
+                    SolverLog.warn("Elite archive disabled: %s", e.getMessage());
+                }
+            }
+        }
+
+        // identical runs are answered from the result cache (not with telemetry, checkpoints or
+        // the elite archive, which need the run itself)
+        ResultCache resultCache = null;
+        String cacheKey = null;
+        boolean cacheable = !params.containsKey("telemetryFile") && !params.containsKey("checkpointFile") && !params.containsKey("eliteArchive");
+        for (String arg : args) {
+            if (cacheable && (arg.equals("resultCache") || arg.startsWith("resultCache:"))) {
+                String cacheRoot = arg.startsWith("resultCache:") ? arg.substring("resultCache:".length()) : "result_cache";
+                long cacheMB = 256;
+                for (String sizeArg : args) {
+                    if (sizeArg.startsWith("resultCacheMB:")) cacheMB = Long.parseLong(sizeArg.substring("resultCacheMB:".length()));
+                }
+                try {
+                    resultCache = new ResultCache(Path.of(cacheRoot), cacheMB << 20);
+                    cacheKey = ResultCache.key(EliteArchive.contentHash(inputFilePath), params, reduction != null);
+                } catch (IOException e) {
+                    SolverLog.warn("Result cache disabled: %s", e.getMessage());
+                    resultCache = null;
+                }
+            }
+        }
+        if (resultCache != null) {
+            ResultCache.Entry cached = resultCache.get(cacheKey);
+            if (cached != null) {
+                SolverLog.info("Result cache hit: value %s (solved in %.2f s)", cached.objective(), cached.solveMillis() / 1000.0);
+                challenge.writeOutput(cached.solution(), outputFilePath);
+                SolverLog.flush();
+                return cached.solution();
+            }
+        }
+
+        var challengeSolver = reduction == null
+                ? new ChallengeSolver(challenge.orders, challenge.aisles, challenge.nItems, challenge.waveSizeLB, challenge.waveSizeUB)
+                : new ChallengeSolver(reduction.orders, reduction.aisles, reduction.nItems, challenge.waveSizeLB, challenge.waveSizeUB);
+
+        if ("auto".equals(params.get("algorithm"))) { // features of the original instance, as in the experiments behind the rules
+            InstanceFeatures features = new InstanceFeatures(reduction == null ? challengeSolver.csr : new CsrInstance(challenge.orders, challenge.aisles, challenge.nItems),
+                    challenge.waveSizeLB, challenge.waveSizeUB);
+            SolverLog.info("Auto selection: %s", AlgorithmSelector.select(features, params));
+        }
+
+        // every improvement of the incumbent is written to the output while solving
+        SolutionStreamer streamer = null;
+        if (!Arrays.asList(args).contains("noStreaming")) {
+            long interval = 1000;
+            for (String arg : args) {
+                if (arg.startsWith("streamInterval:")) interval = Long.parseLong(arg.substring("streamInterval:".length()));
+            }
+            streamer = new SolutionStreamer(challengeSolver.incumbent, outputFilePath, interval,
+                    reduction == null ? solution -> solution : reduction::toOriginal);
+        }
+
+        ChallengeSolution challengeSolution;
+        try {
+            challengeSolution = challengeSolver.solve(stopWatch, params);
+        } finally {
+            if (streamer != null) streamer.close();
+        }
+        if (streamer != null) SolverLog.info("Incumbent streamed to the output %d times", streamer.getWrites());
+        double objective = challengeSolution == null ? 0 : challengeSolver.computeObjectiveFunction(challengeSolution);
+        if (reduction != null) challengeSolution = reduction.toOriginal(challengeSolution);
+
+        if (resultCache != null && challengeSolution != null) {
+            try {
+                resultCache.put(cacheKey, challengeSolution, objective, stopWatch.getTime());
+            } catch (IOException e) {
+                SolverLog.warn("Result not cached: %s", e.getMessage());
+            }
+        }
         
-        if (outputFilePath == null) outputFilePath = String.format("output/%s/%s/%s", params.getOrDefault("algorithm", "greedy"), dataset, instance);
         challenge.writeOutput(challengeSolution, outputFilePath);
-        
+        SolverLog.flush();
+
+        return challengeSolution;
     }
 }
@@ -1,24 +1,31 @@
 package org.sbpo2025.challenge;
 
 import org.apache.commons.lang3.time.StopWatch;
+import org.sbpo2025.challenge.genetic_algorithm.GeneticAlgorithmCheckpoint;
 import org.sbpo2025.challenge.genetic_algorithm.binary_genetic_algorithm.BinaryGeneticAlgorithmRunner;
 import org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm.GeneticAlgorithmRunner;
+import org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm.NSGAIIRunner;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 public class ChallengeSolver {
-    private final long MAX_RUNTIME = 600000; // milliseconds
+    private long maxRuntime = 600000; // milliseconds, "maxRuntime" param
+    private String aisleSelection = "lazy"; // greedy aisle order, "aisleSelection" param: lazy or capacity
 
     public List<Map<Integer, Integer>> orders;
     public List<Map<Integer, Integer>> aisles;
     public List<Item> items;
+    public CsrInstance csr;
     public int nItems;
     public int waveSizeLB;
     public int waveSizeUB;
-    public boolean showOutput = false;
+    public final Incumbent incumbent = new Incumbent();
 
     public ChallengeSolver(List<Map<Integer, Integer>> orders, List<Map<Integer, Integer>> aisles, int nItems, int waveSizeLB, int waveSizeUB) {
         
@@ -28,17 +35,45 @@ public class ChallengeSolver {
         this.waveSizeLB = waveSizeLB;
         this.waveSizeUB = waveSizeUB;
         initializeItems();
+        this.csr = new CsrInstance(orders, aisles, nItems);
 
     }
 
     public ChallengeSolution solve(StopWatch stopWatch, Map<String, Object> params) {
         
         if ((boolean) params.getOrDefault("showStats", false)) showStats();
-        if ((boolean) params.getOrDefault("showOutput", false)) this.showOutput = true;
+        this.maxRuntime = (long) params.getOrDefault("maxRuntime", maxRuntime);
+        this.aisleSelection = (String) params.getOrDefault("aisleSelection", aisleSelection);
 
         PartialResult bestSolution = new PartialResult(null, 0);
 
-        switch ((String) params.getOrDefault("algorithm", "")) {
+        EliteArchive archive = (EliteArchive) params.get("eliteArchive");
+        if (archive != null) {
+            List<PartialResult> elites = archive.load(this);
+            SolverLog.info("Elite archive: %d feasible solutions loaded%s", elites.size(),
+                    elites.isEmpty() ? "" : ", best value " + elites.get(0).objValue());
+            params.put("seedSolutions", elites.stream().map(PartialResult::partialSolution).collect(Collectors.toList()));
+            bestSolution = archive.best();
+            incumbent.offer(bestSolution);
+        }
+
+        // the reduction may remove every order (all impossible or above UB) and with them every aisle
+        if (orders.isEmpty() || aisles.isEmpty()) {
+            SolverLog.info("Nothing to solve: %d orders, %d aisles left", orders.size(), aisles.size());
+            return bestSolution.partialSolution();
+        }
+
+        InstanceDecomposition decomposition = null;
+        if ((boolean) params.getOrDefault("decompose", false)) {
+            decomposition = new InstanceDecomposition(this);
+            SolverLog.info("Decomposition: %d connected components", decomposition.size());
+        }
+
+        if (decomposition != null && decomposition.size() > 1) {
+            // solve the components concurrently and combine them
+            bestSolution = decomposition.solve(bestSolution, stopWatch, params);
+
+        } else switch ((String) params.getOrDefault("algorithm", "")) {
                 
             case "greedy":
                 // Algoritmo Greedy
@@ -49,37 +84,98 @@ public class ChallengeSolver {
             case "genetic":
 
                 Random random = new Random((long) params.getOrDefault("randomSeed", 1234L));
+                String telemetryFile = (String) params.get("telemetryFile");
+                String checkpointFile = (String) params.get("checkpointFile");
+                int maxIterations = (int) params.getOrDefault("maxIterations", 1);
+
+                // with checkpoints, iterations finished by an earlier run are skipped
+                Path progressFile = checkpointFile != null && maxIterations > 1 ? Path.of(checkpointFile + ".iterations") : null;
+                String configuration = iterationConfiguration(params);
+                int resumeAfter = -1;
+                if (progressFile != null) {
+                    GeneticAlgorithmCheckpoint.IterationProgress progress = GeneticAlgorithmCheckpoint.loadIterations(progressFile, configuration);
+                    if (progress != null) {
+                        resumeAfter = progress.finished();
+                        SolverLog.info("Resuming after GA iteration %d (best value %s)", resumeAfter, progress.objective());
+                        if (progress.best() != null && progress.objective() > bestSolution.objValue()) {
+                            bestSolution = new PartialResult(progress.best(), progress.objective());
+                            incumbent.offer(bestSolution);
+                        }
+                    }
+                }
                 
                 // Algoritmo Genético
-                for (int i = 0; i < (int) params.getOrDefault("maxIterations", 1); i++) {
-                    params.put("randomSeed", random.nextLong());
+                for (int i = 0; i < maxIterations; i++) {
+                    params.put("randomSeed", random.nextLong()); // drawn for skipped iterations too, so seeds do not shift
+                    if (i <= resumeAfter) continue;
+                    if (i > 0) { // one telemetry / checkpoint file per iteration
+                        if (telemetryFile != null) params.put("telemetryFile", iterationFile(telemetryFile, i));
+                        if (checkpointFile != null) params.put("checkpointFile", iterationFile(checkpointFile, i));
+                    }
                     bestSolution = solveGeneticAlgorithm(bestSolution, stopWatch, params);
+                    if (progressFile != null && getRemainingTime(stopWatch) >= 1) { // not if cut short by the time limit
+                        GeneticAlgorithmCheckpoint.saveIterations(progressFile, new GeneticAlgorithmCheckpoint.IterationProgress(
+                                configuration, i, bestSolution.partialSolution(), bestSolution.objValue()));
+                    }
+                }
+                if (progressFile != null) {
+                    try {
+                        Files.deleteIfExists(progressFile);
+                    } catch (IOException e) {
+                        SolverLog.error("Error removing iteration progress %s: %s", progressFile, e.getMessage());
+                    }
                 }
                 break;
 
+            case "branchAndBound":
+                // exact search over the aisles, from the greedy incumbent
+                bestSolution = solveGreedySelection(bestSolution, stopWatch);
+                bestSolution = new BranchAndBound(this).solve(bestSolution, stopWatch, params);
+                break;
+
+            case "parallelTempering":
+                // annealing replicas at several temperatures, from the greedy wave
+                bestSolution = solveGreedySelection(bestSolution, stopWatch);
+                bestSolution = new ParallelTempering(this).solve(bestSolution, stopWatch, params);
+                break;
+
+            case "portfolio":
+                // greedy and GA variants in time slices, sharing the incumbent
+                bestSolution = new PortfolioSolver(this, params).solve(bestSolution, stopWatch);
+                break;
+
             default:
-                System.out.println("No valid algorithm selected.");
+                SolverLog.warn("No valid algorithm selected.");
                 return null;
             
         }
+
+        // the incumbent only improves, so it is never worse than what the algorithm returned: it
+        // may hold a wave streamed during the run that the final population lost (e.g. dropped by
+        // the NSGA-II crowding)
+        incumbent.offer(bestSolution);
+        if (incumbent.get().partialSolution() != null) bestSolution = incumbent.get();
     
+        if (archive != null && archive.offer(bestSolution)) {
+            SolverLog.info("Elite archive updated");
+        }
         
         if (bestSolution.partialSolution() == null) {
             
-            System.out.println("No feasible solution found.");
+            SolverLog.info("No feasible solution found.");
 
         } else {
         
             // retrieve the final best solution
-            System.out.println("\nBest solution found with value " + bestSolution.objValue());
+            SolverLog.info("\nBest solution found with value %s", bestSolution.objValue());
 
-            System.out.println(String.format("%d aisles / %d orders",
+            SolverLog.info("%d aisles / %d orders",
                 bestSolution.partialSolution().aisles().size(),
-                bestSolution.partialSolution().orders().size()));
+                bestSolution.partialSolution().orders().size());
 
         }
 
-        System.out.println("Total execution time: " + (double) stopWatch.getTime(TimeUnit.MILLISECONDS)/1000 + " s");
+        SolverLog.info("Total execution time: %s s", (double) stopWatch.getTime(TimeUnit.MILLISECONDS)/1000);
 
         return bestSolution.partialSolution();
     }
@@ -87,34 +183,62 @@ public class ChallengeSolver {
 
     // solving methods
 
+    /*
+     * Candidate waves of a sub-instance (see InstanceDecomposition): every feasible
+     * partial result of the greedy, or the result of every GA iteration
+     */
+    protected List<PartialResult> solveCandidates(StopWatch stopWatch, Map<String, Object> params) {
+
+        List<PartialResult> candidates = new ArrayList<>();
+
+        if ("genetic".equals(params.get("algorithm"))) {
+            Random random = new Random((long) params.getOrDefault("randomSeed", 1234L));
+            for (int i = 0; i < (int) params.getOrDefault("maxIterations", 1); i++) {
+                params.put("randomSeed", random.nextLong());
+                PartialResult result = solveGeneticAlgorithm(new PartialResult(null, 0), stopWatch, params);
+                if (result.partialSolution() != null) candidates.add(result);
+            }
+        } else {
+            solveGreedySelection(new PartialResult(null, 0), stopWatch, candidates);
+        }
+
+        return candidates;
+    }
+
     protected PartialResult solveGeneticAlgorithm(PartialResult bestSolution, StopWatch stopWatch, Map<String, Object> params) {
-        System.out.println("\n>> solveGeneticAlgorithm");
+        SolverLog.info("\n>> solveGeneticAlgorithm");
 
         if (getRemainingTime(stopWatch) < 1) {
-            System.out.println("Max runtime reached");
+            SolverLog.info("Max runtime reached");
             return bestSolution;
         }
-        if (showOutput) System.out.println("Remaining time: " + getRemainingTime(stopWatch) + " seconds");
+        SolverLog.debug("Remaining time: %s seconds", getRemainingTime(stopWatch));
+
+        // the GA stops at the end of the generation that reaches the runtime limit
+        params.put("deadline", getDeadline(stopWatch));
 
         ChallengeSolution gaSolution;
 
-        if ((boolean) params.getOrDefault("binaryEncoding", false)) {
+        if ("nsgaII".equals(params.get("GAimplementation"))) {
+            gaSolution = NSGAIIRunner.run(this, params);
+        } else if ((boolean) params.getOrDefault("binaryEncoding", false)) {
             gaSolution = BinaryGeneticAlgorithmRunner.run(this, params);
         } else {
             gaSolution = GeneticAlgorithmRunner.run(this, params);
         }
 
         if (gaSolution == null || !isSolutionFeasible(gaSolution)) {
-            if (showOutput) System.out.println("No feasible solution found");
+            SolverLog.debug("No feasible solution found");
             return bestSolution;
         }
 
         double objValue = computeObjectiveFunction(gaSolution);
-        System.out.println("Objective value = " + objValue);
+        SolverLog.info("Objective value = %s", objValue);
 
         // update best solution
         if (objValue > bestSolution.objValue()) {
             bestSolution = new PartialResult(gaSolution, objValue);
+            incumbent.offer(bestSolution);
         }
 
         return bestSolution;
@@ -122,10 +246,20 @@ public class ChallengeSolver {
 
 
     protected PartialResult solveGreedySelection(PartialResult bestSolution, StopWatch stopWatch) {
-        System.out.println("\n>> solveGreedySelection");
+        return solveGreedySelection(bestSolution, stopWatch, null);
+    }
+
+    /*
+     * If candidates is not null, every feasible partial result is added to it and the
+     * optimality stopping condition is not used (worse waves may still combine well)
+     */
+    protected PartialResult solveGreedySelection(PartialResult bestSolution, StopWatch stopWatch, List<PartialResult> candidates) {
+        SolverLog.info("\n>> solveGreedySelection");
 
         Set<Integer> selectedAisles = new HashSet<>();
         Set<Integer> remainingAisles = IntStream.range(0, aisles.size()).boxed().collect(Collectors.toSet());
+        AisleCoverage coverage = new AisleCoverage(csr);
+        LazyAisleSelector selector = aisleSelection.equals("lazy") ? new LazyAisleSelector(csr) : null;
 
         int waveSize = 0;
 
@@ -133,7 +267,7 @@ public class ChallengeSolver {
         for (int k = 1; k <= aisles.size(); k++) {
 
             if (getRemainingTime(stopWatch) < 1) {
-                System.out.println("Max runtime reached, stopping iteration over k.");
+                SolverLog.info("Max runtime reached, stopping iteration over k.");
                 break;
             } // stop iteration if no time left
             // System.out.println("Remaining time: " + getRemainingTime(stopWatch) + " seconds");
@@ -143,68 +277,84 @@ public class ChallengeSolver {
             //     break; // opcional
             // }
             
-            if (waveSize >= waveSizeLB && waveSizeUB/k <= bestSolution.objValue()) {
+            if (candidates == null && waveSize >= waveSizeLB && waveSizeUB/k <= bestSolution.objValue()) {
                 // stopping condition due to optimality
-                if (showOutput) System.out.println("Current best solution with value " + bestSolution.objValue() + " is already better than the maximum possible for k >= " + k);
+                SolverLog.debug("Current best solution with value %s is already better than the maximum possible for k >= %d", bestSolution.objValue(), k);
                 break;
             }
+            if (candidates != null && waveSize >= waveSizeUB) break; // more aisles cannot add units
 
-            if (showOutput) System.out.println("\nSelecting orders of available items from " + k + " aisles");
+            SolverLog.debug("\nSelecting orders of available items from %d aisles", k);
 
-            int aisle = maxCapacityAisle(remainingAisles);
+            int aisle = selector != null ? selector.next() : maxCapacityAisle(remainingAisles);
             if (aisle == -1) {
-                System.out.println("No aisles found in the list.");
+                SolverLog.info("No aisles found in the list.");
                 break;
             }
+            SolverEvents.GreedyStep event = new SolverEvents.GreedyStep();
+            event.begin();
             remainingAisles.remove(aisle);
             selectedAisles.add(aisle);
-
-            PartialResult partialResult = solveSuperAisleGreedySelection(stopWatch, selectedAisles);
+            coverage.addAisle(aisle);
+
+            PartialResult partialResult = solveSuperAisleGreedySelection(stopWatch, selectedAisles, coverage);
+            event.end();
+            if (event.shouldCommit()) {
+                event.k = k;
+                event.aisle = aisle;
+                event.orders = partialResult.partialSolution() == null ? 0 : partialResult.partialSolution().orders().size();
+                event.objValue = partialResult.objValue();
+                event.commit();
+            }
 
             if (partialResult.partialSolution() == null) {
-                if (showOutput) System.out.println("No feasible solution found");
+                SolverLog.debug("No feasible solution found");
             } else {
 
                 waveSize = totalDemand(partialResult.partialSolution().orders());
                 
-                if (showOutput) System.out.println("Objective value = " + partialResult.objValue());
+                SolverLog.debug("Objective value = %s", partialResult.objValue());
                 
                 if (isSolutionFeasible(partialResult.partialSolution()) && partialResult.objValue() > bestSolution.objValue()) {
                     bestSolution = partialResult; // update best solution
+                    incumbent.offer(bestSolution);
+                }
+                if (candidates != null && isSolutionFeasible(partialResult.partialSolution())) {
+                    candidates.add(partialResult);
                 }
             }
 
         }
 
-        if (showOutput) System.out.println("Done iterating over selected aisles");
-        if (showOutput) System.out.println("Best solution found with value " + bestSolution.objValue());
+        SolverLog.debug("Done iterating over selected aisles%s",
+                selector == null ? "" : " (" + selector.getEvaluations() + " aisle score computations)");
+        SolverLog.debug("Best solution found with value %s", bestSolution.objValue());
 
         return bestSolution;
     }
 
-    protected PartialResult solveSuperAisleGreedySelection(StopWatch stopWatch, Set<Integer> selectedAisles) {
+    protected PartialResult solveSuperAisleGreedySelection(StopWatch stopWatch, Set<Integer> selectedAisles, AisleCoverage coverage) {
 
         // Implementar el algoritmo greedy para seleccionar órdenes sobre un subconjunto de pasillos
         
         // Crear un "super-pasillo" ficticio que combine los pasillos seleccionados
-        // set items stock
+        // set items stock (coverage has the selected aisles open)
         for (Item item : items) {
             item.resetStock();
-            for (Map.Entry<Integer, Integer> aisle : item.aisles.entrySet()) { // for order with this item
-                if (selectedAisles.contains(aisle.getKey())) {
-                    item.addStock(aisle.getValue()); // Add stock from selected aisles
-                }
-            }
+            item.addStock(coverage.getCapacity(item.id)); // Add stock from selected aisles
         }
 
-        Set<Integer> selectedOrders = selectOrders();
+        Set<Integer> selectedOrders = selectOrders(coverage);
 
         return generatePartialResult(selectedOrders, selectedAisles);
 
     }
 
 
-    public Set<Integer> selectOrders() {
+    /*
+     * Orders not covered by the selected aisles are skipped without checking their items
+     */
+    public Set<Integer> selectOrders(AisleCoverage coverage) {
 
         Set<Integer> selectedOrders = new HashSet<>();
 
@@ -223,6 +373,7 @@ public class ChallengeSolver {
 
                 int orderId = order.getKey();
                 if (selectedOrders.contains(orderId)) continue; // already selected
+                if (!coverage.isCovered(orderId)) continue; // not servable even with the full stock
 
                 int orderDemand = 0;
 
@@ -263,15 +414,54 @@ public class ChallengeSolver {
     }
    
 
+    /*
+     * Offer a solution found while an algorithm runs to the incumbent, if it is feasible.
+     * Returns true if it improved the incumbent.
+     */
+    public boolean offerIncumbent(ChallengeSolution solution) {
+        if (solution == null || !isSolutionFeasible(solution)) return false;
+        return incumbent.offer(new PartialResult(solution, computeObjectiveFunction(solution)));
+    }
+
+    /*
+     * Instance and GA parameters a saved iteration progress must match to be resumed
+     */
+    private String iterationConfiguration(Map<String, Object> params) {
+        Map<String, Object> configuration = new TreeMap<>();
+        for (String key : List.of("instanceHash", "randomSeed", "maxIterations", "populationSize", "generations",
+                "crossoverProbability", "mutationProbability", "GAimplementation", "binaryEncoding",
+                "ordersUnionCrossover", "warmStart", "feasibleOperators")) {
+            configuration.put(key, params.get(key));
+        }
+        return orders.size() + "x" + aisles.size() + " " + configuration;
+    }
+
+    /*
+     * "dir/instance.telemetry.csv" -> "dir/instance.it<i>.telemetry.csv"
+     */
+    private static String iterationFile(String path, int iteration) {
+        int nameStart = path.lastIndexOf('/') + 1;
+        int dot = path.indexOf('.', nameStart);
+        if (dot < 0) return path + ".it" + iteration;
+        return path.substring(0, dot) + ".it" + iteration + path.substring(dot);
+    }
+
     /*
      * Get the remaining time in seconds
      */
     protected long getRemainingTime(StopWatch stopWatch) {
         return Math.max(
-                TimeUnit.SECONDS.convert(MAX_RUNTIME - stopWatch.getTime(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS),
+                TimeUnit.SECONDS.convert(maxRuntime - stopWatch.getTime(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS),
                 0);
     }
 
+    /*
+     * System.nanoTime() at which the runtime limit is reached
+     */
+    protected long getDeadline(StopWatch stopWatch) {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxRuntime - stopWatch.getTime(TimeUnit.MILLISECONDS));
+    }
+
     public int maxCapacityAisle(Set<Integer> aislesList) {
 
         int maxAisle = -1;
@@ -290,7 +480,7 @@ public class ChallengeSolver {
         }
 
         if (maxAisle == -1) {
-            System.out.println("Max aisle not found.");
+            SolverLog.info("Max aisle not found.");
         }
         // System.out.println("Max aisle: " + maxAisle + " with capacity " + max);
         return maxAisle;
@@ -379,21 +569,23 @@ public class ChallengeSolver {
     }
 
     public void showStats() {
-        System.out.println("\n>> Problem Stats");
+        SolverLog.info("\n>> Problem Stats");
 
         double[] aisleStats = calculateMeanAisleCapacity(IntStream.range(0, aisles.size()).boxed().collect(Collectors.toSet()));
-        System.out.println(String.format("Mean aisle capacity: %.2f", aisleStats[0]));
-        System.out.println(String.format("Mean aisle items: %.2f", aisleStats[1]));
+        SolverLog.info("Mean aisle capacity: %.2f", aisleStats[0]);
+        SolverLog.info("Mean aisle items: %.2f", aisleStats[1]);
 
         double[] orderStats = calculateMeanOrderSize(IntStream.range(0, orders.size()).boxed().collect(Collectors.toSet()));
-        System.out.println(String.format("Mean order size: %.2f", orderStats[0]));
-        System.out.println(String.format("Mean order items: %.2f", orderStats[1]));
+        SolverLog.info("Mean order size: %.2f", orderStats[0]);
+        SolverLog.info("Mean order items: %.2f", orderStats[1]);
+
+        SolverLog.info("Total items: %d", nItems);
+        SolverLog.info("Total orders: %d", orders.size());
+        SolverLog.info("Total aisles: %d", aisles.size());
 
-        System.out.println(String.format("Total items: %d", nItems));
-        System.out.println(String.format("Total orders: %d", orders.size()));
-        System.out.println(String.format("Total aisles: %d", aisles.size()));
+        SolverLog.info("Wave size bounds: %d - %d", waveSizeLB, waveSizeUB);
 
-        System.out.println(String.format("Wave size bounds: %d - %d", waveSizeLB, waveSizeUB));
+        SolverLog.info("Features: %s", new InstanceFeatures(csr, waveSizeLB, waveSizeUB));
 
     }
 
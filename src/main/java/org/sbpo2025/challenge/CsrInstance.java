@@ -0,0 +1,117 @@
+package org.sbpo2025.challenge;
+
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Compressed sparse row view of the instance maps: for every order / aisle the
+ * (item, quantity) pairs, and for every item the (order, demand) and
+ * (aisle, capacity) pairs, stored in flat int arrays. Entries of row r are
+ * stored in [start[r], start[r+1]), sorted by column index.
+ */
+public class CsrInstance {
+
+    public final int nOrders;
+    public final int nItems;
+    public final int nAisles;
+
+    // order -> (item, quantity)
+    public final int[] orderStart;
+    public final int[] orderItem;
+    public final int[] orderQuantity;
+    public final int[] orderUnits;
+
+    // aisle -> (item, capacity)
+    public final int[] aisleStart;
+    public final int[] aisleItem;
+    public final int[] aisleQuantity;
+    public final int[] aisleUnits;
+
+    // item -> (order, demand)
+    public final int[] itemOrderStart;
+    public final int[] itemOrder;
+    public final int[] itemOrderQuantity;
+
+    // item -> (aisle, capacity)
+    public final int[] itemAisleStart;
+    public final int[] itemAisle;
+    public final int[] itemAisleQuantity;
+
+    public CsrInstance(List<Map<Integer, Integer>> orders, List<Map<Integer, Integer>> aisles, int nItems) {
+
+        this.nOrders = orders.size();
+        this.nAisles = aisles.size();
+        this.nItems = nItems;
+
+        int[][] ordersRows = toRows(orders);
+        this.orderStart = ordersRows[0];
+        this.orderItem = ordersRows[1];
+        this.orderQuantity = ordersRows[2];
+        this.orderUnits = rowSums(orderStart, orderQuantity);
+
+        int[][] aislesRows = toRows(aisles);
+        this.aisleStart = aislesRows[0];
+        this.aisleItem = aislesRows[1];
+        this.aisleQuantity = aislesRows[2];
+        this.aisleUnits = rowSums(aisleStart, aisleQuantity);
+
+        int[][] itemOrders = transpose(orderStart, orderItem, orderQuantity, nItems);
+        this.itemOrderStart = itemOrders[0];
+        this.itemOrder = itemOrders[1];
+        this.itemOrderQuantity = itemOrders[2];
+
+        int[][] itemAisles = transpose(aisleStart, aisleItem, aisleQuantity, nItems);
+        this.itemAisleStart = itemAisles[0];
+        this.itemAisle = itemAisles[1];
+        this.itemAisleQuantity = itemAisles[2];
+    }
+
+    private static int[][] toRows(List<Map<Integer, Integer>> maps) {
+
+        int[] start = new int[maps.size() + 1];
+        for (int r = 0; r < maps.size(); r++) {
+            start[r + 1] = start[r] + maps.get(r).size();
+        }
+
+        int[] column = new int[start[maps.size()]];
+        int[] value = new int[start[maps.size()]];
+        for (int r = 0; r < maps.size(); r++) {
+            int[] keys = maps.get(r).keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+            for (int k = 0; k < keys.length; k++) {
+                column[start[r] + k] = keys[k];
+                value[start[r] + k] = maps.get(r).get(keys[k]);
+            }
+        }
+
+        return new int[][] {start, column, value};
+    }
+
+    private static int[][] transpose(int[] start, int[] column, int[] value, int nColumns) {
+
+        int nRows = start.length - 1;
+        int[] tStart = new int[nColumns + 1];
+        for (int c : column) tStart[c + 1]++;
+        for (int c = 0; c < nColumns; c++) tStart[c + 1] += tStart[c];
+
+        int[] next = tStart.clone();
+        int[] tColumn = new int[column.length];
+        int[] tValue = new int[column.length];
+        for (int r = 0; r < nRows; r++) { // rows visited in order, so transposed rows come out sorted
+            for (int k = start[r]; k < start[r + 1]; k++) {
+                int pos = next[column[k]]++;
+                tColumn[pos] = r;
+                tValue[pos] = value[k];
+            }
+        }
+
+        return new int[][] {tStart, tColumn, tValue};
+    }
+
+    private static int[] rowSums(int[] start, int[] value) {
+        int[] sums = new int[start.length - 1];
+        for (int r = 0; r < sums.length; r++) {
+            for (int k = start[r]; k < start[r + 1]; k++) sums[r] += value[k];
+        }
+        return sums;
+    }
+}
@@ -0,0 +1,223 @@
+package org.sbpo2025.challenge;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/*
+ * Persistent archive of the best solutions found for an instance.
+ *
+ * Archived solutions live in <root>/<dataset>_<instance>/<sha256 of the instance file>/,
+ * so a modified instance never gets solutions computed for another version of it.
+ * Solutions from best_solutions/ and experiments/.../solutions/ are imported as well,
+ * but only if they are feasible for the instance that was actually read.
+ * Improvements are written with a temp file + atomic rename, and only the
+ * best CAPACITY solutions are kept.
+ * Archived solutions always use the ids of the original instance; when the solver works on a
+ * reduced instance, solutions are mapped in load / best / offer.
+ */
+public class EliteArchive {
+
+    private static final int CAPACITY = 10;
+
+    private final Path directory;
+    private final List<Path> legacyFiles = new ArrayList<>();
+    private final List<PartialResult> elites = new ArrayList<>();
+    private final Set<String> keys = new HashSet<>();
+    private InstanceReduction reduction;
+
+    public EliteArchive(Path root, String dataset, String instance, String instanceHash) {
+        this.directory = root.resolve(dataset + "_" + instance.replaceFirst("\\.txt$", "")).resolve(instanceHash);
+    }
+
+    public static String contentHash(String inputFilePath) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(Files.readAllBytes(Path.of(inputFilePath))));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public void setReduction(InstanceReduction reduction) {
+        this.reduction = reduction;
+    }
+
+    /*
+     * Register the solutions kept by the experiments and best_solutions folders for this instance
+     */
+    public void addLegacySources(Path projectRoot, String dataset, String instance) {
+
+        legacyFiles.add(projectRoot.resolve("best_solutions").resolve(dataset).resolve(instance));
+
+        String instanceId = dataset + "_" + instance.replaceFirst("^instance_", "").replaceFirst("\\.txt$", "");
+        Path experiments = projectRoot.resolve("experiments");
+        if (!Files.isDirectory(experiments)) return;
+
+        try (Stream<Path> batches = Files.list(experiments)) {
+            for (Path batch : batches.collect(Collectors.toList())) {
+                Path solutions = batch.resolve("solutions").resolve(instanceId);
+                if (!Files.isDirectory(solutions)) continue;
+                try (Stream<Path> files = Files.walk(solutions)) {
+                    files.filter(f -> f.toString().endsWith(".txt")).forEach(legacyFiles::add);
+                }
+            }
+        } catch (IOException e) {
+            SolverLog.error("Error listing legacy solutions: %s", e.getMessage());
+        }
+    }
+
+    /*
+     * Read archived and legacy solutions, keeping only the feasible ones, best first
+     */
+    public synchronized List<PartialResult> load(ChallengeSolver solver) {
+
+        List<Path> files = new ArrayList<>(legacyFiles);
+        if (Files.isDirectory(directory)) {
+            try (Stream<Path> archived = Files.list(directory)) {
+                archived.filter(f -> f.toString().endsWith(".txt")).forEach(files::add);
+            } catch (IOException e) {
+                SolverLog.error("Error reading elite archive %s: %s", directory, e.getMessage());
+            }
+        }
+
+        for (Path file : files) {
+            if (!Files.isRegularFile(file)) continue;
+            ChallengeSolution solution = readSolution(file);
+            ChallengeSolution solverSolution = toSolver(solution);
+            if (solverSolution == null || !inRange(solverSolution, solver) || !solver.isSolutionFeasible(solverSolution)) continue;
+            if (keys.add(key(solution))) {
+                elites.add(new PartialResult(solution, solver.computeObjectiveFunction(solverSolution)));
+            }
+        }
+
+        elites.sort(Comparator.comparingDouble(PartialResult::objValue).reversed());
+        List<PartialResult> loaded = new ArrayList<>();
+        for (PartialResult elite : elites) loaded.add(new PartialResult(toSolver(elite.partialSolution()), elite.objValue()));
+
+        // only the best CAPACITY solutions compete with new ones
+        while (elites.size() > CAPACITY) {
+            keys.remove(key(elites.remove(elites.size() - 1).partialSolution()));
+        }
+        return loaded;
+    }
+
+    public synchronized PartialResult best() {
+        return elites.isEmpty() ? new PartialResult(null, 0)
+                : new PartialResult(toSolver(elites.get(0).partialSolution()), elites.get(0).objValue());
+    }
+
+    /*
+     * Store the result if it is new and among the best CAPACITY solutions. Returns true if stored.
+     */
+    public synchronized boolean offer(PartialResult result) {
+
+        if (result.partialSolution() == null) return false;
+        result = new PartialResult(toArchive(result.partialSolution()), result.objValue());
+        String key = key(result.partialSolution());
+        if (keys.contains(key)) return false;
+        if (elites.size() >= CAPACITY && result.objValue() <= elites.get(elites.size() - 1).objValue()) return false;
+
+        try {
+            Files.createDirectories(directory);
+            Path target = directory.resolve(fileName(result, key));
+            Path tmp = Files.createTempFile(directory, ".elite", ".tmp");
+            writeSolution(result.partialSolution(), tmp);
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            SolverLog.error("Error writing to elite archive %s: %s", directory, e.getMessage());
+            return false;
+        }
+
+        keys.add(key);
+        elites.add(result);
+        elites.sort(Comparator.comparingDouble(PartialResult::objValue).reversed());
+
+        // drop archived solutions beyond capacity
+        while (elites.size() > CAPACITY) {
+            PartialResult worst = elites.remove(elites.size() - 1);
+            String worstKey = key(worst.partialSolution());
+            keys.remove(worstKey);
+            try {
+                Files.deleteIfExists(directory.resolve(fileName(worst, worstKey)));
+            } catch (IOException e) {
+                SolverLog.error("Error pruning elite archive: %s", e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    private ChallengeSolution toSolver(ChallengeSolution solution) {
+        return reduction == null ? solution : reduction.toReduced(solution);
+    }
+
+    private ChallengeSolution toArchive(ChallengeSolution solution) {
+        return reduction == null ? solution : reduction.toOriginal(solution);
+    }
+
+    private static boolean inRange(ChallengeSolution solution, ChallengeSolver solver) {
+        return solution.orders().stream().allMatch(o -> o >= 0 && o < solver.orders.size())
+                && solution.aisles().stream().allMatch(a -> a >= 0 && a < solver.aisles.size());
+    }
+
+    private static String fileName(PartialResult result, String key) {
+        return String.format(Locale.ROOT, "elite_%.4f_%s.txt", result.objValue(), key);
+    }
+
+    private static String key(ChallengeSolution solution) {
+        String canonical = new TreeSet<>(solution.orders()) + "|" + new TreeSet<>(solution.aisles());
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ChallengeSolution readSolution(Path file) {
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            Set<Integer> orders = new HashSet<>();
+            int nOrders = Integer.parseInt(reader.readLine().trim());
+            for (int i = 0; i < nOrders; i++) orders.add(Integer.parseInt(reader.readLine().trim()));
+            Set<Integer> aisles = new HashSet<>();
+            int nAisles = Integer.parseInt(reader.readLine().trim());
+            for (int i = 0; i < nAisles; i++) aisles.add(Integer.parseInt(reader.readLine().trim()));
+            return new ChallengeSolution(orders, aisles);
+        } catch (IOException | RuntimeException e) {
+            return null; // missing, truncated or malformed solution file
+        }
+    }
+
+    private static void writeSolution(ChallengeSolution solution, Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write(String.valueOf(solution.orders().size()));
+            writer.newLine();
+            for (int order : solution.orders()) {
+                writer.write(String.valueOf(order));
+                writer.newLine();
+            }
+            writer.write(String.valueOf(solution.aisles().size()));
+            writer.newLine();
+            for (int aisle : solution.aisles()) {
+                writer.write(String.valueOf(aisle));
+                writer.newLine();
+            }
+        }
+    }
+}
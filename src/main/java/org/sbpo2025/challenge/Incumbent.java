@@ -0,0 +1,50 @@
+package org.sbpo2025.challenge;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+ * Best feasible solution found so far by any algorithm of a run. Safe to offer from
+ * several threads: the update is a compare-and-set on the current best, and listeners
+ * are called (in the offering thread) only for strict improvements. Listeners may see
+ * concurrent improvements out of order, so they should compare values themselves.
+ */
+public class Incumbent {
+
+    public interface Listener {
+        void onImprovement(PartialResult result);
+    }
+
+    private final AtomicReference<PartialResult> best = new AtomicReference<>(new PartialResult(null, 0));
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    public PartialResult get() {
+        return best.get();
+    }
+
+    /*
+     * Replace the incumbent if the result is strictly better. Returns true if replaced.
+     */
+    public boolean offer(PartialResult result) {
+        if (result == null || result.partialSolution() == null) return false;
+
+        PartialResult current = best.get();
+        while (result.objValue() > current.objValue()) {
+            if (best.compareAndSet(current, result)) {
+                for (Listener listener : listeners) listener.onImprovement(result);
+                return true;
+            }
+            current = best.get();
+        }
+        return false;
+    }
+}
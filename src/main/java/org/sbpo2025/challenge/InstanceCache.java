@@ -0,0 +1,110 @@
+package org.sbpo2025.challenge;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * LRU cache of parsed instances (and their reductions) for long-lived processes such
+ * as the solver daemon. Entries are keyed by the absolute path, size and modification
+ * time of the file, so an edited file is parsed again. The cache is bounded by an
+ * estimate of the heap used by the order / aisle maps: least recently used instances
+ * are dropped once the total exceeds the limit (the most recent one is always kept).
+ *
+ * Cached instances are shared between concurrent jobs and must not be modified.
+ */
+public class InstanceCache {
+
+    // rough heap cost of a HashMap<Integer, Integer> entry (node, boxed key and value, table slot)
+    private static final long BYTES_PER_ENTRY = 80;
+    private static final long BYTES_PER_MAP = 80;
+
+    public static class Entry {
+        public final Challenge challenge;
+        public final InstanceReduction reduction; // null if not computed
+        public final long bytes;
+
+        Entry(Challenge challenge, InstanceReduction reduction) {
+            this.challenge = challenge;
+            this.reduction = reduction;
+            this.bytes = estimateBytes(challenge.orders, challenge.aisles)
+                    + (reduction == null ? 0 : estimateBytes(reduction.orders, reduction.aisles));
+        }
+    }
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes = 0;
+    private long hits = 0;
+    private long misses = 0;
+
+    public InstanceCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /*
+     * Parsed instance of the file, with its reduction if reduce is set; parsed (and reduced)
+     * outside the lock on a miss, so concurrent misses of the same file may both parse it
+     */
+    public Entry get(String inputFilePath, boolean reduce) throws IOException {
+        Path path = Path.of(inputFilePath).toAbsolutePath().normalize();
+        if (!Files.isRegularFile(path)) throw new IOException("Instance not found: " + inputFilePath);
+        String key = path + "|" + Files.size(path) + "|" + Files.getLastModifiedTime(path).toMillis();
+
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry != null && (!reduce || entry.reduction != null)) {
+                hits++;
+                return entry;
+            }
+            misses++;
+        }
+
+        Challenge challenge = entry != null ? entry.challenge : load(inputFilePath);
+        InstanceReduction reduction = reduce
+                ? new InstanceReduction(challenge.orders, challenge.aisles, challenge.nItems, challenge.waveSizeUB)
+                : null;
+        entry = new Entry(challenge, reduction);
+
+        synchronized (this) {
+            Entry previous = entries.put(key, entry);
+            if (previous != null) totalBytes -= previous.bytes;
+            totalBytes += entry.bytes;
+            evict();
+        }
+        return entry;
+    }
+
+    private static Challenge load(String inputFilePath) throws IOException {
+        Challenge challenge = new Challenge();
+        challenge.readInput(inputFilePath);
+        if (challenge.orders == null || challenge.aisles == null) throw new IOException("Error reading input from " + inputFilePath);
+        return challenge;
+    }
+
+    private void evict() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (totalBytes > maxBytes && entries.size() > 1) {
+            totalBytes -= iterator.next().bytes;
+            iterator.remove();
+        }
+    }
+
+    private static long estimateBytes(List<Map<Integer, Integer>> orders, List<Map<Integer, Integer>> aisles) {
+        long bytes = 0;
+        for (List<Map<Integer, Integer>> rows : List.of(orders, aisles)) {
+            for (Map<Integer, Integer> row : rows) bytes += BYTES_PER_MAP + BYTES_PER_ENTRY * row.size();
+        }
+        return bytes;
+    }
+
+    public synchronized String stats() {
+        return String.format("%d instances, %.1f / %.1f MB, %d hits, %d misses",
+                entries.size(), totalBytes / 1e6, maxBytes / 1e6, hits, misses);
+    }
+}
@@ -0,0 +1,208 @@
+package org.sbpo2025.challenge;
+
+import org.apache.commons.lang3.time.StopWatch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/*
+ * Split of the instance into the connected components of the order-item-aisle graph.
+ *
+ * Orders and aisles only interact through shared items, so every component is an
+ * independent wave picking problem. Components are solved concurrently (greedy or GA,
+ * without wave size lower bound) and each sub-solve returns a set of candidate
+ * partial waves. The combinator then picks at most one candidate per component with
+ * a DP over the total number of units (minimum aisles for every total in [0, UB]),
+ * and returns the combination with the best units / aisles ratio in [LB, UB].
+ */
+public class InstanceDecomposition {
+
+    private final ChallengeSolver solver;
+
+    // per component: original ids of its orders and aisles, and the solver of the sub-instance
+    private final List<int[]> componentOrders = new ArrayList<>();
+    private final List<int[]> componentAisles = new ArrayList<>();
+    private final List<ChallengeSolver> componentSolvers = new ArrayList<>();
+
+    public InstanceDecomposition(ChallengeSolver solver) {
+        this.solver = solver;
+        CsrInstance csr = solver.csr;
+
+        // union items that appear together in an order or an aisle
+        int[] parent = IntStream.range(0, csr.nItems).toArray();
+        unionRows(parent, csr.orderStart, csr.orderItem);
+        unionRows(parent, csr.aisleStart, csr.aisleItem);
+
+        Map<Integer, List<Integer>> ordersByRoot = groupRows(parent, csr.orderStart, csr.orderItem);
+        Map<Integer, List<Integer>> aislesByRoot = groupRows(parent, csr.aisleStart, csr.aisleItem);
+
+        // components without orders or without aisles cannot be part of a wave
+        List<Integer> roots = ordersByRoot.keySet().stream().filter(aislesByRoot::containsKey).sorted()
+                .collect(Collectors.toList());
+        for (int root : roots) {
+            int[] orderIds = ordersByRoot.get(root).stream().mapToInt(Integer::intValue).toArray();
+            int[] aisleIds = aislesByRoot.get(root).stream().mapToInt(Integer::intValue).toArray();
+            componentOrders.add(orderIds);
+            componentAisles.add(aisleIds);
+            componentSolvers.add(subSolver(orderIds, aisleIds));
+        }
+    }
+
+    public int size() {
+        return componentSolvers.size();
+    }
+
+    private static int find(int[] parent, int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    private static void unionRows(int[] parent, int[] start, int[] column) {
+        for (int r = 0; r + 1 < start.length; r++) {
+            if (start[r] == start[r + 1]) continue;
+            int root = find(parent, column[start[r]]);
+            for (int k = start[r] + 1; k < start[r + 1]; k++) {
+                int other = find(parent, column[k]);
+                if (other != root) parent[other] = root;
+            }
+        }
+    }
+
+    private static Map<Integer, List<Integer>> groupRows(int[] parent, int[] start, int[] column) {
+        Map<Integer, List<Integer>> groups = new HashMap<>();
+        for (int r = 0; r + 1 < start.length; r++) {
+            if (start[r] == start[r + 1]) continue;
+            groups.computeIfAbsent(find(parent, column[start[r]]), k -> new ArrayList<>()).add(r);
+        }
+        return groups;
+    }
+
+    /*
+     * Solver of the sub-instance with the given orders and aisles (items renumbered),
+     * without wave size lower bound: only the combination has to reach it
+     */
+    private ChallengeSolver subSolver(int[] orderIds, int[] aisleIds) {
+        Map<Integer, Integer> itemIndex = new HashMap<>();
+        List<Map<Integer, Integer>> subOrders = renumber(solver.orders, orderIds, itemIndex);
+        List<Map<Integer, Integer>> subAisles = renumber(solver.aisles, aisleIds, itemIndex);
+        return new ChallengeSolver(subOrders, subAisles, itemIndex.size(), 0, solver.waveSizeUB);
+    }
+
+    private static List<Map<Integer, Integer>> renumber(List<Map<Integer, Integer>> rows, int[] ids, Map<Integer, Integer> itemIndex) {
+        List<Map<Integer, Integer>> renumbered = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            Map<Integer, Integer> row = new HashMap<>();
+            for (Map.Entry<Integer, Integer> entry : rows.get(id).entrySet()) {
+                int item = itemIndex.computeIfAbsent(entry.getKey(), k -> itemIndex.size());
+                row.put(item, entry.getValue());
+            }
+            renumbered.add(row);
+        }
+        return renumbered;
+    }
+
+    /*
+     * Solve every component concurrently and combine the candidates
+     */
+    public PartialResult solve(PartialResult bestSolution, StopWatch stopWatch, Map<String, Object> params) {
+
+        List<List<PartialResult>> candidates = IntStream.range(0, size()).parallel()
+                .mapToObj(c -> componentSolvers.get(c).solveCandidates(stopWatch, componentParams(params)))
+                .collect(Collectors.toList());
+
+        for (int c = 0; c < size(); c++) {
+            SolverLog.info("Component %d: %d orders, %d aisles, %d candidates",
+                    c, componentOrders.get(c).length, componentAisles.get(c).length, candidates.get(c).size());
+        }
+
+        PartialResult combined = combine(candidates);
+        if (combined.partialSolution() == null || !solver.isSolutionFeasible(combined.partialSolution())) {
+            SolverLog.info("No feasible combination of the components found");
+            return bestSolution;
+        }
+        SolverLog.info("Combined components value = %s", combined.objValue());
+
+        return combined.objValue() > bestSolution.objValue() ? combined : bestSolution;
+    }
+
+    /*
+     * Parameters for a sub-solve: files and seed solutions refer to the whole instance
+     */
+    private static Map<String, Object> componentParams(Map<String, Object> params) {
+        Map<String, Object> copy = new HashMap<>(params);
+        copy.remove("telemetryFile");
+        copy.remove("checkpointFile");
+        copy.remove("seedSolutions");
+        copy.remove("eliteArchive");
+        return copy;
+    }
+
+    /*
+     * At most one candidate per component: dp[u] = minimum number of aisles of a
+     * combination with u units, then the best ratio u / dp[u] with LB <= u <= UB
+     */
+    private PartialResult combine(List<List<PartialResult>> candidates) {
+
+        int ub = solver.waveSizeUB;
+        int none = Integer.MAX_VALUE;
+        int[] dp = new int[ub + 1];
+        Arrays.fill(dp, none);
+        dp[0] = 0;
+        int[][] choice = new int[size()][]; // candidate of component c used to reach u units (-1: none)
+
+        for (int c = 0; c < size(); c++) {
+            List<PartialResult> options = candidates.get(c);
+            int[] units = new int[options.size()];
+            for (int k = 0; k < options.size(); k++) {
+                units[k] = componentSolvers.get(c).totalDemand(options.get(k).partialSolution().orders());
+            }
+
+            int[] next = dp.clone(); // default: no candidate of this component
+            choice[c] = new int[ub + 1];
+            Arrays.fill(choice[c], -1);
+            for (int u = 0; u <= ub; u++) {
+                if (dp[u] == none) continue;
+                for (int k = 0; k < options.size(); k++) {
+                    int total = u + units[k];
+                    int aisles = dp[u] + options.get(k).partialSolution().aisles().size();
+                    if (total <= ub && aisles < next[total]) {
+                        next[total] = aisles;
+                        choice[c][total] = k;
+                    }
+                }
+            }
+            dp = next;
+        }
+
+        int best = -1;
+        for (int u = Math.max(solver.waveSizeLB, 1); u <= ub; u++) {
+            if (dp[u] == none || dp[u] == 0) continue;
+            if (best < 0 || (double) u / dp[u] > (double) best / dp[best]) best = u;
+        }
+        if (best < 0) return new PartialResult(null, 0);
+
+        // backtrack and map the chosen candidates to the ids of the whole instance
+        Set<Integer> orders = new HashSet<>();
+        Set<Integer> aisles = new HashSet<>();
+        int u = best;
+        for (int c = size() - 1; c >= 0; c--) {
+            if (choice[c][u] < 0) continue; // component not used at this total
+            ChallengeSolution part = candidates.get(c).get(choice[c][u]).partialSolution();
+            for (int o : part.orders()) orders.add(componentOrders.get(c)[o]);
+            for (int a : part.aisles()) aisles.add(componentAisles.get(c)[a]);
+            u -= componentSolvers.get(c).totalDemand(part.orders());
+        }
+
+        return new PartialResult(new ChallengeSolution(orders, aisles), (double) best / dp[best]);
+    }
+}
@@ -0,0 +1,147 @@
+package org.sbpo2025.challenge;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/*
+ * Instance features for algorithm selection, computed in one pass over the order rows and
+ * one over the aisle rows of the CSR instance (plus O(items) to combine them):
+ *  - sizes: orders, items, aisles and non-zeros
+ *  - densities of the order x item and aisle x item matrices
+ *  - mean order units and aisle capacity, total capacity / total demand, share of the
+ *    demand the aisles can hold (sum over items of min(capacity, demand) / demand)
+ *  - wave bounds relative to the total capacity and to the mean aisle capacity (how many
+ *    aisles a full wave needs)
+ *  - item overlap: mean orders and aisles per used item, share of items in several aisles
+ *
+ * Usage: java -cp target/ChallengeSBPO2025-1.0.jar org.sbpo2025.challenge.InstanceFeatures <instance>...
+ * prints one CSV row per instance.
+ */
+public class InstanceFeatures {
+
+    public final int orders;
+    public final int items;
+    public final int aisles;
+    public final long orderNonZeros;
+    public final long aisleNonZeros;
+    public final double orderDensity;
+    public final double aisleDensity;
+    public final double meanOrderUnits;
+    public final double meanAisleCapacity;
+    public final double capacityDemandRatio;
+    public final double servableDemandShare;
+    public final double lbCapacityShare;
+    public final double ubCapacityShare;
+    public final double ubInAisles; // UB / mean aisle capacity
+    public final double ordersPerItem;
+    public final double aislesPerItem;
+    public final double sharedItemShare;
+
+    public InstanceFeatures(CsrInstance csr, int waveSizeLB, int waveSizeUB) {
+
+        long[] demand = new long[csr.nItems];
+        int[] itemOrders = new int[csr.nItems];
+        long totalDemand = 0;
+        for (int k = 0; k < csr.orderItem.length; k++) {
+            demand[csr.orderItem[k]] += csr.orderQuantity[k];
+            itemOrders[csr.orderItem[k]]++;
+            totalDemand += csr.orderQuantity[k];
+        }
+
+        long[] capacity = new long[csr.nItems];
+        int[] itemAisles = new int[csr.nItems];
+        long totalCapacity = 0;
+        for (int k = 0; k < csr.aisleItem.length; k++) {
+            capacity[csr.aisleItem[k]] += csr.aisleQuantity[k];
+            itemAisles[csr.aisleItem[k]]++;
+            totalCapacity += csr.aisleQuantity[k];
+        }
+
+        long servable = 0;
+        int usedItems = 0;
+        int sharedItems = 0;
+        long usedItemOrders = 0;
+        long usedItemAisles = 0;
+        for (int i = 0; i < csr.nItems; i++) {
+            servable += Math.min(capacity[i], demand[i]);
+            if (itemOrders[i] == 0) continue;
+            usedItems++;
+            usedItemOrders += itemOrders[i];
+            usedItemAisles += itemAisles[i];
+            if (itemAisles[i] > 1) sharedItems++;
+        }
+
+        this.orders = csr.nOrders;
+        this.items = csr.nItems;
+        this.aisles = csr.nAisles;
+        this.orderNonZeros = csr.orderItem.length;
+        this.aisleNonZeros = csr.aisleItem.length;
+        this.orderDensity = ratio(orderNonZeros, (double) orders * items);
+        this.aisleDensity = ratio(aisleNonZeros, (double) aisles * items);
+        this.meanOrderUnits = ratio(totalDemand, orders);
+        this.meanAisleCapacity = ratio(totalCapacity, aisles);
+        this.capacityDemandRatio = ratio(totalCapacity, totalDemand);
+        this.servableDemandShare = ratio(servable, totalDemand);
+        this.lbCapacityShare = ratio(waveSizeLB, totalCapacity);
+        this.ubCapacityShare = ratio(waveSizeUB, totalCapacity);
+        this.ubInAisles = ratio(waveSizeUB, meanAisleCapacity);
+        this.ordersPerItem = ratio(usedItemOrders, usedItems);
+        this.aislesPerItem = ratio(usedItemAisles, usedItems);
+        this.sharedItemShare = ratio(sharedItems, usedItems);
+    }
+
+    private static double ratio(double numerator, double denominator) {
+        return denominator == 0 ? 0 : numerator / denominator;
+    }
+
+    /*
+     * Feature name -> value, in a fixed order
+     */
+    public Map<String, Double> asMap() {
+        Map<String, Double> features = new LinkedHashMap<>();
+        features.put("orders", (double) orders);
+        features.put("items", (double) items);
+        features.put("aisles", (double) aisles);
+        features.put("orderNonZeros", (double) orderNonZeros);
+        features.put("aisleNonZeros", (double) aisleNonZeros);
+        features.put("orderDensity", orderDensity);
+        features.put("aisleDensity", aisleDensity);
+        features.put("meanOrderUnits", meanOrderUnits);
+        features.put("meanAisleCapacity", meanAisleCapacity);
+        features.put("capacityDemandRatio", capacityDemandRatio);
+        features.put("servableDemandShare", servableDemandShare);
+        features.put("lbCapacityShare", lbCapacityShare);
+        features.put("ubCapacityShare", ubCapacityShare);
+        features.put("ubInAisles", ubInAisles);
+        features.put("ordersPerItem", ordersPerItem);
+        features.put("aislesPerItem", aislesPerItem);
+        features.put("sharedItemShare", sharedItemShare);
+        return features;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder line = new StringBuilder();
+        asMap().forEach((name, value) -> line.append(line.length() == 0 ? "" : ", ")
+                .append(name).append('=').append(String.format(Locale.ROOT, "%.4g", value)));
+        return line.toString();
+    }
+
+    public static void main(String[] args) {
+        boolean header = true;
+        for (String path : args) {
+            Challenge challenge = new Challenge();
+            challenge.readInput(path);
+            InstanceFeatures features = new InstanceFeatures(
+                    new CsrInstance(challenge.orders, challenge.aisles, challenge.nItems), challenge.waveSizeLB, challenge.waveSizeUB);
+            if (header) {
+                System.out.println("instance," + String.join(",", features.asMap().keySet()));
+                header = false;
+            }
+            StringBuilder row = new StringBuilder(path);
+            for (double value : features.asMap().values()) row.append(',').append(String.format(Locale.ROOT, "%.6g", value));
+            System.out.println(row);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package org.sbpo2025.challenge;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+/*
+ * Seeded generator of synthetic instances in the input format of Challenge.readInput, for
+ * scaling and stress tests beyond the size of the datasets.
+ *
+ *  - orders request a geometric number of distinct items (mean orderItems, at least 1),
+ *    drawn with Zipf popularity (exponent itemSkew, default 0: uniform, as the datasets where
+ *    items are requested by 1-1.5 orders on average), quantities uniform in 1..orderQuantity
+ *  - every item is stocked in one random aisle, then every aisle gets a geometric number of
+ *    extra items (about aisleItems, default 2 * items / aisles, so about 3 aisles per item as
+ *    in the datasets), drawn uniformly, quantities uniform in 1..aisleQuantity
+ *  - the wave size bounds are lbShare / ubShare of the total aisle capacity (the datasets
+ *    are in 0.2-2% / 1-8%)
+ * Orders are streamed to the file, so only the aisles are kept in memory.
+ *
+ * Usage (from the project root):
+ * java -cp target/ChallengeSBPO2025-1.0.jar org.sbpo2025.challenge.InstanceGenerator out:<file>
+ *   [orders:10000] [items:8000] [aisles:200] [orderItems:1.2] [aisleItems:<mean>]
+ *   [demand:uniform|zipf:<exponent>] [orderQuantity:3] [aisleQuantity:20] [wave:<lbShare>,<ubShare>] [seed:1]
+ */
+public class InstanceGenerator {
+
+    public record Spec(int orders, int items, int aisles, double orderItems, double aisleItems, double itemSkew,
+            int orderQuantity, int aisleQuantity, double lbShare, double ubShare, long seed) {
+
+        public Spec {
+            if (orders < 1 || items < 1 || aisles < 1) throw new IllegalArgumentException("orders, items and aisles must be positive");
+            if (orderQuantity < 1 || aisleQuantity < 1) throw new IllegalArgumentException("orderQuantity and aisleQuantity must be at least 1");
+            if (!(lbShare >= 0 && ubShare <= 1)) throw new IllegalArgumentException("wave shares must be in [0, 1]");
+            if (lbShare > ubShare) throw new IllegalArgumentException("wave lower bound share above the upper bound share");
+        }
+
+        public static Spec defaults(int orders, int items, int aisles, long seed) {
+            return new Spec(orders, items, aisles, 1.2, 2.0 * items / aisles, 0, 3, 20, 0.005, 0.02, seed);
+        }
+
+        /*
+         * Same shape with sizes multiplied by factor
+         */
+        public Spec scaled(double factor, long seed) {
+            int scaledItems = Math.max(1, (int) Math.round(items * factor));
+            int scaledAisles = Math.max(1, (int) Math.round(aisles * factor));
+            return new Spec(Math.max(1, (int) Math.round(orders * factor)), scaledItems, scaledAisles, orderItems,
+                    aisleItems * ((double) scaledItems / items) / ((double) scaledAisles / aisles), itemSkew,
+                    orderQuantity, aisleQuantity, lbShare, ubShare, seed);
+        }
+    }
+
+    public static void generate(Spec spec, Path file) throws IOException {
+        Random random = new Random(spec.seed());
+
+        // cumulative item popularity (Zipf over a random permutation of the items)
+        int[] permutation = new int[spec.items()];
+        for (int i = 0; i < spec.items(); i++) permutation[i] = i;
+        for (int i = spec.items() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = permutation[i]; permutation[i] = permutation[j]; permutation[j] = swap;
+        }
+        double[] cumulative = new double[spec.items()];
+        double total = 0;
+        for (int rank = 0; rank < spec.items(); rank++) {
+            total += spec.itemSkew() == 0 ? 1 : Math.pow(rank + 1, -spec.itemSkew());
+            cumulative[rank] = total;
+        }
+
+        // aisles: one stocking aisle per item plus the extra items of every aisle
+        int[][] aisleItems = new int[spec.aisles()][];
+        int[] stocked = new int[spec.aisles()];
+        int[] home = new int[spec.items()];
+        for (int i = 0; i < spec.items(); i++) {
+            home[i] = random.nextInt(spec.aisles());
+            stocked[home[i]]++;
+        }
+        for (int a = 0; a < spec.aisles(); a++) aisleItems[a] = new int[stocked[a]];
+        Arrays.fill(stocked, 0);
+        for (int i = 0; i < spec.items(); i++) aisleItems[home[i]][stocked[home[i]]++] = i;
+        for (int a = 0; a < spec.aisles(); a++) {
+            int[] extra = random.ints(geometric(random, spec.aisleItems()), 0, spec.items()).toArray(); // repeats dropped below
+            aisleItems[a] = Arrays.stream(concat(aisleItems[a], extra)).distinct().toArray();
+        }
+
+        long capacity = 0;
+        String[] aisleLines = new String[spec.aisles()];
+        for (int a = 0; a < spec.aisles(); a++) {
+            StringBuilder line = new StringBuilder().append(aisleItems[a].length);
+            for (int item : aisleItems[a]) {
+                int quantity = 1 + random.nextInt(spec.aisleQuantity());
+                capacity += quantity;
+                line.append(' ').append(item).append(' ').append(quantity);
+            }
+            aisleLines[a] = line.toString();
+        }
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write(spec.orders() + " " + spec.items() + " " + spec.aisles());
+            writer.newLine();
+
+            StringBuilder line = new StringBuilder();
+            for (int o = 0; o < spec.orders(); o++) {
+                int[] items = distinctItems(random, geometric(random, spec.orderItems()), spec.items(), cumulative);
+                line.setLength(0);
+                line.append(items.length);
+                for (int k = 0; k < items.length; k++) {
+                    line.append(' ').append(permutation[items[k]]).append(' ').append(1 + random.nextInt(spec.orderQuantity()));
+                }
+                writer.write(line.toString());
+                writer.newLine();
+            }
+
+            for (String aisleLine : aisleLines) {
+                writer.write(aisleLine);
+                writer.newLine();
+            }
+
+            long lb = Math.max(1, Math.round(spec.lbShare() * capacity));
+            long ub = Math.max(lb, Math.round(spec.ubShare() * capacity));
+            writer.write(lb + " " + ub);
+            writer.newLine();
+        }
+    }
+
+    // 1 + geometric, mean (at least) 1
+    private static int geometric(Random random, double mean) {
+        if (mean <= 1) return 1;
+        double p = 1 / mean;
+        return 1 + (int) Math.floor(Math.log(1 - random.nextDouble()) / Math.log(1 - p));
+    }
+
+    /*
+     * count distinct item ranks drawn with the cumulative popularity
+     */
+    private static int[] distinctItems(Random random, int count, int items, double[] cumulative) {
+        count = Math.min(count, items);
+        int[] drawn = new int[count];
+        int size = 0;
+        while (size < count) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * cumulative[items - 1]);
+            int item = Math.min(items - 1, index >= 0 ? index : -index - 1);
+            boolean duplicate = false;
+            for (int k = 0; k < size && !duplicate; k++) duplicate = drawn[k] == item;
+            if (!duplicate) drawn[size++] = item;
+        }
+        return drawn;
+    }
+
+    private static int[] concat(int[] first, int[] second) {
+        int[] all = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, all, first.length, second.length);
+        return all;
+    }
+
+    static Spec parseSpec(String[] args) {
+        int orders = 10000, items = 8000, aisles = 200;
+        long seed = 1;
+        for (String arg : args) {
+            if (arg.startsWith("orders:")) orders = Integer.parseInt(arg.substring("orders:".length()));
+            if (arg.startsWith("items:")) items = Integer.parseInt(arg.substring("items:".length()));
+            if (arg.startsWith("aisles:")) aisles = Integer.parseInt(arg.substring("aisles:".length()));
+            if (arg.startsWith("seed:")) seed = Long.parseLong(arg.substring("seed:".length()));
+        }
+        Spec spec = Spec.defaults(orders, items, aisles, seed);
+
+        double orderItems = spec.orderItems(), aisleItems = spec.aisleItems(), itemSkew = spec.itemSkew();
+        int orderQuantity = spec.orderQuantity(), aisleQuantity = spec.aisleQuantity();
+        double lbShare = spec.lbShare(), ubShare = spec.ubShare();
+        for (String arg : args) {
+            if (arg.startsWith("orderItems:")) orderItems = Double.parseDouble(arg.substring("orderItems:".length()));
+            if (arg.startsWith("aisleItems:")) aisleItems = Double.parseDouble(arg.substring("aisleItems:".length()));
+            if (arg.equals("demand:uniform")) itemSkew = 0;
+            if (arg.startsWith("demand:zipf:")) itemSkew = Double.parseDouble(arg.substring("demand:zipf:".length()));
+            if (arg.startsWith("orderQuantity:")) orderQuantity = Integer.parseInt(arg.substring("orderQuantity:".length()));
+            if (arg.startsWith("aisleQuantity:")) aisleQuantity = Integer.parseInt(arg.substring("aisleQuantity:".length()));
+            if (arg.startsWith("wave:")) {
+                String[] shares = arg.substring("wave:".length()).split(",");
+                lbShare = Double.parseDouble(shares[0]);
+                ubShare = Double.parseDouble(shares[1]);
+            }
+        }
+        return new Spec(orders, items, aisles, orderItems, aisleItems, itemSkew, orderQuantity, aisleQuantity, lbShare, ubShare, seed);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path out = null;
+        for (String arg : args) {
+            if (arg.startsWith("out:")) out = Path.of(arg.substring("out:".length()));
+        }
+        if (out == null) {
+            System.err.println("Missing out:<file>");
+            return;
+        }
+
+        Spec spec = parseSpec(args);
+        long start = System.nanoTime();
+        generate(spec, out);
+        System.out.println(String.format(Locale.ROOT, "%s written in %.2f s (%.1f MB): %s", out,
+                (System.nanoTime() - start) / 1e9, Files.size(out) / 1e6, spec));
+    }
+}
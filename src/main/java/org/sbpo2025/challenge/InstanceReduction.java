@@ -0,0 +1,210 @@
+package org.sbpo2025.challenge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * Preprocessing that shrinks the instance before any solver runs:
+ *  - orders that can never be served (more units than the wave upper bound, or more of
+ *    some item than all aisles together hold) are removed
+ *  - items requested by no remaining order are removed, and dropped from the aisles
+ *  - aisles left without items are removed
+ *  - an aisle is removed when another aisle holds, for every item of it, at least the
+ *    total demand of that item: any wave visiting it can visit the other aisle instead
+ *    (or drop it, if the other aisle is already visited) with the same or fewer aisles
+ *
+ * Orders, items and aisles of the reduced instance are renumbered; solutions are
+ * mapped back to the original ids with toOriginal (and into the reduced instance with toReduced).
+ */
+public class InstanceReduction {
+
+    public List<Map<Integer, Integer>> orders;
+    public List<Map<Integer, Integer>> aisles;
+    public int nItems;
+
+    // reduced id -> original id
+    public int[] orderIds;
+    public int[] itemIds;
+    public int[] aisleIds;
+
+    private final int originalOrders;
+    private final int originalItems;
+    private final int originalAisles;
+
+    // original id -> reduced id (-1 if removed)
+    private final int[] orderIndex;
+    // original aisle -> reduced aisle replacing it (-1 if it is useless)
+    private final int[] aisleIndex;
+
+    public InstanceReduction(List<Map<Integer, Integer>> orders, List<Map<Integer, Integer>> aisles, int nItems,
+            int waveSizeUB) {
+
+        this.originalOrders = orders.size();
+        this.originalItems = nItems;
+        this.originalAisles = aisles.size();
+
+        // total capacity per item
+        long[] capacity = new long[nItems];
+        for (Map<Integer, Integer> aisle : aisles) {
+            for (Map.Entry<Integer, Integer> entry : aisle.entrySet()) capacity[entry.getKey()] += entry.getValue();
+        }
+
+        // impossible orders
+        boolean[] keepOrder = new boolean[orders.size()];
+        long[] demand = new long[nItems];
+        for (int o = 0; o < orders.size(); o++) {
+            int units = 0;
+            boolean servable = true;
+            for (Map.Entry<Integer, Integer> entry : orders.get(o).entrySet()) {
+                units += entry.getValue();
+                if (entry.getValue() > capacity[entry.getKey()]) servable = false;
+            }
+            keepOrder[o] = servable && units <= waveSizeUB;
+            if (keepOrder[o]) {
+                for (Map.Entry<Integer, Integer> entry : orders.get(o).entrySet()) demand[entry.getKey()] += entry.getValue();
+            }
+        }
+
+        // dead items
+        int[] itemIndex = new int[nItems];
+        int reducedItems = 0;
+        for (int i = 0; i < nItems; i++) {
+            itemIndex[i] = demand[i] > 0 ? reducedItems++ : -1;
+        }
+
+        // aisles: drop dead items, then aisles that are empty or saturated by another aisle
+        List<Map<Integer, Integer>> liveAisles = new ArrayList<>(aisles.size());
+        List<List<Integer>> aislesByItem = new ArrayList<>(nItems);
+        for (int i = 0; i < nItems; i++) aislesByItem.add(new ArrayList<>());
+        for (int a = 0; a < aisles.size(); a++) {
+            Map<Integer, Integer> live = new HashMap<>();
+            for (Map.Entry<Integer, Integer> entry : aisles.get(a).entrySet()) {
+                if (itemIndex[entry.getKey()] < 0) continue;
+                live.put(entry.getKey(), entry.getValue());
+                aislesByItem.get(entry.getKey()).add(a);
+            }
+            liveAisles.add(live);
+        }
+
+        int[] replacedBy = new int[aisles.size()]; // original aisle replacing a removed one (-1: kept or empty)
+        boolean[] keepAisle = new boolean[aisles.size()];
+        Arrays.fill(replacedBy, -1);
+        for (int a = 0; a < aisles.size(); a++) {
+            Map<Integer, Integer> live = liveAisles.get(a);
+            if (live.isEmpty()) continue;
+            keepAisle[a] = true;
+
+            // candidates must saturate the first item of a; only aisles not removed so far (no cycles)
+            int first = live.keySet().iterator().next();
+            for (int b : aislesByItem.get(first)) {
+                if (b == a || (b < a && !keepAisle[b])) continue;
+                if (saturates(liveAisles.get(b), live, demand)) {
+                    keepAisle[a] = false;
+                    replacedBy[a] = b;
+                    break;
+                }
+            }
+        }
+
+        // renumber
+        this.orderIndex = new int[orders.size()];
+        this.orders = new ArrayList<>();
+        List<Integer> keptOrders = new ArrayList<>();
+        for (int o = 0; o < orders.size(); o++) {
+            orderIndex[o] = keepOrder[o] ? keptOrders.size() : -1;
+            if (keepOrder[o]) {
+                keptOrders.add(o);
+                this.orders.add(renumber(orders.get(o), itemIndex));
+            }
+        }
+
+        this.aisles = new ArrayList<>();
+        List<Integer> keptAisles = new ArrayList<>();
+        int[] keptIndex = new int[aisles.size()];
+        for (int a = 0; a < aisles.size(); a++) {
+            keptIndex[a] = keepAisle[a] ? keptAisles.size() : -1;
+            if (keepAisle[a]) {
+                keptAisles.add(a);
+                this.aisles.add(renumber(liveAisles.get(a), itemIndex));
+            }
+        }
+
+        this.aisleIndex = new int[aisles.size()];
+        for (int a = 0; a < aisles.size(); a++) {
+            int b = a;
+            while (replacedBy[b] >= 0) b = replacedBy[b]; // follow replacement chain to a kept aisle
+            aisleIndex[a] = keptIndex[b];
+        }
+
+        this.nItems = reducedItems;
+        this.orderIds = keptOrders.stream().mapToInt(Integer::intValue).toArray();
+        this.aisleIds = keptAisles.stream().mapToInt(Integer::intValue).toArray();
+        this.itemIds = new int[reducedItems];
+        for (int i = 0; i < nItems; i++) {
+            if (itemIndex[i] >= 0) itemIds[itemIndex[i]] = i;
+        }
+    }
+
+    /*
+     * True if aisle b holds, for every item of aisle a, at least the total demand of the item
+     */
+    private static boolean saturates(Map<Integer, Integer> b, Map<Integer, Integer> a, long[] demand) {
+        for (int item : a.keySet()) {
+            if (b.getOrDefault(item, 0) < demand[item]) return false;
+        }
+        return true;
+    }
+
+    private static Map<Integer, Integer> renumber(Map<Integer, Integer> map, int[] itemIndex) {
+        Map<Integer, Integer> renumbered = new HashMap<>();
+        for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
+            if (itemIndex[entry.getKey()] >= 0) renumbered.put(itemIndex[entry.getKey()], entry.getValue());
+        }
+        return renumbered;
+    }
+
+    /*
+     * Solution of the reduced instance -> solution of the original instance
+     */
+    public ChallengeSolution toOriginal(ChallengeSolution solution) {
+        if (solution == null) return null;
+
+        Set<Integer> originalOrders = new HashSet<>();
+        for (int o : solution.orders()) originalOrders.add(orderIds[o]);
+        Set<Integer> originalAisles = new HashSet<>();
+        for (int a : solution.aisles()) originalAisles.add(aisleIds[a]);
+
+        return new ChallengeSolution(originalOrders, originalAisles);
+    }
+
+    /*
+     * Solution of the original instance -> solution of the reduced instance, with removed aisles
+     * replaced by the aisles that saturate them. Returns null if it uses a removed or unknown order.
+     */
+    public ChallengeSolution toReduced(ChallengeSolution solution) {
+        if (solution == null) return null;
+
+        Set<Integer> reducedOrders = new HashSet<>();
+        for (int o : solution.orders()) {
+            if (o < 0 || o >= orderIndex.length || orderIndex[o] < 0) return null;
+            reducedOrders.add(orderIndex[o]);
+        }
+        Set<Integer> reducedAisles = new HashSet<>();
+        for (int a : solution.aisles()) {
+            if (a < 0 || a >= aisleIndex.length) return null;
+            if (aisleIndex[a] >= 0) reducedAisles.add(aisleIndex[a]);
+        }
+
+        return new ChallengeSolution(reducedOrders, reducedAisles);
+    }
+
+    public void showReport() {
+        SolverLog.info("Instance reduction: orders %d -> %d, items %d -> %d, aisles %d -> %d",
+                originalOrders, orders.size(), originalItems, nItems, originalAisles, aisles.size());
+    }
+}
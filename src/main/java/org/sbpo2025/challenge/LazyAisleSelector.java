@@ -0,0 +1,85 @@
+package org.sbpo2025.challenge;
+
+import java.util.PriorityQueue;
+
+/*
+ * Aisle order of the greedy by marginal useful capacity: the units of an aisle that are
+ * still demanded by the orders, sum over items of min(quantity, total demand - capacity
+ * of the aisles already selected), ties broken by raw capacity.
+ *
+ * The marginal capacity only decreases as aisles are selected (it is submodular), so the
+ * scores in the priority queue are upper bounds and are recomputed lazily (Minoux): the
+ * top aisle is re-scored and pushed back, and it is selected once it stays on top with a
+ * score computed in the current step. A step usually re-scores a few aisles instead of
+ * all the remaining ones.
+ */
+public class LazyAisleSelector {
+
+    private final CsrInstance csr;
+    private final int[] residualDemand; // total demand - selected capacity, per item (>= 0)
+    private final long[] score;
+    private final long[] capacity;
+    private final int[] scoredAt; // step of the last score computation
+    private final PriorityQueue<Integer> queue;
+    private int step = 0;
+    private long evaluations = 0;
+
+    public LazyAisleSelector(CsrInstance csr) {
+        this.csr = csr;
+
+        residualDemand = new int[csr.nItems];
+        for (int k = 0; k < csr.orderItem.length; k++) residualDemand[csr.orderItem[k]] += csr.orderQuantity[k];
+
+        score = new long[csr.nAisles];
+        capacity = new long[csr.nAisles];
+        scoredAt = new int[csr.nAisles];
+        queue = new PriorityQueue<>(Math.max(1, csr.nAisles), (x, y) -> {
+            if (score[x] != score[y]) return Long.compare(score[y], score[x]);
+            if (capacity[x] != capacity[y]) return Long.compare(capacity[y], capacity[x]);
+            return Integer.compare(x, y);
+        });
+
+        for (int a = 0; a < csr.nAisles; a++) {
+            for (int k = csr.aisleStart[a]; k < csr.aisleStart[a + 1]; k++) capacity[a] += csr.aisleQuantity[k];
+            score[a] = marginalCapacity(a);
+            queue.add(a);
+        }
+    }
+
+    private long marginalCapacity(int aisle) {
+        evaluations++;
+        long units = 0;
+        for (int k = csr.aisleStart[aisle]; k < csr.aisleStart[aisle + 1]; k++) {
+            units += Math.min(csr.aisleQuantity[k], residualDemand[csr.aisleItem[k]]);
+        }
+        return units;
+    }
+
+    /*
+     * Select and return the aisle with the largest marginal useful capacity (-1 if none is left)
+     */
+    public int next() {
+        while (!queue.isEmpty()) {
+            int aisle = queue.poll();
+            if (scoredAt[aisle] == step) {
+                for (int k = csr.aisleStart[aisle]; k < csr.aisleStart[aisle + 1]; k++) {
+                    int item = csr.aisleItem[k];
+                    residualDemand[item] = Math.max(0, residualDemand[item] - csr.aisleQuantity[k]);
+                }
+                step++;
+                return aisle;
+            }
+            score[aisle] = marginalCapacity(aisle); // stale: re-score and push back
+            scoredAt[aisle] = step;
+            queue.add(aisle);
+        }
+        return -1;
+    }
+
+    /*
+     * Number of score computations, including the initial ones
+     */
+    public long getEvaluations() {
+        return evaluations;
+    }
+}
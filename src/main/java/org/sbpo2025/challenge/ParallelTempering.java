@@ -0,0 +1,403 @@
+package org.sbpo2025.challenge;
+
+import org.apache.commons.lang3.time.StopWatch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/*
+ * Simulated annealing over the order and aisle sets with parallel tempering.
+ *
+ * Every replica is a feasible wave (selected orders served by the open aisles, LB <= units
+ * <= UB) kept with its per-item capacity and demand, so moves are evaluated in the size of
+ * one order or aisle row: add / drop / swap an order, open an aisle (adding orders with its
+ * items), close an aisle (dropping the orders it no longer serves), swap aisles. Orders
+ * to add are drawn through an open aisle (aisle -> item -> order with that item), so they
+ * are mostly servable. The energy is the ratio units / aisles (maximized).
+ *
+ * Replicas run at geometrically spaced temperatures (from 5% down to 0.05% of the starting
+ * ratio) on a thread pool, ptRoundMoves moves per round; between rounds, neighbouring
+ * temperatures try to swap replicas (Metropolis criterion on the ratio difference), so good
+ * waves found hot move down to the cold replicas. Improvements go to the solver incumbent.
+ */
+public class ParallelTempering {
+
+    private static final int FILL_SCAN = 32; // orders scanned per item when an aisle is opened
+
+    private final ChallengeSolver solver;
+    private final CsrInstance csr;
+
+    public ParallelTempering(ChallengeSolver solver) {
+        this.solver = solver;
+        this.csr = solver.csr;
+    }
+
+    public PartialResult solve(PartialResult bestSolution, StopWatch stopWatch, Map<String, Object> params) {
+
+        solver.incumbent.offer(bestSolution);
+        if (bestSolution.partialSolution() == null) {
+            SolverLog.info("Parallel tempering needs a feasible starting wave");
+            return bestSolution;
+        }
+
+        long deadline = solver.getDeadline(stopWatch);
+        int replicaCount = (int) params.getOrDefault("ptReplicas", 4);
+        int roundMoves = (int) params.getOrDefault("ptRoundMoves", 10000);
+        int threads = Math.min(replicaCount, Runtime.getRuntime().availableProcessors());
+        SplittableRandom random = new SplittableRandom((long) params.getOrDefault("randomSeed", 1234L));
+
+        // slot i holds the replica at temperature i (slot 0 is the coldest)
+        double start = bestSolution.objValue();
+        double[] temperature = new double[replicaCount];
+        Replica[] slots = new Replica[replicaCount];
+        for (int i = 0; i < replicaCount; i++) {
+            temperature[i] = 0.0005 * start * Math.pow(100, replicaCount == 1 ? 0 : (double) i / (replicaCount - 1));
+            slots[i] = new Replica(bestSolution.partialSolution(), random.split());
+        }
+        long[] swapAttempts = new long[Math.max(0, replicaCount - 1)];
+        long[] swapAccepts = new long[Math.max(0, replicaCount - 1)];
+
+        SolverLog.info("Parallel tempering: %d replicas on %d threads, temperatures %.4f..%.4f",
+                replicaCount, threads, temperature[0], temperature[replicaCount - 1]);
+
+        long startNanos = System.nanoTime();
+        int rounds = 0;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            while (deadline - System.nanoTime() > 0) {
+                List<Callable<Void>> tasks = new ArrayList<>();
+                for (int i = 0; i < replicaCount; i++) {
+                    Replica replica = slots[i];
+                    double t = temperature[i];
+                    tasks.add(() -> {
+                        replica.anneal(t, roundMoves, deadline);
+                        return null;
+                    });
+                }
+                for (Future<Void> task : pool.invokeAll(tasks)) task.get();
+
+                for (Replica replica : slots) {
+                    if (replica.bestImproved) offerBest(replica);
+                }
+
+                // even / odd neighbour pairs alternate between rounds
+                for (int i = rounds % 2; i + 1 < replicaCount; i += 2) {
+                    swapAttempts[i]++;
+                    double exponent = (slots[i + 1].ratio() - slots[i].ratio()) * (1 / temperature[i] - 1 / temperature[i + 1]);
+                    if (exponent >= 0 || random.nextDouble() < Math.exp(exponent)) {
+                        Replica cold = slots[i];
+                        slots[i] = slots[i + 1];
+                        slots[i + 1] = cold;
+                        swapAccepts[i]++;
+                    }
+                }
+                rounds++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            SolverLog.error("Parallel tempering replica failed: %s", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        long moves = 0;
+        long accepted = 0;
+        for (Replica replica : slots) {
+            moves += replica.moves;
+            accepted += replica.accepted;
+        }
+        StringBuilder swaps = new StringBuilder();
+        for (int i = 0; i < swapAttempts.length; i++) {
+            swaps.append(String.format(Locale.ROOT, " %d-%d:%.0f%%", i, i + 1,
+                    swapAttempts[i] == 0 ? 0 : 100.0 * swapAccepts[i] / swapAttempts[i]));
+        }
+        SolverLog.info("Parallel tempering: %d rounds, %d moves in %.2f s (%.0f moves/s), %.1f%% moves accepted, swap acceptance%s",
+                rounds, moves, seconds, moves / Math.max(seconds, 1e-9), moves == 0 ? 0 : 100.0 * accepted / moves, swaps.toString());
+
+        return solver.incumbent.get();
+    }
+
+    private void offerBest(Replica replica) {
+        replica.bestImproved = false;
+        Set<Integer> orders = new HashSet<>();
+        for (int o : replica.bestOrders) orders.add(o);
+        Set<Integer> aisles = new HashSet<>();
+        for (int a : replica.bestAisles) aisles.add(a);
+        solver.offerIncumbent(new ChallengeSolution(orders, aisles));
+    }
+
+    /*
+     * Feasible wave with incremental per-item state and the best wave seen by this replica
+     */
+    private class Replica {
+        final SplittableRandom random;
+        final int[] capacity = new int[csr.nItems];
+        final int[] used = new int[csr.nItems];
+        final IndexSet orders = new IndexSet(csr.nOrders);
+        final IndexSet aisles = new IndexSet(csr.nAisles);
+        long units = 0;
+        final int[] changed = new int[csr.nOrders]; // orders added / dropped by the current aisle move
+        int changedCount = 0;
+
+        double bestRatio;
+        int[] bestOrders;
+        int[] bestAisles;
+        boolean bestImproved = false;
+        long moves = 0;
+        long accepted = 0;
+
+        Replica(ChallengeSolution start, SplittableRandom random) {
+            this.random = random;
+            for (int a : start.aisles()) openAisle(a);
+            for (int o : start.orders()) addOrder(o);
+            recordBest();
+            bestImproved = false;
+        }
+
+        double ratio() {
+            return aisles.size == 0 ? 0 : (double) units / aisles.size;
+        }
+
+        void anneal(double temperature, int count, long deadline) {
+            for (int i = 0; i < count; i++) {
+                if ((i & 1023) == 0 && System.nanoTime() - deadline >= 0) return;
+                moves++;
+                if (move(temperature)) {
+                    accepted++;
+                    if (ratio() > bestRatio) recordBest();
+                }
+            }
+        }
+
+        private void recordBest() {
+            bestRatio = ratio();
+            bestOrders = orders.toArray();
+            bestAisles = aisles.toArray();
+            bestImproved = true;
+        }
+
+        private boolean accept(double before, double after, double temperature) {
+            return after >= before || random.nextDouble() < Math.exp((after - before) / temperature);
+        }
+
+        /*
+         * One random move; applied and kept if accepted, otherwise the state is unchanged
+         */
+        private boolean move(double temperature) {
+            double before = ratio();
+            int m = aisles.size;
+            double r = random.nextDouble();
+
+            if (r < 0.35) { // add an order
+                int o = candidateOrder();
+                if (o < 0 || !canAdd(o, units)) return false;
+                if (!accept(before, (double) (units + csr.orderUnits[o]) / m, temperature)) return false;
+                addOrder(o);
+                return true;
+
+            } else if (r < 0.55) { // drop an order
+                if (orders.size == 0) return false;
+                int o = orders.random(random);
+                long after = units - csr.orderUnits[o];
+                if (after < solver.waveSizeLB || !accept(before, (double) after / m, temperature)) return false;
+                dropOrder(o);
+                return true;
+
+            } else if (r < 0.75) { // swap an order
+                if (orders.size == 0) return false;
+                int out = orders.random(random);
+                int in = candidateOrder();
+                if (in < 0) return false;
+                dropOrder(out);
+                long after = units + csr.orderUnits[in];
+                if (after >= solver.waveSizeLB && canAdd(in, units) && accept(before, (double) after / m, temperature)) {
+                    addOrder(in);
+                    return true;
+                }
+                addOrder(out);
+                return false;
+
+            } else if (r < 0.85) { // open an aisle and add orders with its items
+                int a = random.nextInt(csr.nAisles);
+                if (aisles.contains(a)) return false;
+                openAisle(a);
+                changedCount = 0;
+                fill(a);
+                if (accept(before, ratio(), temperature)) return true;
+                for (int c = 0; c < changedCount; c++) dropOrder(changed[c]);
+                closeAisle(a);
+                return false;
+
+            } else if (r < 0.95) { // close an aisle and drop the orders it no longer serves
+                if (m <= 1) return false;
+                int a = aisles.random(random);
+                changedCount = 0;
+                release(a);
+                closeAisle(a);
+                if (units >= solver.waveSizeLB && accept(before, ratio(), temperature)) return true;
+                openAisle(a);
+                for (int c = 0; c < changedCount; c++) addOrder(changed[c]);
+                return false;
+
+            } else { // swap an aisle
+                int out = aisles.random(random);
+                int in = random.nextInt(csr.nAisles);
+                if (aisles.contains(in)) return false;
+                openAisle(in);
+                if (canClose(out)) {
+                    closeAisle(out);
+                    return true; // same number of aisles and units
+                }
+                closeAisle(in);
+                return false;
+            }
+        }
+
+        /*
+         * Add the unselected orders that fit, among up to FILL_SCAN orders of every item of
+         * the aisle (from a random offset), recording them in changed
+         */
+        private void fill(int a) {
+            for (int k = csr.aisleStart[a]; k < csr.aisleStart[a + 1]; k++) {
+                int item = csr.aisleItem[k];
+                int from = csr.itemOrderStart[item];
+                int count = csr.itemOrderStart[item + 1] - from;
+                if (count == 0) continue;
+                int offset = random.nextInt(count);
+                for (int j = 0; j < Math.min(count, FILL_SCAN); j++) {
+                    int o = csr.itemOrder[from + (offset + j) % count];
+                    if (orders.contains(o) || !canAdd(o, units)) continue;
+                    addOrder(o);
+                    changed[changedCount++] = o;
+                }
+            }
+        }
+
+        /*
+         * Drop selected orders until the items of the aisle fit without it, recording them in changed
+         */
+        private void release(int a) {
+            for (int k = csr.aisleStart[a]; k < csr.aisleStart[a + 1]; k++) {
+                int item = csr.aisleItem[k];
+                int from = csr.itemOrderStart[item];
+                int count = csr.itemOrderStart[item + 1] - from;
+                int offset = count == 0 ? 0 : random.nextInt(count);
+                for (int j = 0; j < count && capacity[item] - csr.aisleQuantity[k] < used[item]; j++) {
+                    int o = csr.itemOrder[from + (offset + j) % count];
+                    if (!orders.contains(o)) continue;
+                    dropOrder(o);
+                    changed[changedCount++] = o;
+                }
+            }
+        }
+
+        /*
+         * Unselected order with an item of a random open aisle (-1 if none drawn)
+         */
+        private int candidateOrder() {
+            int a = aisles.random(random);
+            int rowLength = csr.aisleStart[a + 1] - csr.aisleStart[a];
+            if (rowLength == 0) return -1;
+            int item = csr.aisleItem[csr.aisleStart[a] + random.nextInt(rowLength)];
+            int from = csr.itemOrderStart[item];
+            int count = csr.itemOrderStart[item + 1] - from;
+            if (count == 0) return -1;
+            int o = csr.itemOrder[from + random.nextInt(count)];
+            return orders.contains(o) ? -1 : o;
+        }
+
+        private boolean canAdd(int o, long currentUnits) {
+            if (currentUnits + csr.orderUnits[o] > solver.waveSizeUB) return false;
+            for (int k = csr.orderStart[o]; k < csr.orderStart[o + 1]; k++) {
+                int item = csr.orderItem[k];
+                if (used[item] + csr.orderQuantity[k] > capacity[item]) return false;
+            }
+            return true;
+        }
+
+        private boolean canClose(int a) {
+            for (int k = csr.aisleStart[a]; k < csr.aisleStart[a + 1]; k++) {
+                int item = csr.aisleItem[k];
+                if (capacity[item] - csr.aisleQuantity[k] < used[item]) return false;
+            }
+            return true;
+        }
+
+        private void addOrder(int o) {
+            orders.add(o);
+            units += csr.orderUnits[o];
+            for (int k = csr.orderStart[o]; k < csr.orderStart[o + 1]; k++) used[csr.orderItem[k]] += csr.orderQuantity[k];
+        }
+
+        private void dropOrder(int o) {
+            orders.remove(o);
+            units -= csr.orderUnits[o];
+            for (int k = csr.orderStart[o]; k < csr.orderStart[o + 1]; k++) used[csr.orderItem[k]] -= csr.orderQuantity[k];
+        }
+
+        private void openAisle(int a) {
+            aisles.add(a);
+            for (int k = csr.aisleStart[a]; k < csr.aisleStart[a + 1]; k++) capacity[csr.aisleItem[k]] += csr.aisleQuantity[k];
+        }
+
+        private void closeAisle(int a) {
+            aisles.remove(a);
+            for (int k = csr.aisleStart[a]; k < csr.aisleStart[a + 1]; k++) capacity[csr.aisleItem[k]] -= csr.aisleQuantity[k];
+        }
+    }
+
+    /*
+     * Subset of {0, ..., n-1} with O(1) add, remove, membership and random element
+     */
+    private static class IndexSet {
+        final int[] elements;
+        final int[] position; // -1 if absent
+        int size = 0;
+
+        IndexSet(int n) {
+            elements = new int[n];
+            position = new int[n];
+            Arrays.fill(position, -1);
+        }
+
+        boolean contains(int x) {
+            return position[x] >= 0;
+        }
+
+        void add(int x) {
+            if (contains(x)) return;
+            position[x] = size;
+            elements[size++] = x;
+        }
+
+        void remove(int x) {
+            int p = position[x];
+            if (p < 0) return;
+            int last = elements[--size];
+            elements[p] = last;
+            position[last] = p;
+            position[x] = -1;
+        }
+
+        int random(SplittableRandom random) {
+            return elements[random.nextInt(size)];
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(elements, size);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package org.sbpo2025.challenge;
+
+import org.apache.commons.lang3.time.StopWatch;
+import org.sbpo2025.challenge.genetic_algorithm.binary_genetic_algorithm.BinaryGeneticAlgorithmRunner;
+import org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm.GeneticAlgorithmRunner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/*
+ * Portfolio of algorithms sharing the solver incumbent (lock-free, see Incumbent).
+ *
+ * The run is split into time slices executed by a pool of workers; whenever a worker is
+ * free it draws the next component at random with a weight that grows with the recency
+ * of the component's last improvement of the incumbent (1 + 4 * 0.5^(slices since then),
+ * 1 if it never improved), so the CPU budget moves toward the component that is making
+ * progress while the others keep a minimum share. GA slices are independent runs seeded
+ * with the current incumbent (seedSolutions) that stop at the end of the slice; one-shot
+ * components (greedy) run once.
+ *
+ * Improvements are credited to the component running in the offering thread.
+ */
+public class PortfolioSolver {
+
+    public interface Component {
+        /*
+         * Run until the deadline (System.nanoTime()), offering improvements to the incumbent
+         */
+        void run(long deadline, long seed);
+    }
+
+    private static class Entry {
+        final String name;
+        final Component component;
+        final boolean oneShot;
+        int slices = 0;
+        long nanos = 0;
+        int improvements = 0;
+        int lastImprovementSlice = -1; // portfolio slice count at the last improvement (-1: never)
+        boolean running = false;
+
+        Entry(String name, Component component, boolean oneShot) {
+            this.name = name;
+            this.component = component;
+            this.oneShot = oneShot;
+        }
+    }
+
+    private final ChallengeSolver solver;
+    private final Map<String, Object> params;
+    private final List<Entry> entries = new ArrayList<>();
+    private final ThreadLocal<Entry> current = new ThreadLocal<>();
+    private int slices = 0; // started slices (guarded by this)
+    private StopWatch stopWatch;
+
+    public PortfolioSolver(ChallengeSolver solver, Map<String, Object> params) {
+        this(solver, params, true);
+    }
+
+    PortfolioSolver(ChallengeSolver solver, Map<String, Object> params, boolean defaultComponents) {
+        this.solver = solver;
+        this.params = params;
+        if (!defaultComponents) return;
+
+        addComponent("greedy", (deadline, seed) ->
+                solver.solveGreedySelection(solver.incumbent.get(), stopWatch), true);
+        addComponent("ssGA-subset", (deadline, seed) ->
+                solver.offerIncumbent(GeneticAlgorithmRunner.run(solver, gaParams("steadyState", false, deadline, seed))), false);
+        addComponent("gGA-subset", (deadline, seed) ->
+                solver.offerIncumbent(GeneticAlgorithmRunner.run(solver, gaParams("generational", false, deadline, seed))), false);
+        addComponent("gGA-binary", (deadline, seed) ->
+                solver.offerIncumbent(BinaryGeneticAlgorithmRunner.run(solver, gaParams("generational", true, deadline, seed))), false);
+    }
+
+    public synchronized void addComponent(String name, Component component, boolean oneShot) {
+        entries.add(new Entry(name, component, oneShot));
+    }
+
+    /*
+     * Parameters of a GA slice: population and operators as configured, no generation
+     * limit (the slice deadline stops it), the incumbent as seed solution
+     */
+    private Map<String, Object> gaParams(String implementation, boolean binary, long deadline, long seed) {
+        Map<String, Object> slice = new HashMap<>(params);
+        slice.remove("telemetryFile");
+        slice.remove("checkpointFile");
+        slice.put("GAimplementation", implementation);
+        slice.put("binaryEncoding", binary);
+        slice.put("randomSeed", seed);
+        slice.put("generations", Integer.MAX_VALUE / (int) slice.getOrDefault("populationSize", 100));
+        slice.put("deadline", deadline);
+        PartialResult best = solver.incumbent.get();
+        slice.put("seedSolutions", best.partialSolution() == null ? List.of() : List.of(best.partialSolution()));
+        return slice;
+    }
+
+    public PartialResult solve(PartialResult bestSolution, StopWatch stopWatch) {
+
+        this.stopWatch = stopWatch;
+        long deadline = solver.getDeadline(stopWatch);
+
+        long sliceNanos = (long) ((double) params.getOrDefault("portfolioSlice", 5.0) * 1e9);
+        int threads = (int) params.getOrDefault("portfolioThreads", Runtime.getRuntime().availableProcessors());
+        Random random = new Random((long) params.getOrDefault("randomSeed", 1234L));
+
+        solver.incumbent.offer(bestSolution);
+        Incumbent.Listener credit = result -> {
+            Entry entry = current.get();
+            if (entry == null) return;
+            synchronized (this) {
+                entry.improvements++;
+                entry.lastImprovementSlice = slices;
+            }
+        };
+        solver.incumbent.addListener(credit);
+
+        SolverLog.info("Portfolio: %d components, %d workers, %.1f s slices",
+                entries.size(), threads, sliceNanos / 1e9);
+
+        // daemon workers: a slice that is still running after a failure cannot keep the JVM alive
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "portfolio-worker");
+            t.setDaemon(true);
+            return t;
+        });
+        List<Future<?>> workers = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                long workerSeed = random.nextLong();
+                workers.add(pool.submit(() -> work(deadline, sliceNanos, new Random(workerSeed))));
+            }
+            for (Future<?> worker : workers) worker.get();
+        } catch (Exception e) {
+            SolverLog.error("Portfolio worker failed: %s", e);
+        } finally {
+            // after a failure the other workers start no new slice (the running ones end at their deadline)
+            for (Future<?> worker : workers) worker.cancel(true);
+            pool.shutdownNow();
+            solver.incumbent.removeListener(credit);
+        }
+
+        for (Entry entry : entries) {
+            SolverLog.info("  %-12s %3d slices %8.2f s %3d improvements",
+                    entry.name, entry.slices, entry.nanos / 1e9, entry.improvements);
+        }
+        return solver.incumbent.get();
+    }
+
+    /*
+     * Worker loop: draw a component, run it for one slice, until the deadline
+     */
+    private void work(long deadline, long sliceNanos, Random random) {
+        while (deadline - System.nanoTime() > 0 && !Thread.currentThread().isInterrupted()) {
+            Entry entry = next(random);
+            if (entry == null) return; // nothing left to run
+
+            long start = System.nanoTime();
+            long sliceDeadline = deadline - start > sliceNanos ? start + sliceNanos : deadline;
+            current.set(entry);
+            try {
+                entry.component.run(sliceDeadline, random.nextLong());
+            } finally {
+                current.remove();
+                synchronized (this) {
+                    entry.nanos += System.nanoTime() - start;
+                    entry.running = false;
+                }
+            }
+        }
+    }
+
+    /*
+     * Draw weight of a component: 1 + 4 * 0.5^(slices since its last improvement), 1 if it never improved
+     */
+    static double weight(int lastImprovementSlice, int slices) {
+        return lastImprovementSlice < 0 ? 1 : 1 + 4 * Math.pow(0.5, slices - lastImprovementSlice);
+    }
+
+    public synchronized int getSlices(String name) {
+        return entry(name).slices;
+    }
+
+    public synchronized int getImprovements(String name) {
+        return entry(name).improvements;
+    }
+
+    private Entry entry(String name) {
+        for (Entry entry : entries) {
+            if (entry.name.equals(name)) return entry;
+        }
+        throw new IllegalArgumentException("Unknown portfolio component " + name);
+    }
+
+    private synchronized Entry next(Random random) {
+        List<Entry> available = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        double total = 0;
+        for (Entry entry : entries) {
+            if (entry.oneShot && (entry.slices > 0 || entry.running)) continue;
+            double weight = weight(entry.lastImprovementSlice, slices);
+            available.add(entry);
+            weights.add(weight);
+            total += weight;
+        }
+        if (available.isEmpty()) return null;
+
+        // one-shot components first, then a weighted draw
+        Entry chosen = null;
+        for (Entry entry : available) {
+            if (entry.oneShot) {
+                chosen = entry;
+                break;
+            }
+        }
+        if (chosen == null) {
+            double r = random.nextDouble() * total;
+            for (int i = 0; i < available.size() && chosen == null; i++) {
+                r -= weights.get(i);
+                if (r < 0 || i == available.size() - 1) chosen = available.get(i);
+            }
+        }
+
+        chosen.slices++;
+        chosen.running = true;
+        slices++;
+        return chosen;
+    }
+
+}
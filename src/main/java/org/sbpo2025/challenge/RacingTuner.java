@@ -0,0 +1,410 @@
+package org.sbpo2025.challenge;
+
+import org.apache.commons.lang3.time.StopWatch;
+import org.apache.commons.math3.distribution.ChiSquaredDistribution;
+import org.apache.commons.math3.distribution.TDistribution;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/*
+ * Racing tuner of the GA parameters (F-Race): every candidate configuration of the grid
+ * is run on a sequence of blocks (instance, seed); after each block from the firstTest-th
+ * on, the configurations that are statistically worse than the best one are dropped, so
+ * the budget is spent on the promising ones. Instances are parsed and reduced once
+ * (InstanceCache) and the configurations of a block run concurrently in this JVM.
+ *
+ * Tests (alpha level, default 0.05):
+ *  - friedman (default): Friedman test on the ranks within each block, followed by the
+ *    pairwise comparison of rank sums against the best configuration
+ *  - ttest: paired t-test of every configuration against the best one (by mean), on the
+ *    objective normalized by the best objective of the block
+ *
+ * Usage (from the project root):
+ * java -cp target/ChallengeSBPO2025-1.0.jar org.sbpo2025.challenge.RacingTuner
+ *   [instances:b/instance_0003,b/instance_0007,b/instance_0009]
+ *   [implementations:steadyState,generational] [encodings:subset,binary] [crossoverTypes:ordersUnion,default]
+ *   [populationSizes:40,60,80] [generations:50] [crossover:0.9,1.0] [mutation:0.01,0.001,0.0001]
+ *   [test:friedman|ttest] [alpha:0.05] [firstTest:5] [blocks:30] [budget:<runs>]
+ *   [timeLimit:<seconds per run>] [threads:<n>] [out:tuning_results]
+ *
+ * Writes race.csv (objective of every run) and configurations.csv (statistics of every
+ * configuration, survivors first) to the output directory.
+ */
+public class RacingTuner {
+
+    record Configuration(String implementation, String encoding, String crossoverType, int populationSize,
+            int generations, double crossoverProbability, double mutationProbability) {
+
+        String[] args(String instance, long seed, String timeLimit) {
+            List<String> args = new ArrayList<>(List.of("datasets/" + instance + ".txt", "genetic", implementation,
+                    String.format(Locale.ROOT, "params:%d/1/%d/%d/%s/%s", seed, generations, populationSize,
+                            crossoverProbability, mutationProbability)));
+            if (encoding.equals("binary")) args.add("binaryEncoding");
+            if (crossoverType.equals("default")) args.add("defaultCrossover");
+            if (timeLimit != null) args.add("timeLimit:" + timeLimit);
+            return args.toArray(new String[0]);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s %s %s pop=%d gen=%d cx=%s mut=%s", implementation, encoding,
+                    crossoverType, populationSize, generations, crossoverProbability, mutationProbability);
+        }
+    }
+
+    static class Candidate {
+        final Configuration configuration;
+        final List<Double> objectives = new ArrayList<>(); // one per block
+        final List<Double> seconds = new ArrayList<>();
+        int eliminatedAt = -1; // block after which it was dropped (-1: alive)
+
+        Candidate(Configuration configuration) {
+            this.configuration = configuration;
+        }
+    }
+
+    record Block(String instance, long seed) {
+    }
+
+    private final InstanceCache cache = new InstanceCache(Long.MAX_VALUE);
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+
+        List<String> instances = List.of("b/instance_0003", "b/instance_0007", "b/instance_0009");
+        List<String> implementations = List.of("steadyState");
+        List<String> encodings = List.of("subset");
+        List<String> crossoverTypes = List.of("ordersUnion");
+        List<String> populationSizes = List.of("40", "60", "80");
+        List<String> generations = List.of("50");
+        List<String> crossover = List.of("0.9", "1.0");
+        List<String> mutation = List.of("0.01", "0.001", "0.0001");
+        String test = "friedman";
+        double alpha = 0.05;
+        int firstTest = 5;
+        int maxBlocks = 30;
+        int budget = 0;
+        String timeLimit = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        Path out = Path.of("tuning_results");
+
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf(':') + 1);
+            if (arg.startsWith("instances:")) instances = List.of(value.split(","));
+            else if (arg.startsWith("implementations:")) implementations = List.of(value.split(","));
+            else if (arg.startsWith("encodings:")) encodings = List.of(value.split(","));
+            else if (arg.startsWith("crossoverTypes:")) crossoverTypes = List.of(value.split(","));
+            else if (arg.startsWith("populationSizes:")) populationSizes = List.of(value.split(","));
+            else if (arg.startsWith("generations:")) generations = List.of(value.split(","));
+            else if (arg.startsWith("crossover:")) crossover = List.of(value.split(","));
+            else if (arg.startsWith("mutation:")) mutation = List.of(value.split(","));
+            else if (arg.startsWith("test:")) test = value;
+            else if (arg.startsWith("alpha:")) alpha = Double.parseDouble(value);
+            else if (arg.startsWith("firstTest:")) firstTest = Integer.parseInt(value);
+            else if (arg.startsWith("blocks:")) maxBlocks = Integer.parseInt(value);
+            else if (arg.startsWith("budget:")) budget = Integer.parseInt(value);
+            else if (arg.startsWith("timeLimit:")) timeLimit = value;
+            else if (arg.startsWith("threads:")) threads = Integer.parseInt(value);
+            else if (arg.startsWith("out:")) out = Path.of(value);
+        }
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (String implementation : implementations)
+            for (String encoding : encodings)
+                for (String crossoverType : crossoverTypes)
+                    for (String populationSize : populationSizes)
+                        for (String generation : generations)
+                            for (String cx : crossover)
+                                for (String mut : mutation)
+                                    candidates.add(new Candidate(new Configuration(implementation, encoding, crossoverType,
+                                            Integer.parseInt(populationSize), Integer.parseInt(generation),
+                                            Double.parseDouble(cx), Double.parseDouble(mut))));
+
+        List<Block> blocks = new ArrayList<>();
+        for (int b = 0; b < maxBlocks; b++) blocks.add(new Block(instances.get(b % instances.size()), b / instances.size() + 1));
+
+        System.out.println(String.format("Racing %d configurations on up to %d blocks (%s test, alpha %s)",
+                candidates.size(), blocks.size(), test, alpha));
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            new RacingTuner().race(candidates, blocks, test, alpha, firstTest, budget, timeLimit, pool);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Files.createDirectories(out);
+        writeRace(candidates, blocks, out.resolve("race.csv"));
+        writeConfigurations(candidates, blocks, out.resolve("configurations.csv"));
+        System.out.println("Results written to " + out);
+    }
+
+    private void race(List<Candidate> candidates, List<Block> blocks, String test, double alpha, int firstTest,
+            int budget, String timeLimit, ExecutorService pool) throws InterruptedException {
+
+        List<Candidate> alive = new ArrayList<>(candidates);
+        int runs = 0;
+
+        for (int b = 0; b < blocks.size() && alive.size() > 1; b++) {
+            if (budget > 0 && runs + alive.size() > budget) {
+                System.out.println("Budget of " + budget + " runs reached");
+                break;
+            }
+
+            Block block = blocks.get(b);
+            List<Callable<double[]>> jobs = new ArrayList<>();
+            for (Candidate candidate : alive) {
+                jobs.add(() -> run(candidate.configuration.args(block.instance(), block.seed(), timeLimit)));
+            }
+
+            PrintStream console = System.out;
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            List<Future<double[]>> results;
+            try {
+                results = pool.invokeAll(jobs);
+            } finally {
+                System.setOut(console);
+            }
+
+            for (int c = 0; c < alive.size(); c++) {
+                double[] result;
+                try {
+                    result = results.get(c).get();
+                } catch (ExecutionException e) {
+                    System.err.println(alive.get(c).configuration + " failed on " + block + ": " + e.getCause());
+                    result = new double[]{0, 0};
+                }
+                alive.get(c).objectives.add(result[0]);
+                alive.get(c).seconds.add(result[1]);
+            }
+            runs += alive.size();
+
+            int eliminated = 0;
+            if (b + 1 >= firstTest) {
+                boolean[] drop = test.equals("ttest") ? tTest(alive, alpha) : friedmanTest(alive, alpha);
+                for (int c = alive.size() - 1; c >= 0; c--) {
+                    if (!drop[c]) continue;
+                    alive.get(c).eliminatedAt = b + 1;
+                    alive.remove(c);
+                    eliminated++;
+                }
+            }
+            System.out.println(String.format("Block %d (%s, seed %d): %d runs, %d eliminated, %d alive",
+                    b + 1, block.instance(), block.seed(), jobs.size(), eliminated, alive.size()));
+        }
+
+        System.out.println("\nSurviving configurations:");
+        for (Candidate candidate : alive) {
+            System.out.println(String.format(Locale.ROOT, "  %s: mean objective %.4f over %d blocks",
+                    candidate.configuration, mean(candidate.objectives), candidate.objectives.size()));
+        }
+    }
+
+    /*
+     * Solve one block with one configuration: {objective, seconds}
+     */
+    private double[] run(String[] args) throws IOException {
+        StopWatch stopWatch = StopWatch.createStarted();
+        InstanceCache.Entry entry = cache.get(args[0], true);
+        InstanceReduction reduction = entry.reduction;
+        Challenge challenge = entry.challenge;
+
+        ChallengeSolver solver = new ChallengeSolver(reduction.orders, reduction.aisles, reduction.nItems,
+                challenge.waveSizeLB, challenge.waveSizeUB);
+        Map<String, Object> params = Challenge.parseParams(args);
+        solver.solve(stopWatch, params);
+        return new double[]{solver.incumbent.get().objValue(), stopWatch.getTime() / 1000.0};
+    }
+
+    /*
+     * Friedman test on the block ranks (rank 1 = best objective, ties averaged); if it
+     * rejects equality, drop the configurations whose rank sum differs from the best one
+     * by more than the critical difference (Conover's post-hoc test, as in F-Race)
+     */
+    static boolean[] friedmanTest(List<Candidate> alive, double alpha) {
+        int k = alive.size();
+        int n = alive.get(0).objectives.size();
+        boolean[] drop = new boolean[k];
+        if (n < 2) return drop;
+
+        double[] rankSum = new double[k];
+        double squaredRanks = 0;
+        for (int b = 0; b < n; b++) {
+            double[] values = new double[k];
+            for (int c = 0; c < k; c++) values[c] = -alive.get(c).objectives.get(b); // maximize
+            double[] ranks = ranks(values);
+            for (int c = 0; c < k; c++) {
+                rankSum[c] += ranks[c];
+                squaredRanks += ranks[c] * ranks[c];
+            }
+        }
+
+        double expected = n * (k + 1) / 2.0;
+        double numerator = 0;
+        double rankSumSquares = 0;
+        for (int c = 0; c < k; c++) {
+            numerator += (rankSum[c] - expected) * (rankSum[c] - expected);
+            rankSumSquares += rankSum[c] * rankSum[c];
+        }
+        double denominator = squaredRanks - n * k * (k + 1) * (k + 1) / 4.0;
+        if (denominator <= 0) return drop; // all blocks tied
+
+        double statistic = (k - 1) * numerator / denominator;
+        if (statistic <= new ChiSquaredDistribution(k - 1).inverseCumulativeProbability(1 - alpha)) return drop;
+
+        int best = 0;
+        for (int c = 1; c < k; c++) if (rankSum[c] < rankSum[best]) best = c;
+
+        int degrees = (n - 1) * (k - 1);
+        double t = new TDistribution(degrees).inverseCumulativeProbability(1 - alpha / 2);
+        double criticalDifference = t * Math.sqrt(2 * (n * squaredRanks - rankSumSquares) / degrees);
+        for (int c = 0; c < k; c++) {
+            drop[c] = rankSum[c] - rankSum[best] > criticalDifference;
+        }
+        return drop;
+    }
+
+    /*
+     * One-sided paired t-test of every configuration against the best mean, on the
+     * objective divided by the best objective of the block
+     */
+    static boolean[] tTest(List<Candidate> alive, double alpha) {
+        int k = alive.size();
+        int n = alive.get(0).objectives.size();
+        boolean[] drop = new boolean[k];
+        if (n < 2) return drop;
+
+        double[][] normalized = new double[k][n];
+        for (int b = 0; b < n; b++) {
+            double max = 0;
+            for (Candidate candidate : alive) max = Math.max(max, candidate.objectives.get(b));
+            for (int c = 0; c < k; c++) normalized[c][b] = max > 0 ? alive.get(c).objectives.get(b) / max : 1;
+        }
+
+        int best = 0;
+        for (int c = 1; c < k; c++) if (mean(normalized[c]) > mean(normalized[best])) best = c;
+
+        TDistribution distribution = new TDistribution(n - 1);
+        for (int c = 0; c < k; c++) {
+            if (c == best) continue;
+            double[] difference = new double[n];
+            for (int b = 0; b < n; b++) difference[b] = normalized[best][b] - normalized[c][b];
+            double meanDifference = mean(difference);
+            double variance = 0;
+            for (double d : difference) variance += (d - meanDifference) * (d - meanDifference);
+            variance /= n - 1;
+
+            if (variance == 0) {
+                drop[c] = meanDifference > 0; // worse on every block by the same margin
+            } else {
+                double statistic = meanDifference / Math.sqrt(variance / n);
+                drop[c] = 1 - distribution.cumulativeProbability(statistic) < alpha;
+            }
+        }
+        return drop;
+    }
+
+    /*
+     * Ranks of the values in increasing order, ties get the average rank
+     */
+    private static double[] ranks(double[] values) {
+        Integer[] order = new Integer[values.length];
+        for (int i = 0; i < values.length; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparingDouble(i -> values[i]));
+
+        double[] ranks = new double[values.length];
+        for (int i = 0; i < values.length; ) {
+            int j = i;
+            while (j + 1 < values.length && values[order[j + 1]] == values[order[i]]) j++;
+            double rank = (i + j) / 2.0 + 1;
+            for (int t = i; t <= j; t++) ranks[order[t]] = rank;
+            i = j + 1;
+        }
+        return ranks;
+    }
+
+    private static double mean(List<Double> values) {
+        return values.stream().mapToDouble(Double::doubleValue).average().orElse(Double.NaN);
+    }
+
+    private static double mean(double[] values) {
+        return Arrays.stream(values).average().orElse(Double.NaN);
+    }
+
+    private static void writeRace(List<Candidate> candidates, List<Block> blocks, Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("configuration,block,instance,seed,objective,time_s");
+            writer.newLine();
+            for (Candidate candidate : candidates) {
+                for (int b = 0; b < candidate.objectives.size(); b++) {
+                    writer.write(String.format(Locale.ROOT, "\"%s\",%d,%s,%d,%f,%.3f", candidate.configuration, b + 1,
+                            blocks.get(b).instance(), blocks.get(b).seed(), candidate.objectives.get(b), candidate.seconds.get(b)));
+                    writer.newLine();
+                }
+            }
+        }
+    }
+
+    /*
+     * Per configuration: blocks run, mean objective and time, mean rank and normalized objective
+     * over the blocks run by all survivors, and the block after which it was eliminated
+     */
+    private static void writeConfigurations(List<Candidate> candidates, List<Block> blocks, Path file) throws IOException {
+
+        int blocksRun = candidates.stream().mapToInt(c -> c.objectives.size()).max().orElse(0);
+        List<Candidate> survivors = candidates.stream().filter(c -> c.eliminatedAt < 0).toList();
+        double[] meanRank = new double[survivors.size()];
+        double[] meanNormalized = new double[survivors.size()];
+        for (int b = 0; b < blocksRun && !survivors.isEmpty(); b++) {
+            double[] values = new double[survivors.size()];
+            double max = 0;
+            for (int c = 0; c < survivors.size(); c++) {
+                values[c] = -survivors.get(c).objectives.get(b);
+                max = Math.max(max, survivors.get(c).objectives.get(b));
+            }
+            double[] ranks = ranks(values);
+            for (int c = 0; c < survivors.size(); c++) {
+                meanRank[c] += ranks[c] / blocksRun;
+                meanNormalized[c] += (max > 0 ? -values[c] / max : 1) / blocksRun;
+            }
+        }
+
+        List<Candidate> sorted = new ArrayList<>(candidates);
+        sorted.sort(Comparator.comparingInt((Candidate c) -> c.eliminatedAt < 0 ? Integer.MIN_VALUE : -c.eliminatedAt)
+                .thenComparing(c -> -mean(c.objectives)));
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("configuration,implementation,encoding,crossover_type,population_size,generations,"
+                    + "crossover_probability,mutation_probability,status,eliminated_after,blocks,mean_objective,mean_time_s,"
+                    + "mean_rank,mean_normalized_objective");
+            writer.newLine();
+            for (Candidate candidate : sorted) {
+                Configuration c = candidate.configuration;
+                int survivor = survivors.indexOf(candidate);
+                writer.write(String.format(Locale.ROOT, "\"%s\",%s,%s,%s,%d,%d,%s,%s,%s,%s,%d,%f,%.3f,%s,%s", c,
+                        c.implementation(), c.encoding(), c.crossoverType(), c.populationSize(), c.generations(),
+                        c.crossoverProbability(), c.mutationProbability(),
+                        survivor >= 0 ? "alive" : "eliminated", candidate.eliminatedAt < 0 ? "" : candidate.eliminatedAt,
+                        candidate.objectives.size(), mean(candidate.objectives), mean(candidate.seconds),
+                        survivor >= 0 ? String.format(Locale.ROOT, "%.3f", meanRank[survivor]) : "",
+                        survivor >= 0 ? String.format(Locale.ROOT, "%.4f", meanNormalized[survivor]) : ""));
+                writer.newLine();
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package org.sbpo2025.challenge;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/*
+ * On-disk cache of solve results, so an identical run (same instance content, algorithm,
+ * parameters and seed) returns the stored solution instead of solving again.
+ *
+ * An entry is <root>/<key>.result, where key is the sha256 of the instance content hash and
+ * of the normalized parameters (sorted, without the ones that only change what is printed).
+ * Entries are written with a temp file + atomic rename; a hit refreshes the modification
+ * time, and after every store the least recently used entries are deleted until the cache
+ * fits in maxBytes. Solutions use the ids of the original instance.
+ */
+public class ResultCache {
+
+    // parameters that do not change the result
+    private static final Set<String> IGNORED_PARAMS = Set.of("showStats", "showOutput");
+
+    private final Path directory;
+    private final long maxBytes;
+
+    public record Entry(ChallengeSolution solution, double objective, long solveMillis) {}
+
+    public ResultCache(Path directory, long maxBytes) throws IOException {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(directory);
+    }
+
+    /*
+     * Cache key of a run of the instance with the given content hash and parameters
+     */
+    public static String key(String instanceHash, Map<String, Object> params, boolean reduced) {
+        Map<String, Object> normalized = new TreeMap<>(params);
+        normalized.keySet().removeAll(IGNORED_PARAMS);
+        normalized.put("reduction", reduced);
+        String description = instanceHash + "\n" + normalized.entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + entry.getValue()).collect(Collectors.joining("\n"));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(description.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /*
+     * Stored result for the key, or null if there is none (or it cannot be read)
+     */
+    public Entry get(String key) {
+        Path file = directory.resolve(key + ".result");
+        if (!Files.exists(file)) return null;
+        try {
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(file)) {
+                properties.load(reader);
+            }
+            Entry entry = new Entry(
+                    new ChallengeSolution(ids(properties.getProperty("orders")), ids(properties.getProperty("aisles"))),
+                    Double.parseDouble(properties.getProperty("objective")),
+                    Long.parseLong(properties.getProperty("solveMillis")));
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return entry;
+        } catch (IOException | RuntimeException e) {
+            SolverLog.warn("Ignoring unreadable result cache entry %s: %s", file, e.getMessage());
+            return null;
+        }
+    }
+
+    public void put(String key, ChallengeSolution solution, double objective, long solveMillis) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("objective", String.valueOf(objective));
+        properties.setProperty("solveMillis", String.valueOf(solveMillis));
+        properties.setProperty("orders", join(solution.orders()));
+        properties.setProperty("aisles", join(solution.aisles()));
+
+        Path file = directory.resolve(key + ".result");
+        Path temporary = directory.resolve(String.format("%s.%d.%d.tmp", file.getFileName(),
+                ProcessHandle.current().pid(), Thread.currentThread().getId()));
+        try {
+            try (Writer writer = Files.newBufferedWriter(temporary)) {
+                properties.store(writer, null);
+            }
+            try {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+
+        evict();
+    }
+
+    /*
+     * Delete the least recently used entries until the cache fits in maxBytes
+     */
+    private void evict() throws IOException {
+        List<Path> entries;
+        try (Stream<Path> files = Files.list(directory)) {
+            entries = files.filter(file -> file.getFileName().toString().endsWith(".result")).collect(Collectors.toList());
+        }
+
+        long size = 0;
+        Map<Path, long[]> stats = new TreeMap<>(); // size, last modified
+        for (Path file : entries) {
+            try {
+                long[] stat = {Files.size(file), Files.getLastModifiedTime(file).toMillis()};
+                stats.put(file, stat);
+                size += stat[0];
+            } catch (IOException e) {
+                // removed concurrently
+            }
+        }
+        if (size <= maxBytes) return;
+
+        List<Path> oldestFirst = stats.keySet().stream()
+                .sorted(Comparator.comparingLong(file -> stats.get(file)[1])).collect(Collectors.toList());
+        int evicted = 0;
+        for (Path file : oldestFirst) {
+            if (size <= maxBytes) break;
+            if (Files.deleteIfExists(file)) evicted++;
+            size -= stats.get(file)[0];
+        }
+        SolverLog.info("Result cache: %d least recently used entries evicted", evicted);
+    }
+
+    private static String join(Set<Integer> ids) {
+        return ids.stream().sorted().map(String::valueOf).collect(Collectors.joining(" "));
+    }
+
+    private static Set<Integer> ids(String line) {
+        if (line.isBlank()) return new HashSet<>();
+        return Arrays.stream(line.trim().split(" ")).map(Integer::valueOf).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,162 @@
+package org.sbpo2025.challenge;
+
+import org.apache.commons.lang3.time.StopWatch;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/*
+ * Scaling report: generates synthetic instances (InstanceGenerator) at growing sizes and
+ * records the time and peak heap of every solver phase on each of them: generation, input
+ * reading, reduction, solver construction (CSR arrays, items) and one solve per
+ * configuration (greedy by default).
+ *
+ * Sizes are multiples of a base instance, by default the shape of x/instance_0014 (68064
+ * orders, 54106 items, 483 aisles), the largest of the datasets; the default scales go up to
+ * 20x, the size of real warehouses. Two heap figures are recorded per phase, both including
+ * what earlier phases still hold (the instance itself):
+ *  - peak: the sum of the peak usage of the heap pools, reset after a GC at the start of the
+ *    phase. The pools peak at different times and the young generation fills up to its size
+ *    before it is collected, so this is an upper bound of what the phase needs
+ *  - retained: the heap used after a GC at the end of the phase (what the phase keeps)
+ * Run the JVM with a large enough -Xmx for the biggest scale.
+ *
+ * Usage (from the project root):
+ * java -Xmx8g -cp target/ChallengeSBPO2025-1.0.jar org.sbpo2025.challenge.ScalingReport
+ *   [scales:0.25,0.5,1,2,5,10,20] [orders:68064] [items:54106] [aisles:483] [<InstanceGenerator arguments>]
+ *   [timeLimit:<seconds per solve, 60>] [config:<arguments as for Challenge>]... [out:<directory>] [keep]
+ *
+ * Writes scaling.csv (one line per scale and phase) to the output directory (scaling_results
+ * by default); the generated instances are deleted unless keep is given.
+ */
+public class ScalingReport {
+
+    record Measure(double scale, InstanceGenerator.Spec spec, double fileMB, String phase, double seconds,
+            double peakHeapMB, double retainedHeapMB, double objective) {
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        double[] scales = {0.25, 0.5, 1, 2, 5, 10, 20};
+        Path out = Path.of("scaling_results");
+        double timeLimit = 60;
+        boolean keep = false;
+        List<String> configs = new ArrayList<>();
+
+        List<String> specArgs = new ArrayList<>(List.of("orders:68064", "items:54106", "aisles:483"));
+        for (String arg : args) {
+            if (arg.startsWith("scales:")) scales = Arrays.stream(arg.substring("scales:".length()).split(",")).mapToDouble(Double::parseDouble).toArray();
+            else if (arg.startsWith("out:")) out = Path.of(arg.substring("out:".length()));
+            else if (arg.startsWith("timeLimit:")) timeLimit = Double.parseDouble(arg.substring("timeLimit:".length()));
+            else if (arg.startsWith("config:")) configs.add(arg.substring("config:".length()));
+            else if (arg.equals("keep")) keep = true;
+            else specArgs.add(arg); // later arguments override the base sizes
+        }
+        if (configs.isEmpty()) configs.add("greedy");
+        InstanceGenerator.Spec base = InstanceGenerator.parseSpec(specArgs.toArray(new String[0]));
+
+        Files.createDirectories(out);
+        List<Measure> measures = new ArrayList<>();
+        for (double scale : scales) {
+            InstanceGenerator.Spec spec = base.scaled(scale, base.seed());
+            Path file = out.resolve(String.format(Locale.ROOT, "instance_scale_%s.txt", scale));
+            System.out.println(String.format(Locale.ROOT, "Scale %s: %d orders, %d items, %d aisles",
+                    scale, spec.orders(), spec.items(), spec.aisles()));
+
+            List<Measure> scaleMeasures = new ArrayList<>();
+            measure(scaleMeasures, scale, spec, 0, "generate", () -> { InstanceGenerator.generate(spec, file); return Double.NaN; });
+            double fileMB = Files.size(file) / 1e6;
+
+            Challenge challenge = new Challenge();
+            measure(scaleMeasures, scale, spec, fileMB, "read", () -> { challenge.readInput(file.toString()); return Double.NaN; });
+
+            InstanceReduction[] reduction = new InstanceReduction[1];
+            measure(scaleMeasures, scale, spec, fileMB, "reduce", () -> {
+                reduction[0] = quietly(() -> new InstanceReduction(challenge.orders, challenge.aisles, challenge.nItems, challenge.waveSizeUB));
+                return Double.NaN;
+            });
+
+            for (String config : configs) {
+                String[] configArgs = (config + " timeLimit:" + timeLimit).trim().split("\\s+");
+                Map<String, Object> params = Challenge.parseParams(configArgs);
+                ChallengeSolver[] solver = new ChallengeSolver[1];
+                measure(scaleMeasures, scale, spec, fileMB, "build", () -> {
+                    solver[0] = new ChallengeSolver(reduction[0].orders, reduction[0].aisles, reduction[0].nItems,
+                            challenge.waveSizeLB, challenge.waveSizeUB);
+                    return Double.NaN;
+                });
+                measure(scaleMeasures, scale, spec, fileMB, "solve " + config, () -> quietly(() -> {
+                    solver[0].solve(StopWatch.createStarted(), params);
+                    return solver[0].incumbent.get().objValue();
+                }));
+                solver[0] = null;
+            }
+
+            for (Measure measure : scaleMeasures) { // the file size is known after the generation phase
+                measures.add(new Measure(measure.scale(), measure.spec(), fileMB, measure.phase(), measure.seconds(),
+                        measure.peakHeapMB(), measure.retainedHeapMB(), measure.objective()));
+            }
+            if (!keep) Files.deleteIfExists(file);
+        }
+
+        try (BufferedWriter writer = Files.newBufferedWriter(out.resolve("scaling.csv"))) {
+            writer.write("scale,orders,items,aisles,file_mb,phase,time_s,peak_heap_mb,retained_heap_mb,objective");
+            writer.newLine();
+            for (Measure measure : measures) {
+                writer.write(String.format(Locale.ROOT, "%s,%d,%d,%d,%.1f,\"%s\",%.3f,%.1f,%.1f,%s", measure.scale(),
+                        measure.spec().orders(), measure.spec().items(), measure.spec().aisles(), measure.fileMB(),
+                        measure.phase(), measure.seconds(), measure.peakHeapMB(), measure.retainedHeapMB(),
+                        Double.isNaN(measure.objective()) ? "" : String.valueOf(measure.objective())));
+                writer.newLine();
+            }
+        }
+        System.out.println("Results written to " + out.resolve("scaling.csv"));
+    }
+
+    /*
+     * Run a phase after a GC with the heap peaks reset, and record its time, peak heap (upper
+     * bound) and the heap still used after a GC at its end
+     */
+    private static void measure(List<Measure> measures, double scale, InstanceGenerator.Spec spec, double fileMB,
+            String phase, Callable<Double> body) throws Exception {
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP).toList();
+        System.gc();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        long start = System.nanoTime();
+        double objective = body.call();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        double peakHeapMB = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum() / 1e6;
+        System.gc();
+        double retainedHeapMB = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / 1e6;
+        measures.add(new Measure(scale, spec, fileMB, phase, seconds, peakHeapMB, retainedHeapMB, objective));
+        System.out.println(String.format(Locale.ROOT, "  %-45s %9.3f s %9.1f MB peak heap (upper bound) %9.1f MB retained%s",
+                phase, seconds, peakHeapMB, retainedHeapMB, Double.isNaN(objective) ? "" : ", value " + objective));
+    }
+
+    // the solver phases print their progress; keep the report readable
+    private static <T> T quietly(Callable<T> body) throws Exception {
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            return body.call();
+        } finally {
+            System.setOut(console);
+        }
+    }
+}
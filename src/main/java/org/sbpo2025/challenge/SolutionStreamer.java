@@ -0,0 +1,113 @@
+package org.sbpo2025.challenge;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/*
+ * Anytime output: writes every improvement of the incumbent to the output file while the
+ * solver runs, so the file always holds the best solution found so far, even if the
+ * process is killed at the time limit.
+ *
+ * Improvements are handed to a background writer thread and written at most once per
+ * interval (the latest and best pending one; intermediate ones are skipped). Every write
+ * goes to a temporary file renamed over the output (Challenge.writeSolution). A shutdown
+ * hook writes the pending improvement if the JVM is terminated, and close() writes it
+ * before the final output is written.
+ */
+public class SolutionStreamer implements Incumbent.Listener, AutoCloseable {
+
+    private final Incumbent incumbent;
+    private final Path outputFile;
+    private final long intervalNanos;
+    private final UnaryOperator<ChallengeSolution> toOutput; // e.g. reduced -> original ids
+
+    private final ScheduledThreadPoolExecutor writer;
+    private final AtomicReference<PartialResult> pending = new AtomicReference<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Thread shutdownHook = new Thread(this::flush, "solution-streamer-shutdown");
+
+    private volatile long lastWrite;
+    private double written = 0; // value of the solution in the output file (guarded by flush)
+    private int writes = 0;
+
+    public SolutionStreamer(Incumbent incumbent, String outputFilePath, long intervalMillis,
+            UnaryOperator<ChallengeSolution> toOutput) {
+        this.incumbent = incumbent;
+        this.outputFile = Path.of(outputFilePath);
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        this.toOutput = toOutput;
+        this.lastWrite = System.nanoTime() - intervalNanos; // the first improvement is written right away
+
+        this.writer = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "solution-streamer");
+            t.setDaemon(true);
+            return t;
+        });
+        writer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+
+        incumbent.addListener(this);
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    @Override
+    public void onImprovement(PartialResult result) {
+        pending.accumulateAndGet(result, (current, offered) ->
+                current == null || offered.objValue() > current.objValue() ? offered : current);
+
+        if (scheduled.compareAndSet(false, true)) {
+            long delay = Math.max(0, lastWrite + intervalNanos - System.nanoTime());
+            try {
+                writer.schedule(() -> {
+                    scheduled.set(false);
+                    flush();
+                }, delay, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false); // closed: close() writes the pending improvement
+            }
+        }
+    }
+
+    /*
+     * Write the pending improvement, if it is better than the solution in the file
+     */
+    private synchronized void flush() {
+        PartialResult result = pending.getAndSet(null);
+        if (result == null || result.objValue() <= written) return;
+
+        try {
+            Challenge.writeSolution(toOutput.apply(result.partialSolution()), outputFile);
+            written = result.objValue();
+            writes++;
+        } catch (IOException e) {
+            SolverLog.error("Error streaming the solution to %s: %s", outputFile, e.getMessage());
+        }
+        lastWrite = System.nanoTime();
+    }
+
+    public synchronized int getWrites() {
+        return writes;
+    }
+
+    @Override
+    public void close() {
+        incumbent.removeListener(this);
+        writer.shutdown();
+        try {
+            writer.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // already shutting down: the hook runs flush, which has nothing left to write
+        }
+    }
+}
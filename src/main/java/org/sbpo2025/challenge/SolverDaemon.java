@@ -0,0 +1,209 @@
+package org.sbpo2025.challenge;
+
+import org.apache.commons.lang3.time.StopWatch;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Long-lived solver process: keeps the JIT-compiled code and the parsed instances
+ * (InstanceCache) between jobs, so short jobs do not pay for JVM startup and parsing.
+ *
+ * Usage (from the project root):
+ * java -cp target/ChallengeSBPO2025-1.0.jar org.sbpo2025.challenge.SolverDaemon
+ *   [port:<n>] [workers:<n>] [cacheMB:<n>] [budget:<seconds>] [verbose] [logLevel:<level>] [logSample:<n>]
+ *
+ * Listens on 127.0.0.1 (default port 7070). Every request is one line with the arguments
+ * of Challenge (instance path first, e.g. "datasets/a/instance_0001.txt greedy output:out.txt
+ * timeLimit:30"); the reply is one line:
+ *   OK <objective> <aisles> <orders> <seconds>, NOSOLUTION <seconds> or ERROR <message>
+ * "STATS" replies with the cache and pool state and "SHUTDOWN" stops the daemon.
+ * Requests of one connection run one after the other; open several connections to run
+ * jobs concurrently on the worker pool (default: one worker per core). A job's time budget
+ * is its timeLimit argument, or the daemon budget, counted from the start of the job.
+ * Solver output is discarded unless verbose is given. The log level is set when the daemon
+ * starts; showOutput, logLevel: and logSample: in a job are ignored.
+ */
+public class SolverDaemon {
+
+    private final InstanceCache cache;
+    private final ExecutorService workers;
+    private final ExecutorService connections;
+    private final ServerSocket server;
+    private final double budget;
+    private final PrintStream console;
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final int workerCount;
+
+    public SolverDaemon(int port, int workerCount, long cacheBytes, double budget, PrintStream console) throws IOException {
+        this.cache = new InstanceCache(cacheBytes);
+        this.workerCount = workerCount;
+        this.workers = Executors.newFixedThreadPool(workerCount, daemonThreads("solver-worker"));
+        this.connections = Executors.newCachedThreadPool(daemonThreads("solver-connection"));
+        this.server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.budget = budget;
+        this.console = console;
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, name + "-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    public void serve() {
+        console.println(String.format("Solver daemon listening on 127.0.0.1:%d (%d workers)", getPort(), workerCount));
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                connections.execute(() -> handle(socket));
+            } catch (SocketException e) {
+                break; // closed by SHUTDOWN
+            } catch (IOException e) {
+                console.println("Connection failed: " + e.getMessage());
+            }
+        }
+        workers.shutdownNow();
+        connections.shutdownNow();
+        console.println("Solver daemon stopped after " + completed.get() + " jobs");
+    }
+
+    public void shutdown() {
+        try {
+            server.close();
+        } catch (IOException e) {
+            console.println("Error closing the daemon socket: " + e.getMessage());
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) continue;
+
+                if (line.equals("SHUTDOWN")) {
+                    out.println("OK");
+                    shutdown();
+                    return;
+                } else if (line.equals("STATS")) {
+                    out.println(String.format("OK %s; %d running, %d completed", cache.stats(), running.get(), completed.get()));
+                    continue;
+                }
+
+                String[] args = line.split("\\s+");
+                Future<String> job = workers.submit(() -> solve(args));
+                try {
+                    out.println(job.get());
+                } catch (ExecutionException e) {
+                    out.println("ERROR " + e.getCause());
+                } catch (InterruptedException e) {
+                    job.cancel(true);
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            console.println("Connection closed: " + e.getMessage());
+        }
+    }
+
+    /*
+     * Run one job on a worker thread and format the reply
+     */
+    private String solve(String[] args) throws IOException {
+        StopWatch stopWatch = StopWatch.createStarted();
+        running.incrementAndGet();
+        try {
+            boolean reduce = !Arrays.asList(args).contains("noReduction");
+            InstanceCache.Entry entry = cache.get(args[0], reduce);
+
+            String[] jobArgs = args;
+            if (budget > 0 && Arrays.stream(args).noneMatch(arg -> arg.startsWith("timeLimit:"))) {
+                jobArgs = Arrays.copyOf(args, args.length + 1);
+                jobArgs[args.length] = "timeLimit:" + budget;
+            }
+
+            // the entry may hold a reduction computed for an earlier job even when this one asked for noReduction
+            ChallengeSolution solution = Challenge.run(entry.challenge, reduce ? entry.reduction : null, jobArgs, stopWatch);
+            double seconds = stopWatch.getTime() / 1000.0;
+            console.println(String.format(Locale.ROOT, "%s: %s in %.2f s", String.join(" ", args),
+                    solution == null ? "no solution" : String.valueOf(objective(entry.challenge, solution)), seconds));
+
+            if (solution == null) return String.format(Locale.ROOT, "NOSOLUTION %.3f", seconds);
+            return String.format(Locale.ROOT, "OK %s %d %d %.3f", objective(entry.challenge, solution),
+                    solution.aisles().size(), solution.orders().size(), seconds);
+        } finally {
+            running.decrementAndGet();
+            completed.incrementAndGet();
+        }
+    }
+
+    private static double objective(Challenge challenge, ChallengeSolution solution) {
+        if (solution.aisles().isEmpty()) return 0;
+        long units = 0;
+        for (int o : solution.orders()) {
+            for (int quantity : challenge.orders.get(o).values()) units += quantity;
+        }
+        return (double) units / solution.aisles().size();
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        int port = 7070;
+        int workerCount = Runtime.getRuntime().availableProcessors();
+        long cacheMB = 1024;
+        double budget = 0;
+        boolean verbose = false;
+
+        List<String> unknown = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("port:")) port = Integer.parseInt(arg.substring("port:".length()));
+            else if (arg.startsWith("workers:")) workerCount = Integer.parseInt(arg.substring("workers:".length()));
+            else if (arg.startsWith("cacheMB:")) cacheMB = Long.parseLong(arg.substring("cacheMB:".length()));
+            else if (arg.startsWith("budget:")) budget = Double.parseDouble(arg.substring("budget:".length()));
+            else if (arg.equals("verbose")) verbose = true;
+            else if (arg.startsWith("logLevel:") || arg.startsWith("logSample:")) continue; // SolverLog.configure
+            else unknown.add(arg);
+        }
+        if (!unknown.isEmpty()) System.out.println("Ignoring unknown arguments " + unknown);
+        SolverLog.configure(args); // once for all jobs, the level is global
+
+        PrintStream console = System.out;
+        if (!verbose) System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        new SolverDaemon(port, workerCount, cacheMB * 1_000_000, budget, console).serve();
+    }
+}
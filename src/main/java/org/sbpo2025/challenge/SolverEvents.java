@@ -0,0 +1,104 @@
+package org.sbpo2025.challenge;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*
+ * JDK Flight Recorder events of the solver phases and hot operations.
+ *
+ * Usage: begin(), run the operation, end(), and fill the fields and commit() only if
+ * shouldCommit(). When no recording is running, shouldCommit() is false and the JIT
+ * removes the event allocation, so the instrumentation costs nothing.
+ * Record with e.g. java -XX:StartFlightRecording=filename=solver.jfr -jar ... and
+ * inspect with JDK Mission Control or "jfr print --categories SBPO solver.jfr".
+ */
+public final class SolverEvents {
+
+    private SolverEvents() {
+    }
+
+    @Name("org.sbpo2025.ReadInput")
+    @Label("Read Input")
+    @Category({"SBPO", "Input"})
+    @StackTrace(false)
+    public static class ReadInput extends Event {
+        @Label("File")
+        public String file;
+        @Label("Orders")
+        public int orders;
+        @Label("Items")
+        public int items;
+        @Label("Aisles")
+        public int aisles;
+    }
+
+    @Name("org.sbpo2025.GreedyStep")
+    @Label("Greedy Step")
+    @Description("Order selection over the k aisles of one greedy iteration")
+    @Category({"SBPO", "Greedy"})
+    @StackTrace(false)
+    public static class GreedyStep extends Event {
+        @Label("Aisles (k)")
+        public int k;
+        @Label("Added Aisle")
+        public int aisle;
+        @Label("Selected Orders")
+        public int orders;
+        @Label("Objective Value")
+        public double objValue;
+    }
+
+    @Name("org.sbpo2025.CreateSolution")
+    @Label("Create Solution")
+    @Description("Warm start creation of one individual of the initial population")
+    @Category({"SBPO", "Genetic Algorithm"})
+    @StackTrace(false)
+    public static class CreateSolution extends Event {
+        @Label("Orders")
+        public int orders;
+        @Label("Aisles")
+        public int aisles;
+    }
+
+    @Name("org.sbpo2025.FeasibilityCorrection")
+    @Label("Feasibility Correction")
+    @Description("Repair of one individual before its evaluation")
+    @Category({"SBPO", "Genetic Algorithm"})
+    @StackTrace(false)
+    public static class FeasibilityCorrection extends Event {
+        @Label("Removed Orders")
+        public int removedOrders;
+        @Label("Added Aisles")
+        public int addedAisles;
+    }
+
+    @Name("org.sbpo2025.EvaluateBatch")
+    @Label("Evaluate Batch")
+    @Description("Evaluation (with repair) of a list of individuals")
+    @Category({"SBPO", "Genetic Algorithm"})
+    @StackTrace(false)
+    public static class EvaluateBatch extends Event {
+        @Label("Solutions")
+        public int solutions;
+        @Label("Removed Orders")
+        public long removedOrders;
+        @Label("Added Aisles")
+        public long addedAisles;
+    }
+
+    @Name("org.sbpo2025.Generation")
+    @Label("Generation")
+    @Description("One GA generation (populationSize evaluations), from the previous generation boundary")
+    @Category({"SBPO", "Genetic Algorithm"})
+    @StackTrace(false)
+    public static class Generation extends Event {
+        @Label("Generation")
+        public int generation;
+        @Label("Evaluations")
+        public int evaluations;
+    }
+}
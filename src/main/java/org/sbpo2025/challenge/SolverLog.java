@@ -0,0 +1,185 @@
+package org.sbpo2025.challenge;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * Asynchronous log of the solver output.
+ *
+ * A call checks the level first and returns if it is disabled; otherwise it stores the
+ * pattern and its arguments (java.util.Formatter syntax with Locale.ROOT, printed as is
+ * without arguments)
+ * in a bounded lock-free ring buffer and returns. A background thread formats the messages
+ * and prints them in order, so solver threads never format nor take the PrintStream lock.
+ * When the buffer is full messages are dropped (and counted) instead of blocking. Hot paths
+ * should still guard the call with isEnabled, so that boxing and the argument array are
+ * skipped too, and per-evaluation messages go through a Sampler.
+ *
+ * The arguments are formatted later on the log thread: pass values, not objects that the
+ * solver keeps modifying. The stream (System.out or System.err) is the one current at the
+ * call, so redirecting System.out to silence a run keeps working. flush() waits until all
+ * pending messages are printed; it also runs at JVM shutdown.
+ *
+ * The level is global (INFO by default, DEBUG with showOutput, or logLevel:<level>).
+ */
+public final class SolverLog {
+
+    public enum Level { ERROR, WARN, INFO, DEBUG, TRACE }
+
+    private static final int CAPACITY = 1 << 13;
+    private static final int MASK = CAPACITY - 1;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    private record Message(PrintStream stream, String pattern, Object[] args) {
+    }
+
+    // bounded MPSC queue (Vyukov): a slot is free for position p when its sequence is p and
+    // holds the message of position p when its sequence is p + 1
+    private static final AtomicReferenceArray<Message> slots = new AtomicReferenceArray<>(CAPACITY);
+    private static final AtomicLongArray sequences = new AtomicLongArray(CAPACITY);
+    private static final AtomicLong tail = new AtomicLong(); // next position to claim
+    private static volatile long printed = 0; // positions printed by the log thread
+    private static final AtomicLong dropped = new AtomicLong();
+
+    private static volatile int threshold = Level.INFO.ordinal();
+    private static volatile int sampleEvery = 100;
+
+    static {
+        for (int i = 0; i < CAPACITY; i++) sequences.set(i, i);
+        Thread drainer = new Thread(SolverLog::drain, "solver-log");
+        drainer.setDaemon(true);
+        drainer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(SolverLog::flush, "solver-log-shutdown"));
+    }
+
+    private SolverLog() {
+    }
+
+    public static void setLevel(Level level) {
+        threshold = level.ordinal();
+    }
+
+    public static boolean isEnabled(Level level) {
+        return level.ordinal() <= threshold;
+    }
+
+    /*
+     * Log one of every n sampled events (Sampler), 1 logs them all
+     */
+    public static void setSampling(int n) {
+        sampleEvery = Math.max(1, n);
+    }
+
+    public static void error(String pattern, Object... args) {
+        if (isEnabled(Level.ERROR)) enqueue(System.err, pattern, args);
+    }
+
+    public static void warn(String pattern, Object... args) {
+        if (isEnabled(Level.WARN)) enqueue(System.err, pattern, args);
+    }
+
+    public static void info(String pattern, Object... args) {
+        if (isEnabled(Level.INFO)) enqueue(System.out, pattern, args);
+    }
+
+    public static void debug(String pattern, Object... args) {
+        if (isEnabled(Level.DEBUG)) enqueue(System.out, pattern, args);
+    }
+
+    public static void trace(String pattern, Object... args) {
+        if (isEnabled(Level.TRACE)) enqueue(System.out, pattern, args);
+    }
+
+    private static void enqueue(PrintStream stream, String pattern, Object[] args) {
+        Message message = new Message(stream, pattern, args);
+        while (true) {
+            long position = tail.get();
+            int slot = (int) (position & MASK);
+            long difference = sequences.get(slot) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(slot, message);
+                    sequences.set(slot, position + 1);
+                    return;
+                }
+            } else if (difference < 0) { // full: the log thread is CAPACITY messages behind
+                dropped.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private static void drain() {
+        long head = 0;
+        long reportedDrops = 0;
+        while (true) {
+            int slot = (int) (head & MASK);
+            if (sequences.get(slot) != head + 1) {
+                long drops = dropped.get();
+                if (drops > reportedDrops) {
+                    System.err.println("Solver log: " + (drops - reportedDrops) + " messages dropped (buffer full)");
+                    reportedDrops = drops;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            Message message = slots.get(slot);
+            slots.set(slot, null);
+            sequences.set(slot, head + CAPACITY);
+            head++;
+            try {
+                message.stream().println(message.args().length == 0 ? message.pattern() : String.format(Locale.ROOT, message.pattern(), message.args()));
+            } catch (RuntimeException e) { // bad pattern: print it raw rather than lose the message
+                message.stream().println(message.pattern() + " " + Arrays.toString(message.args()));
+            }
+            printed = head;
+        }
+    }
+
+    /*
+     * Wait until the messages logged before this call are printed
+     */
+    public static void flush() {
+        long target = tail.get();
+        while (printed < target) { // claimed positions are always filled, so this ends
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        System.out.flush();
+        System.err.flush();
+    }
+
+    /*
+     * Shared rate for per-event messages (e.g. every GA evaluation): sample() is true for one
+     * in every setSampling(n) calls
+     */
+    public static final class Sampler {
+
+        private final AtomicLong count = new AtomicLong();
+
+        public boolean sample() {
+            return count.getAndIncrement() % sampleEvery == 0;
+        }
+    }
+
+    /*
+     * Level and sampling from the command line arguments: logLevel:<level> (or DEBUG with
+     * showOutput) and logSample:<n>, INFO and 100 if absent
+     */
+    public static void configure(String[] args) {
+        setLevel(Level.INFO);
+        setSampling(100);
+        for (String arg : args) {
+            if (arg.equals("showOutput")) setLevel(Level.DEBUG);
+        }
+        for (String arg : args) {
+            if (arg.startsWith("logLevel:")) setLevel(Level.valueOf(arg.substring("logLevel:".length()).toUpperCase(Locale.ROOT)));
+            if (arg.startsWith("logSample:")) setSampling(Integer.parseInt(arg.substring("logSample:".length())));
+        }
+    }
+}
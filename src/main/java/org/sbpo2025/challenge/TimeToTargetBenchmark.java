@@ -0,0 +1,243 @@
+package org.sbpo2025.challenge;
+
+import org.apache.commons.lang3.time.StopWatch;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+/*
+ * Time-to-target benchmark: runs every configuration on every instance with several seeds
+ * and records the first time (from the start of the run, input reading included) the
+ * incumbent reaches 90 / 95 / 99 / 100% of the best known objective
+ * (best_solutions/best_objectives.csv).
+ *
+ * Usage (from the project root):
+ * java -cp target/ChallengeSBPO2025-1.0.jar org.sbpo2025.challenge.TimeToTargetBenchmark
+ *   [datasets:a,b,x] [instances:a/instance_0001,...] [seeds:<n>] [out:<directory>]
+ *   [config:<arguments as for Challenge, "{seed}" is replaced by the seed>]...
+ *
+ * Writes to the output directory:
+ *  - runs.csv: one line per run with the objective and the time to every target
+ *  - time_to_target.csv: per configuration and target, success rate and median / mean time
+ *  - performance_profile.csv: per target, fraction of instances on which each configuration
+ *    reaches the target within tau times the fastest configuration (median over seeds)
+ */
+public class TimeToTargetBenchmark {
+
+    private static final double[] TARGETS = {0.90, 0.95, 0.99, 1.00};
+    private static final double[] TAUS = {1, 1.25, 1.5, 2, 3, 5, 10, 20, 50, 100};
+    private static final List<String> DEFAULT_CONFIGS = List.of(
+            "greedy",
+            "genetic generational binaryEncoding params:{seed}/1/100/50/0.9");
+
+    record Run(String dataset, String instance, String config, long seed, double bestKnown, double objective,
+            double seconds, double[] timeToTarget) {
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        List<String> datasets = List.of("a", "b", "x");
+        List<String> instances = null;
+        int seeds = 3;
+        Path out = Path.of("benchmark_results");
+        List<String> configs = new ArrayList<>();
+
+        for (String arg : args) {
+            if (arg.startsWith("datasets:")) datasets = List.of(arg.substring("datasets:".length()).split(","));
+            else if (arg.startsWith("instances:")) instances = List.of(arg.substring("instances:".length()).split(","));
+            else if (arg.startsWith("seeds:")) seeds = Integer.parseInt(arg.substring("seeds:".length()));
+            else if (arg.startsWith("out:")) out = Path.of(arg.substring("out:".length()));
+            else if (arg.startsWith("config:")) configs.add(arg.substring("config:".length()));
+        }
+        if (configs.isEmpty()) configs = DEFAULT_CONFIGS;
+
+        Map<String, Double> bestKnown = readBestObjectives(Path.of("best_solutions", "best_objectives.csv"));
+
+        List<Run> runs = new ArrayList<>();
+        for (String key : bestKnown.keySet()) {
+            String dataset = key.substring(0, key.indexOf('/'));
+            if (!datasets.contains(dataset) || (instances != null && !instances.contains(key))) continue;
+
+            for (String config : configs) {
+                // deterministic configurations run once
+                int configSeeds = config.contains("{seed}") ? seeds : 1;
+                for (long seed = 1; seed <= configSeeds; seed++) {
+                    Run run = run(dataset, key.substring(key.indexOf('/') + 1), config, seed, bestKnown.get(key));
+                    runs.add(run);
+                    System.out.println(String.format(Locale.ROOT, "%s %s seed %d: %.4f / %.4f in %.2f s",
+                            key, config, seed, run.objective(), run.bestKnown(), run.seconds()));
+                }
+            }
+        }
+
+        Files.createDirectories(out);
+        writeRuns(runs, out.resolve("runs.csv"));
+        writeTimeToTarget(runs, configs, out.resolve("time_to_target.csv"));
+        writePerformanceProfile(runs, configs, out.resolve("performance_profile.csv"));
+        System.out.println("Results written to " + out);
+    }
+
+    private static Map<String, Double> readBestObjectives(Path file) throws IOException {
+        Map<String, Double> best = new LinkedHashMap<>();
+        List<String> lines = Files.readAllLines(file);
+        for (String line : lines.subList(1, lines.size())) { // skip header
+            String[] fields = line.split(",");
+            if (fields.length < 3) continue;
+            best.put(fields[0] + "/" + fields[1].replaceFirst("\\.txt$", ""), Double.parseDouble(fields[2]));
+        }
+        return best;
+    }
+
+    /*
+     * Solve the instance as Challenge.main does (reduction included), listening to the incumbent
+     */
+    private static Run run(String dataset, String instance, String config, long seed, double bestKnown) {
+
+        String[] args = config.replace("{seed}", String.valueOf(seed)).trim().split("\\s+");
+        Map<String, Object> params = Challenge.parseParams(args);
+        double[] timeToTarget = new double[TARGETS.length];
+        Arrays.fill(timeToTarget, Double.NaN);
+
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        long start = System.nanoTime();
+        try {
+            Challenge challenge = new Challenge();
+            challenge.readInput("datasets/" + dataset + "/" + instance + ".txt");
+
+            ChallengeSolver solver;
+            if (Arrays.asList(args).contains("noReduction")) {
+                solver = new ChallengeSolver(challenge.orders, challenge.aisles, challenge.nItems, challenge.waveSizeLB, challenge.waveSizeUB);
+            } else {
+                InstanceReduction reduction = new InstanceReduction(challenge.orders, challenge.aisles, challenge.nItems, challenge.waveSizeUB);
+                solver = new ChallengeSolver(reduction.orders, reduction.aisles, reduction.nItems, challenge.waveSizeLB, challenge.waveSizeUB);
+            }
+
+            solver.incumbent.addListener(result -> {
+                double seconds = (System.nanoTime() - start) / 1e9;
+                synchronized (timeToTarget) {
+                    for (int t = 0; t < TARGETS.length; t++) {
+                        if (Double.isNaN(timeToTarget[t]) && result.objValue() >= TARGETS[t] * bestKnown - 1e-9) {
+                            timeToTarget[t] = seconds;
+                        }
+                    }
+                }
+            });
+
+            solver.solve(StopWatch.createStarted(), params);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            return new Run(dataset, instance, config, seed, bestKnown, solver.incumbent.get().objValue(), seconds, timeToTarget);
+
+        } finally {
+            System.setOut(console);
+        }
+    }
+
+    private static void writeRuns(List<Run> runs, Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("dataset,instance,config,seed,best_known,objective,gap,time_s");
+            for (double target : TARGETS) writer.write(",ttt_" + Math.round(target * 100));
+            writer.newLine();
+            for (Run run : runs) {
+                writer.write(String.format(Locale.ROOT, "%s,%s,\"%s\",%d,%f,%f,%f,%.3f", run.dataset(), run.instance(),
+                        run.config(), run.seed(), run.bestKnown(), run.objective(),
+                        (run.bestKnown() - run.objective()) / run.bestKnown(), run.seconds()));
+                for (double t : run.timeToTarget()) writer.write(Double.isNaN(t) ? "," : String.format(Locale.ROOT, ",%.3f", t));
+                writer.newLine();
+            }
+        }
+    }
+
+    private static void writeTimeToTarget(List<Run> runs, List<String> configs, Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("config,target,runs,reached,success_rate,median_ttt,mean_ttt");
+            writer.newLine();
+            for (String config : configs) {
+                for (int t = 0; t < TARGETS.length; t++) {
+                    List<Double> times = new ArrayList<>();
+                    int total = 0;
+                    for (Run run : runs) {
+                        if (!run.config().equals(config)) continue;
+                        total++;
+                        if (!Double.isNaN(run.timeToTarget()[t])) times.add(run.timeToTarget()[t]);
+                    }
+                    double mean = times.stream().mapToDouble(Double::doubleValue).average().orElse(Double.NaN);
+                    writer.write(String.format(Locale.ROOT, "\"%s\",%.2f,%d,%d,%.3f,%s,%s", config, TARGETS[t], total,
+                            times.size(), total == 0 ? 0 : (double) times.size() / total,
+                            format(median(times)), format(mean)));
+                    writer.newLine();
+                }
+            }
+        }
+    }
+
+    /*
+     * Dolan-More performance profile over instances, using the median time over seeds
+     * (infinite if the target is reached in at most half of the seeds)
+     */
+    private static void writePerformanceProfile(List<Run> runs, List<String> configs, Path file) throws IOException {
+
+        TreeSet<String> instances = new TreeSet<>();
+        for (Run run : runs) instances.add(run.dataset() + "/" + run.instance());
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("target,config,tau,fraction");
+            writer.newLine();
+
+            for (int t = 0; t < TARGETS.length; t++) {
+                // time[c][i]: median time of configuration c on instance i
+                double[][] time = new double[configs.size()][instances.size()];
+                int i = 0;
+                for (String instance : instances) {
+                    for (int c = 0; c < configs.size(); c++) {
+                        List<Double> times = new ArrayList<>();
+                        int total = 0;
+                        for (Run run : runs) {
+                            if (!run.config().equals(configs.get(c)) || !(run.dataset() + "/" + run.instance()).equals(instance)) continue;
+                            total++;
+                            if (!Double.isNaN(run.timeToTarget()[t])) times.add(run.timeToTarget()[t]);
+                        }
+                        time[c][i] = times.size() * 2 > total ? median(times) : Double.POSITIVE_INFINITY;
+                    }
+                    i++;
+                }
+
+                for (int c = 0; c < configs.size(); c++) {
+                    for (double tau : TAUS) {
+                        int within = 0;
+                        for (i = 0; i < instances.size(); i++) {
+                            double fastest = Double.POSITIVE_INFINITY;
+                            for (double[] configTimes : time) fastest = Math.min(fastest, configTimes[i]);
+                            if (Double.isFinite(time[c][i]) && time[c][i] <= tau * Math.max(fastest, 1e-3)) within++;
+                        }
+                        writer.write(String.format(Locale.ROOT, "%.2f,\"%s\",%s,%.3f", TARGETS[t], configs.get(c), tau,
+                                instances.isEmpty() ? 0 : (double) within / instances.size()));
+                        writer.newLine();
+                    }
+                }
+            }
+        }
+    }
+
+    private static double median(List<Double> values) {
+        if (values.isEmpty()) return Double.NaN;
+        double[] sorted = values.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2;
+    }
+
+    private static String format(double value) {
+        return Double.isNaN(value) ? "" : String.format(Locale.ROOT, "%.3f", value);
+    }
+}
@@ -1,10 +1,19 @@
 package org.sbpo2025.challenge.genetic_algorithm;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 
+import org.sbpo2025.challenge.ChallengeSolution;
 import org.sbpo2025.challenge.Item;
+import org.sbpo2025.challenge.SolverLog;
 import org.uma.jmetal.problem.AbstractGenericProblem;
 import org.uma.jmetal.solution.Solution;
 
@@ -16,7 +25,16 @@ public abstract class AbstractWavePickingProblem<S extends Solution<?>>
     public List<Item> items;
     public int waveSizeLB;
     public int waveSizeUB;
-    public Random random;
+    public CheckpointableRandom random;
+
+    // counters read by the convergence telemetry
+    public final LongAdder evaluationCount = new LongAdder();
+    public final LongAdder removedOrdersCount = new LongAdder();
+    public final LongAdder addedAislesCount = new LongAdder();
+    protected final SolverLog.Sampler evaluationSampler = new SolverLog.Sampler(); // per-evaluation debug output
+
+    // solutions injected into the initial population (e.g. from the elite archive), best first
+    protected List<ChallengeSolution> seedSolutions = List.of();
 
     public AbstractWavePickingProblem(
             List<Map<Integer, Integer>> orders,
@@ -31,7 +49,7 @@ public abstract class AbstractWavePickingProblem<S extends Solution<?>>
         this.items = items;
         this.waveSizeLB = waveLB;
         this.waveSizeUB = waveUB;
-        this.random = new Random(randomSeed);
+        this.random = new CheckpointableRandom(randomSeed);
     }
 
     public void setRandomSeed(long seed) {
@@ -43,4 +61,100 @@ public abstract class AbstractWavePickingProblem<S extends Solution<?>>
 
     @Override
     public abstract void evaluate(S solution);
+
+    /*
+     * Initial population: archived elite solutions (up to a quarter of the population),
+     * then perturbed copies of them (up to half), and freshly created solutions for the rest.
+     */
+    public List<S> createInitialPopulation(int populationSize) {
+        List<S> population = new ArrayList<>(populationSize);
+
+        int elites = Math.min(seedSolutions.size(), populationSize / 4);
+        for (int i = 0; i < elites; i++) {
+            population.add(fromChallengeSolution(seedSolutions.get(i)));
+        }
+        for (int i = 0; elites > 0 && population.size() < populationSize / 2; i++) {
+            population.add(fromChallengeSolution(perturb(seedSolutions.get(i % elites))));
+        }
+
+        population.addAll(createSolutions(populationSize - population.size()));
+        return population;
+    }
+
+    protected List<S> createSolutions(int count) {
+        List<S> solutions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            solutions.add(createSolution());
+        }
+        return solutions;
+    }
+
+    public void setSeedSolutions(List<ChallengeSolution> seedSolutions) {
+        this.seedSolutions = seedSolutions;
+    }
+
+    /*
+     * Value to minimize when solutions are ranked outside the algorithm (incumbent, telemetry);
+     * the objective itself for the single-objective problems
+     */
+    public double fitness(S solution) {
+        return solution.getObjective(0);
+    }
+
+    /*
+     * True if the evaluated solution is a valid wave: within the wave size bounds, with at
+     * least one aisle (evaluate() already repaired the aisle capacity)
+     */
+    public abstract boolean isFeasible(S solution);
+
+    /*
+     * Objective value (units per aisle) of an evaluated solution for which isFeasible holds:
+     * the penalty part of its fitness is zero
+     */
+    public double objective(S solution) {
+        return -fitness(solution);
+    }
+
+    /*
+     * Repair work per evaluation (orders removed, aisles added), to compare operators
+     */
+    public String repairSummary() {
+        long evaluations = Math.max(1, evaluationCount.sum());
+        return String.format(Locale.ROOT, "Repair per evaluation: %.3f orders removed, %.3f aisles added (%d evaluations)",
+                (double) removedOrdersCount.sum() / evaluations, (double) addedAislesCount.sum() / evaluations, evaluationCount.sum());
+    }
+
+    public abstract S fromChallengeSolution(ChallengeSolution solution);
+
+    public abstract ChallengeSolution toChallengeSolution(S solution);
+
+    /*
+     * Compact binary form of the solution variables, used by GA checkpoints
+     */
+    public abstract void writeVariables(S solution, DataOutput out) throws IOException;
+
+    public abstract S readVariables(DataInput in) throws IOException;
+
+    /*
+     * Copy of the solution with 1-3 aisles flipped and about 10% of the orders dropped;
+     * evaluate() repairs whatever this breaks.
+     */
+    private ChallengeSolution perturb(ChallengeSolution solution) {
+        Set<Integer> perturbedOrders = new HashSet<>();
+        for (int o : solution.orders()) {
+            if (random.nextDouble() >= 0.1) perturbedOrders.add(o);
+        }
+        Set<Integer> perturbedAisles = new HashSet<>(solution.aisles());
+        int flips = 1 + random.nextInt(3);
+        for (int i = 0; i < flips; i++) {
+            int a = random.nextInt(aisles.size());
+            if (!perturbedAisles.remove(a)) perturbedAisles.add(a);
+        }
+        return new ChallengeSolution(perturbedOrders, perturbedAisles);
+    }
+
+    /*
+     * Increment orderCounts[o] / aisleCounts[a] for every order and aisle selected in the solution
+     */
+    public abstract void countGenes(S solution, int[] orderCounts, int[] aisleCounts);
 }
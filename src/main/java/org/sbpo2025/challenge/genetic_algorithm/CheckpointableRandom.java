@@ -0,0 +1,43 @@
+package org.sbpo2025.challenge.genetic_algorithm;
+
+import java.util.Random;
+
+/*
+ * Drop-in java.util.Random (same LCG, same output sequence for a seed) with
+ * readable state, so GA runs can be checkpointed and resumed exactly.
+ * Unlike java.util.Random it is not thread-safe: use one per thread.
+ */
+public class CheckpointableRandom extends Random implements StatefulRandom {
+
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    private long state; // no initializer: set by setSeed from the super constructor
+
+    public CheckpointableRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        super.setSeed(seed);
+        this.state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    @Override
+    public long getState() {
+        return state;
+    }
+
+    @Override
+    public void setState(long state) {
+        this.state = state & MASK;
+    }
+}
@@ -0,0 +1,241 @@
+package org.sbpo2025.challenge.genetic_algorithm;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.VarHandle;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.sbpo2025.challenge.SolverLog;
+import org.uma.jmetal.solution.Solution;
+
+/*
+ * Per-generation convergence statistics (best / mean / worst objective value,
+ * population diversity, repair counters and evaluations per second).
+ *
+ * The evolution thread only writes primitive values into a preallocated ring
+ * buffer; a background thread drains it to a CSV or JSONL file (chosen by the
+ * file extension), so recording does not add any I/O to the GA loop.
+ * If the writer falls behind by more than the buffer capacity, the oldest
+ * records are dropped and counted (including records overwritten while being copied).
+ * The diversity scans the whole population, so it is only computed every
+ * DIVERSITY_INTERVAL generations (empty in the other records).
+ */
+public class ConvergenceTelemetry<S extends Solution<?>> implements GenerationObserver<S>, AutoCloseable {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final long FLUSH_INTERVAL_MS = 250;
+    private static final int DIVERSITY_INTERVAL = 10;
+    private static final String CSV_HEADER =
+            "generation,evaluations,time_ms,best,mean,worst,diversity,removed_orders,added_aisles,evals_per_sec";
+
+    private final AbstractWavePickingProblem<S> problem;
+    private final int capacity;
+    private final boolean jsonl;
+    private final BufferedWriter writer;
+    private final ScheduledExecutorService flusher;
+
+    // ring buffer (single producer: evolution thread, single consumer: flusher)
+    private final int[] generation;
+    private final int[] evaluations;
+    private final long[] timeMs;
+    private final double[] best;
+    private final double[] mean;
+    private final double[] worst;
+    private final double[] diversity;
+    private final long[] removedOrders;
+    private final long[] addedAisles;
+    private final double[] evalsPerSec;
+    private volatile long head = 0; // next slot to write (written before it is published)
+    private long tail = 0;          // next slot to flush (flusher thread only)
+    private long dropped = 0;
+
+    // scratch buffers for the diversity computation
+    private final int[] orderCounts;
+    private final int[] aisleCounts;
+
+    private final long startNanos;
+    private long lastNanos;
+    private long lastEvaluations;
+
+    public ConvergenceTelemetry(AbstractWavePickingProblem<S> problem, String outputFilePath) {
+        this(problem, outputFilePath, DEFAULT_CAPACITY);
+    }
+
+    public ConvergenceTelemetry(AbstractWavePickingProblem<S> problem, String outputFilePath, int capacity) {
+        this.problem = problem;
+        this.capacity = capacity;
+        this.jsonl = outputFilePath.endsWith(".jsonl");
+
+        this.generation = new int[capacity];
+        this.evaluations = new int[capacity];
+        this.timeMs = new long[capacity];
+        this.best = new double[capacity];
+        this.mean = new double[capacity];
+        this.worst = new double[capacity];
+        this.diversity = new double[capacity];
+        this.removedOrders = new long[capacity];
+        this.addedAisles = new long[capacity];
+        this.evalsPerSec = new double[capacity];
+
+        this.orderCounts = new int[problem.orders.size()];
+        this.aisleCounts = new int[problem.aisles.size()];
+
+        try {
+            Path parent = Path.of(outputFilePath).toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            this.writer = new BufferedWriter(new FileWriter(outputFilePath));
+            if (!jsonl) {
+                writer.write(CSV_HEADER);
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error opening telemetry file " + outputFilePath, e);
+        }
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "telemetry-writer");
+            t.setDaemon(true);
+            return t;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+
+        this.startNanos = System.nanoTime();
+        this.lastNanos = startNanos;
+        this.lastEvaluations = problem.evaluationCount.sum();
+    }
+
+    @Override
+    public void onGeneration(int gen, int evals, List<S> population) {
+
+        long now = System.nanoTime();
+        long totalEvaluations = problem.evaluationCount.sum();
+
+        // objective values are stored negated (jMetal minimizes)
+        double bestValue = Double.NEGATIVE_INFINITY;
+        double worstValue = Double.POSITIVE_INFINITY;
+        double sum = 0;
+        for (S solution : population) {
+            double value = -problem.fitness(solution);
+            sum += value;
+            if (value > bestValue) bestValue = value;
+            if (value < worstValue) worstValue = value;
+        }
+
+        int slot = (int) (head % capacity);
+        generation[slot] = gen;
+        evaluations[slot] = evals;
+        timeMs[slot] = (now - startNanos) / 1_000_000;
+        best[slot] = bestValue;
+        mean[slot] = population.isEmpty() ? 0 : sum / population.size();
+        worst[slot] = worstValue;
+        diversity[slot] = gen % DIVERSITY_INTERVAL == 0 ? diversity(population) : Double.NaN;
+        removedOrders[slot] = problem.removedOrdersCount.sum();
+        addedAisles[slot] = problem.addedAislesCount.sum();
+        evalsPerSec[slot] = now > lastNanos ? (totalEvaluations - lastEvaluations) * 1e9 / (now - lastNanos) : 0;
+
+        lastNanos = now;
+        lastEvaluations = totalEvaluations;
+        head = head + 1; // publish slot
+    }
+
+    @Override
+    public void onFinish(List<S> population) {
+        close();
+    }
+
+    /*
+     * Mean pairwise Hamming distance between individuals, normalized by the number of genes.
+     * Computed from per-gene frequencies, so it is linear in the number of selected genes.
+     */
+    private double diversity(List<S> population) {
+        int n = population.size();
+        if (n < 2) return 0;
+
+        Arrays.fill(orderCounts, 0);
+        Arrays.fill(aisleCounts, 0);
+        for (S solution : population) {
+            problem.countGenes(solution, orderCounts, aisleCounts);
+        }
+
+        double pairs = 0;
+        for (int c : orderCounts) pairs += (double) c * (n - c);
+        for (int c : aisleCounts) pairs += (double) c * (n - c);
+
+        int genes = orderCounts.length + aisleCounts.length;
+        return 2 * pairs / ((double) n * (n - 1) * genes);
+    }
+
+    private record Row(int generation, int evaluations, long timeMs, double best, double mean, double worst,
+            double diversity, long removedOrders, long addedAisles, double evalsPerSec) {
+    }
+
+    private synchronized void flush() {
+        try {
+            long h = head;
+            if (h - tail > capacity) {
+                dropped += h - tail - capacity;
+                tail = h - capacity;
+            }
+            for (; tail < h; tail++) {
+                int slot = (int) (tail % capacity);
+                Row row = new Row(generation[slot], evaluations[slot], timeMs[slot], best[slot], mean[slot], worst[slot],
+                        diversity[slot], removedOrders[slot], addedAisles[slot], evalsPerSec[slot]);
+                // the producer fills slot head % capacity before publishing it: if it lapped the
+                // ring up to this slot while it was copied, the copy may mix two records
+                VarHandle.loadLoadFence(); // the copy is read before head is read again
+                if (head - capacity >= tail) {
+                    dropped++;
+                    continue;
+                }
+                writer.write(format(row));
+                writer.newLine();
+            }
+            writer.flush();
+        } catch (IOException e) {
+            SolverLog.error("Error writing telemetry: %s", e.getMessage());
+        }
+    }
+
+    private String format(Row row) {
+        boolean hasDiversity = !Double.isNaN(row.diversity());
+        if (jsonl) {
+            return String.format(Locale.ROOT,
+                    "{\"generation\":%d,\"evaluations\":%d,\"time_ms\":%d,\"best\":%f,\"mean\":%f,\"worst\":%f,"
+                            + "\"diversity\":%s,\"removed_orders\":%d,\"added_aisles\":%d,\"evals_per_sec\":%.1f}",
+                    row.generation(), row.evaluations(), row.timeMs(), row.best(), row.mean(), row.worst(),
+                    hasDiversity ? String.format(Locale.ROOT, "%f", row.diversity()) : "null",
+                    row.removedOrders(), row.addedAisles(), row.evalsPerSec());
+        }
+        return String.format(Locale.ROOT, "%d,%d,%d,%f,%f,%f,%s,%d,%d,%.1f",
+                row.generation(), row.evaluations(), row.timeMs(), row.best(), row.mean(), row.worst(),
+                hasDiversity ? String.format(Locale.ROOT, "%f", row.diversity()) : "",
+                row.removedOrders(), row.addedAisles(), row.evalsPerSec());
+    }
+
+    @Override
+    public void close() {
+        if (flusher.isShutdown()) return;
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        try {
+            writer.close();
+        } catch (IOException e) {
+            SolverLog.error("Error closing telemetry file: %s", e.getMessage());
+        }
+        if (dropped > 0) SolverLog.warn("Telemetry: %d generation records dropped", dropped);
+    }
+}
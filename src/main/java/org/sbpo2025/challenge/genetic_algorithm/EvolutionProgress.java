@@ -0,0 +1,150 @@
+package org.sbpo2025.challenge.genetic_algorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import org.sbpo2025.challenge.SolverEvents;
+import org.uma.jmetal.problem.Problem;
+
+/*
+ * Evaluation / generation counters shared by the generational and steady-state
+ * wave GAs. jMetal keeps its own counters private, so the wave algorithms track
+ * progress here and notify the registered observers on every generation.
+ * Generations and evaluation batches are also recorded as JFR events (SolverEvents).
+ */
+public class EvolutionProgress<S> {
+
+    private final int populationSize;
+    private final int maxEvaluations;
+    private final List<GenerationObserver<S>> observers = new ArrayList<>();
+
+    private int evaluations;
+    private int generation;
+    private List<S> restoredPopulation;
+    private boolean hasDeadline = false;
+    private long deadline; // System.nanoTime() limit
+    private SolverEvents.Generation generationEvent = new SolverEvents.Generation();
+
+    public EvolutionProgress(int populationSize, int maxEvaluations) {
+        this.populationSize = populationSize;
+        this.maxEvaluations = maxEvaluations;
+    }
+
+    public void addObserver(GenerationObserver<S> observer) {
+        observers.add(observer);
+    }
+
+    public void start(List<S> population) {
+        evaluations = populationSize;
+        generation = 0;
+        notifyObservers(population);
+        beginGeneration();
+    }
+
+    /*
+     * Continue from a checkpoint: the next run() starts from this population and counters
+     * instead of creating and evaluating a new initial population.
+     */
+    public void restore(List<S> population, int generation, int evaluations) {
+        this.restoredPopulation = population;
+        this.generation = generation;
+        this.evaluations = evaluations;
+        beginGeneration();
+    }
+
+    public List<S> takeRestoredPopulation() {
+        List<S> population = restoredPopulation;
+        restoredPopulation = null;
+        return population;
+    }
+
+    public void advance(int newEvaluations, List<S> population) {
+        int previousGeneration = evaluations / populationSize;
+        evaluations += newEvaluations;
+        if (evaluations / populationSize > previousGeneration || evaluations >= maxEvaluations) {
+            generation++;
+            commitGeneration();
+            notifyObservers(population);
+            beginGeneration();
+        }
+    }
+
+    private void beginGeneration() {
+        generationEvent = new SolverEvents.Generation();
+        generationEvent.begin();
+    }
+
+    private void commitGeneration() {
+        generationEvent.end();
+        if (generationEvent.shouldCommit()) {
+            generationEvent.generation = generation;
+            generationEvent.evaluations = evaluations;
+            generationEvent.commit();
+        }
+    }
+
+    /*
+     * Evaluate a batch with the given evaluator, recorded as an EvaluateBatch event with the
+     * orders removed and aisles added by the repair of the batch (when a recording is on)
+     */
+    public List<S> recordEvaluation(Problem<S> problem, List<S> population, UnaryOperator<List<S>> evaluator) {
+        SolverEvents.EvaluateBatch event = new SolverEvents.EvaluateBatch();
+        if (!event.isEnabled() || !(problem instanceof AbstractWavePickingProblem<?> waveProblem)) {
+            return evaluator.apply(population);
+        }
+
+        long removedBefore = waveProblem.removedOrdersCount.sum();
+        long addedBefore = waveProblem.addedAislesCount.sum();
+        event.begin();
+        List<S> evaluated = evaluator.apply(population);
+        event.end();
+        if (event.shouldCommit()) {
+            event.solutions = population.size();
+            event.removedOrders = waveProblem.removedOrdersCount.sum() - removedBefore;
+            event.addedAisles = waveProblem.addedAislesCount.sum() - addedBefore;
+            event.commit();
+        }
+        return evaluated;
+    }
+
+    public void finish(List<S> population) {
+        for (GenerationObserver<S> observer : observers) {
+            observer.onFinish(population);
+        }
+    }
+
+    /*
+     * Stop once the evaluation budget is used or the deadline (System.nanoTime()) has passed
+     */
+    public void setDeadline(long deadline) {
+        this.hasDeadline = true;
+        this.deadline = deadline;
+    }
+
+    public boolean isFinished() {
+        return evaluations >= maxEvaluations || (hasDeadline && System.nanoTime() - deadline >= 0);
+    }
+
+    public int getEvaluations() {
+        return evaluations;
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    public int getPopulationSize() {
+        return populationSize;
+    }
+
+    public int getMaxEvaluations() {
+        return maxEvaluations;
+    }
+
+    private void notifyObservers(List<S> population) {
+        for (GenerationObserver<S> observer : observers) {
+            observer.onGeneration(generation, evaluations, population);
+        }
+    }
+}
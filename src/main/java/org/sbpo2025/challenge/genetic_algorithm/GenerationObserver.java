@@ -0,0 +1,16 @@
+package org.sbpo2025.challenge.genetic_algorithm;
+
+import java.util.List;
+
+/*
+ * Callback invoked by the wave GA implementations once per generation
+ * (after the initial population has been evaluated, and then every
+ * populationSize evaluations).
+ */
+public interface GenerationObserver<S> {
+
+    void onGeneration(int generation, int evaluations, List<S> population);
+
+    default void onFinish(List<S> population) {
+    }
+}
@@ -0,0 +1,283 @@
+package org.sbpo2025.challenge.genetic_algorithm;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.sbpo2025.challenge.ChallengeSolution;
+import org.sbpo2025.challenge.SolverLog;
+import org.uma.jmetal.solution.Solution;
+
+/*
+ * Periodic GA snapshot: generation and evaluation counters, the state of every
+ * random generator of the run, and the population (variables + objective value).
+ *
+ * The snapshot is serialized on the evolution thread (so it is consistent) and
+ * written to disk by a background thread through a temp file + atomic rename.
+ * Restoring it and continuing reproduces exactly the run that wrote it, since
+ * all randomness of a run comes from the registered generators.
+ *
+ * File layout: magic, version, fingerprint, generation, evaluations,
+ * #generators, generator states, #solutions, then per solution its objective
+ * and its variables as written by AbstractWavePickingProblem.writeVariables.
+ * The fingerprint is a SHA-256 of the instance content and the run configuration, so a
+ * snapshot is only resumed by the run that wrote it.
+ *
+ * Runs with several GA iterations also keep an IterationProgress file (last finished
+ * iteration and best solution so far), so a resumed run skips the finished iterations.
+ */
+public class GeneticAlgorithmCheckpoint<S extends Solution<?>> implements GenerationObserver<S> {
+
+    private static final int MAGIC = 0x57474143; // "WGAC"
+    private static final int VERSION = 2; // 1: 64-bit Objects.hash fingerprint
+
+    public record Snapshot<S>(int generation, int evaluations, long[] randomStates, List<S> population) {
+    }
+
+    private final AbstractWavePickingProblem<S> problem;
+    private final Path file;
+    private final int interval;
+    private final byte[] fingerprint;
+    private final List<StatefulRandom> randoms;
+    private final ExecutorService writer;
+
+    public GeneticAlgorithmCheckpoint(AbstractWavePickingProblem<S> problem, Path file, int interval, byte[] fingerprint,
+            List<StatefulRandom> randoms) {
+        this.problem = problem;
+        this.file = file;
+        this.interval = interval;
+        this.fingerprint = fingerprint;
+        this.randoms = randoms;
+        this.writer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "checkpoint-writer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @Override
+    public void onGeneration(int generation, int evaluations, List<S> population) {
+        if (generation == 0 || generation % interval != 0) return;
+
+        byte[] snapshot = serialize(generation, evaluations, population);
+        writer.execute(() -> write(snapshot));
+    }
+
+    /*
+     * The run completed: wait for pending writes and remove the snapshot
+     */
+    @Override
+    public void onFinish(List<S> population) {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(30, TimeUnit.SECONDS);
+            Files.deleteIfExists(file);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            SolverLog.error("Error removing checkpoint %s: %s", file, e.getMessage());
+        }
+    }
+
+    /*
+     * Enable checkpointing when params has "checkpointFile" (and optionally "checkpointInterval",
+     * in generations), resuming the algorithm from an existing snapshot of the same configuration.
+     */
+    public static <S extends Solution<?>> void attach(WaveGeneticAlgorithm<S> algorithm, AbstractWavePickingProblem<S> problem,
+            Map<String, Object> params, byte[] fingerprint, List<StatefulRandom> randoms) {
+
+        if (!params.containsKey("checkpointFile")) return;
+
+        GeneticAlgorithmCheckpoint<S> checkpoint = new GeneticAlgorithmCheckpoint<>(problem,
+                Path.of((String) params.get("checkpointFile")), (int) params.getOrDefault("checkpointInterval", 10),
+                fingerprint, randoms);
+
+        Snapshot<S> snapshot = checkpoint.load();
+        if (snapshot != null) {
+            SolverLog.info("Resuming from checkpoint at generation %d", snapshot.generation());
+            checkpoint.restoreRandoms(snapshot);
+            algorithm.getProgress().restore(snapshot.population(), snapshot.generation(), snapshot.evaluations());
+        }
+        algorithm.getProgress().addObserver(checkpoint);
+    }
+
+    /*
+     * SHA-256 of the instance (every order and aisle, items in increasing order) and of the
+     * configuration values, in the given order
+     */
+    public static byte[] fingerprint(List<Map<Integer, Integer>> orders, List<Map<Integer, Integer>> aisles, Object... configuration) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (List<Map<Integer, Integer>> rows : List.of(orders, aisles)) {
+                digest.update((rows.size() + "\n").getBytes(StandardCharsets.UTF_8));
+                for (Map<Integer, Integer> row : rows) digest.update((new TreeMap<>(row) + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update(Arrays.asList(configuration).toString().getBytes(StandardCharsets.UTF_8));
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /*
+     * Read the snapshot, or return null if there is none or it was written by another configuration
+     */
+    public Snapshot<S> load() {
+        if (!Files.isRegularFile(file)) return null;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || !Arrays.equals(in.readNBytes(fingerprint.length), fingerprint)) {
+                SolverLog.info("Ignoring checkpoint %s (different run configuration)", file);
+                return null;
+            }
+            int generation = in.readInt();
+            int evaluations = in.readInt();
+
+            long[] randomStates = new long[in.readInt()];
+            for (int i = 0; i < randomStates.length; i++) randomStates[i] = in.readLong();
+            if (randomStates.length != randoms.size()) return null;
+
+            int size = in.readInt();
+            List<S> population = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                double objective = in.readDouble();
+                S solution = problem.readVariables(in);
+                solution.setObjective(0, objective);
+                population.add(solution);
+            }
+            return new Snapshot<>(generation, evaluations, randomStates, population);
+
+        } catch (IOException e) {
+            SolverLog.error("Error reading checkpoint %s: %s", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /*
+     * Restore the random generators; the algorithm restores population and counters
+     */
+    public void restoreRandoms(Snapshot<S> snapshot) {
+        for (int i = 0; i < randoms.size(); i++) {
+            randoms.get(i).setState(snapshot.randomStates()[i]);
+        }
+    }
+
+    private byte[] serialize(int generation, int evaluations, List<S> population) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.write(fingerprint);
+            out.writeInt(generation);
+            out.writeInt(evaluations);
+            out.writeInt(randoms.size());
+            for (StatefulRandom random : randoms) out.writeLong(random.getState());
+            out.writeInt(population.size());
+            for (S solution : population) {
+                out.writeDouble(solution.getObjective(0));
+                problem.writeVariables(solution, out);
+            }
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // in-memory stream
+        }
+    }
+
+    /*
+     * Last finished GA iteration of a run and the best solution found up to it
+     */
+    public record IterationProgress(String configuration, int finished, ChallengeSolution best, double objective) {
+    }
+
+    /*
+     * Progress saved by saveIterations, or null if there is none or it belongs to another configuration
+     */
+    public static IterationProgress loadIterations(Path file, String configuration) {
+        if (!Files.isRegularFile(file)) return null;
+
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+            if (!configuration.equals(properties.getProperty("configuration"))) {
+                SolverLog.info("Ignoring iteration progress %s (different run configuration)", file);
+                return null;
+            }
+            ChallengeSolution best = properties.containsKey("orders")
+                    ? new ChallengeSolution(ids(properties.getProperty("orders")), ids(properties.getProperty("aisles")))
+                    : null;
+            return new IterationProgress(configuration, Integer.parseInt(properties.getProperty("finished")), best,
+                    Double.parseDouble(properties.getProperty("objective")));
+        } catch (IOException | RuntimeException e) {
+            SolverLog.error("Error reading iteration progress %s: %s", file, e.getMessage());
+            return null;
+        }
+    }
+
+    public static void saveIterations(Path file, IterationProgress progress) {
+        Properties properties = new Properties();
+        properties.setProperty("configuration", progress.configuration());
+        properties.setProperty("finished", String.valueOf(progress.finished()));
+        properties.setProperty("objective", String.valueOf(progress.objective()));
+        if (progress.best() != null) {
+            properties.setProperty("orders", join(progress.best().orders()));
+            properties.setProperty("aisles", join(progress.best().aisles()));
+        }
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, ".iterations", ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tmp)) {
+                properties.store(writer, null);
+            }
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            SolverLog.error("Error writing iteration progress %s: %s", file, e.getMessage());
+        }
+    }
+
+    private static String join(Set<Integer> ids) {
+        return ids.stream().sorted().map(String::valueOf).collect(Collectors.joining(" "));
+    }
+
+    private static Set<Integer> ids(String line) {
+        if (line.isBlank()) return new HashSet<>();
+        return Arrays.stream(line.trim().split(" ")).map(Integer::valueOf).collect(Collectors.toSet());
+    }
+
+    private void write(byte[] snapshot) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, ".checkpoint", ".tmp");
+            Files.write(tmp, snapshot);
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            SolverLog.error("Error writing checkpoint %s: %s", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.sbpo2025.challenge.genetic_algorithm;
+
+import java.util.random.RandomGenerator;
+
+/*
+ * Geometric skipping for independent per-bit flips: instead of drawing one
+ * random number per bit, draw the gap to the next flipped bit, which is
+ * geometrically distributed with parameter p. Work is O(expected flips).
+ */
+public final class GeometricSkip {
+
+    private GeometricSkip() {
+    }
+
+    /*
+     * Index of the next flipped bit strictly after position (use -1 to start),
+     * or Integer.MAX_VALUE if there is none.
+     */
+    public static int next(int position, double probability, RandomGenerator random) {
+        if (probability >= 1) return position + 1;
+        if (probability <= 0) return Integer.MAX_VALUE;
+
+        double u = 1.0 - random.nextDouble(); // (0, 1]
+        long skip = (long) (Math.log(u) / Math.log1p(-probability));
+        return (int) Math.min(Integer.MAX_VALUE, (long) position + 1 + skip);
+    }
+}
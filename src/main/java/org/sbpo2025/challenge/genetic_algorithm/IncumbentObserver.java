@@ -0,0 +1,43 @@
+package org.sbpo2025.challenge.genetic_algorithm;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.sbpo2025.challenge.ChallengeSolver;
+import org.uma.jmetal.solution.Solution;
+
+/*
+ * Reports the best feasible individual of every generation to the solver incumbent, so GA
+ * improvements are visible while the algorithm runs (not only when it returns).
+ * The objective of a feasible individual is its fitness without penalty, so only the
+ * individuals whose fitness beats the last reported objective can improve it; they are
+ * checked for feasibility best first, and the first feasible one is converted and offered.
+ */
+public class IncumbentObserver<S extends Solution<?>> implements GenerationObserver<S> {
+
+    private final AbstractWavePickingProblem<S> problem;
+    private final ChallengeSolver solver;
+    private double lastReported = 0; // objective value, maximized
+
+    public IncumbentObserver(AbstractWavePickingProblem<S> problem, ChallengeSolver solver) {
+        this.problem = problem;
+        this.solver = solver;
+    }
+
+    @Override
+    public void onGeneration(int generation, int evaluations, List<S> population) {
+        List<S> candidates = new ArrayList<>();
+        for (S solution : population) {
+            if (problem.objective(solution) > lastReported) candidates.add(solution);
+        }
+        candidates.sort(Comparator.comparingDouble(problem::fitness)); // fitness is minimized
+
+        for (S solution : candidates) {
+            if (!problem.isFeasible(solution)) continue;
+            lastReported = problem.objective(solution);
+            solver.offerIncumbent(problem.toChallengeSolution(solution));
+            return;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.sbpo2025.challenge.genetic_algorithm;
+
+import java.util.random.RandomGenerator;
+
+/*
+ * SplitMix64 generator (the algorithm behind java.util.SplittableRandom) with
+ * readable state. Fast and unsynchronized; use split() to derive independent
+ * streams for other threads.
+ */
+public class SplitMixRandom implements RandomGenerator, StatefulRandom {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long state;
+
+    public SplitMixRandom(long seed) {
+        this.state = seed;
+    }
+
+    @Override
+    public long nextLong() {
+        long z = (state += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    public SplitMixRandom split() {
+        return new SplitMixRandom(nextLong());
+    }
+
+    @Override
+    public long getState() {
+        return state;
+    }
+
+    @Override
+    public void setState(long state) {
+        this.state = state;
+    }
+}
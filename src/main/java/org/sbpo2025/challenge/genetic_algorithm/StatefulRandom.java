@@ -0,0 +1,11 @@
+package org.sbpo2025.challenge.genetic_algorithm;
+
+/*
+ * Random generator whose full state fits in a long, so it can be checkpointed
+ */
+public interface StatefulRandom {
+
+    long getState();
+
+    void setState(long state);
+}
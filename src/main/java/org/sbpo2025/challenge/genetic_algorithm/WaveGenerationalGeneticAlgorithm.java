@@ -0,0 +1,77 @@
+package org.sbpo2025.challenge.genetic_algorithm;
+
+import org.uma.jmetal.algorithm.singleobjective.geneticalgorithm.GenerationalGeneticAlgorithm;
+import org.uma.jmetal.operator.crossover.CrossoverOperator;
+import org.uma.jmetal.operator.mutation.MutationOperator;
+import org.uma.jmetal.operator.selection.SelectionOperator;
+import org.uma.jmetal.problem.Problem;
+import org.uma.jmetal.solution.Solution;
+import org.uma.jmetal.util.evaluator.SolutionListEvaluator;
+
+import java.util.List;
+
+public class WaveGenerationalGeneticAlgorithm<S extends Solution<?>> extends GenerationalGeneticAlgorithm<S>
+        implements WaveGeneticAlgorithm<S> {
+
+    private final EvolutionProgress<S> progress;
+
+    public WaveGenerationalGeneticAlgorithm(Problem<S> problem, int maxEvaluations, int populationSize,
+            CrossoverOperator<S> crossoverOperator, MutationOperator<S> mutationOperator,
+            SelectionOperator<List<S>, S> selectionOperator, SolutionListEvaluator<S> evaluator) {
+        super(problem, maxEvaluations, populationSize, crossoverOperator, mutationOperator, selectionOperator, evaluator);
+        this.progress = new EvolutionProgress<>(populationSize, maxEvaluations);
+    }
+
+    @Override
+    public EvolutionProgress<S> getProgress() {
+        return progress;
+    }
+
+    @Override
+    public void run() {
+        List<S> restored = progress.takeRestoredPopulation();
+        if (restored != null) { // resume from checkpoint
+            setPopulation(restored);
+        } else {
+            setPopulation(evaluatePopulation(createInitialPopulation()));
+            initProgress();
+        }
+
+        while (!isStoppingConditionReached()) {
+            List<S> offspringPopulation = reproduction(selection(getPopulation()));
+            offspringPopulation = evaluatePopulation(offspringPopulation);
+            setPopulation(replacement(getPopulation(), offspringPopulation));
+            updateProgress();
+        }
+
+        progress.finish(getPopulation());
+    }
+
+    @Override
+    protected List<S> evaluatePopulation(List<S> population) {
+        return progress.recordEvaluation(getProblem(), population, super::evaluatePopulation);
+    }
+
+    @Override
+    protected List<S> createInitialPopulation() {
+        if (getProblem() instanceof AbstractWavePickingProblem<S> waveProblem) {
+            return waveProblem.createInitialPopulation(getMaxPopulationSize());
+        }
+        return super.createInitialPopulation();
+    }
+
+    @Override
+    public void initProgress() {
+        progress.start(getPopulation());
+    }
+
+    @Override
+    public void updateProgress() {
+        progress.advance(getMaxPopulationSize(), getPopulation());
+    }
+
+    @Override
+    protected boolean isStoppingConditionReached() {
+        return progress.isFinished();
+    }
+}
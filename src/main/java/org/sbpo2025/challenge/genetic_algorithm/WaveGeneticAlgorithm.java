@@ -0,0 +1,8 @@
+package org.sbpo2025.challenge.genetic_algorithm;
+
+import org.uma.jmetal.algorithm.Algorithm;
+
+public interface WaveGeneticAlgorithm<S> extends Algorithm<S> {
+
+    EvolutionProgress<S> getProgress();
+}
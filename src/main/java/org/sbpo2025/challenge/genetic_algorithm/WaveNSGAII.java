@@ -0,0 +1,78 @@
+package org.sbpo2025.challenge.genetic_algorithm;
+
+import org.uma.jmetal.algorithm.multiobjective.nsgaii.NSGAII;
+import org.uma.jmetal.operator.crossover.CrossoverOperator;
+import org.uma.jmetal.operator.mutation.MutationOperator;
+import org.uma.jmetal.operator.selection.SelectionOperator;
+import org.uma.jmetal.problem.Problem;
+import org.uma.jmetal.solution.Solution;
+import org.uma.jmetal.util.evaluator.SolutionListEvaluator;
+
+import java.util.List;
+
+/*
+ * jMetal NSGA-II with the progress tracking of the wave GAs (observers, deadline, JFR
+ * events). It returns the non-dominated front, so it is not a WaveGeneticAlgorithm
+ * (those return a single solution) and has no checkpoint support.
+ */
+public class WaveNSGAII<S extends Solution<?>> extends NSGAII<S> {
+
+    private final EvolutionProgress<S> progress;
+
+    public WaveNSGAII(Problem<S> problem, int maxEvaluations, int populationSize,
+            CrossoverOperator<S> crossoverOperator, MutationOperator<S> mutationOperator,
+            SelectionOperator<List<S>, S> selectionOperator, SolutionListEvaluator<S> evaluator) {
+        super(problem, maxEvaluations, populationSize, populationSize, populationSize,
+                crossoverOperator, mutationOperator, selectionOperator, evaluator);
+        this.progress = new EvolutionProgress<>(populationSize, maxEvaluations);
+    }
+
+    public EvolutionProgress<S> getProgress() {
+        return progress;
+    }
+
+    @Override
+    public void run() {
+        setPopulation(evaluatePopulation(createInitialPopulation()));
+        initProgress();
+
+        while (!isStoppingConditionReached()) {
+            List<S> offspringPopulation = reproduction(selection(getPopulation()));
+            offspringPopulation = evaluatePopulation(offspringPopulation);
+            setPopulation(replacement(getPopulation(), offspringPopulation));
+            updateProgress();
+        }
+
+        progress.finish(getPopulation());
+    }
+
+    @Override
+    protected List<S> evaluatePopulation(List<S> population) {
+        return progress.recordEvaluation(getProblem(), population, super::evaluatePopulation);
+    }
+
+    @Override
+    protected List<S> createInitialPopulation() {
+        if (getProblem() instanceof AbstractWavePickingProblem<S> waveProblem) {
+            return waveProblem.createInitialPopulation(getMaxPopulationSize());
+        }
+        return super.createInitialPopulation();
+    }
+
+    @Override
+    protected void initProgress() {
+        super.initProgress();
+        progress.start(getPopulation());
+    }
+
+    @Override
+    protected void updateProgress() {
+        super.updateProgress();
+        progress.advance(offspringPopulationSize, getPopulation());
+    }
+
+    @Override
+    protected boolean isStoppingConditionReached() {
+        return progress.isFinished();
+    }
+}
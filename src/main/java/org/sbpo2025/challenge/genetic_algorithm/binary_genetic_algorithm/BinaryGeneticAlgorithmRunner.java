@@ -2,16 +2,20 @@ package org.sbpo2025.challenge.genetic_algorithm.binary_genetic_algorithm;
 
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.sbpo2025.challenge.ChallengeSolution;
 import org.sbpo2025.challenge.ChallengeSolver;
 import org.sbpo2025.challenge.Item;
-import org.uma.jmetal.algorithm.impl.AbstractGeneticAlgorithm;
-import org.uma.jmetal.algorithm.singleobjective.geneticalgorithm.GenerationalGeneticAlgorithm;
+import org.sbpo2025.challenge.genetic_algorithm.ConvergenceTelemetry;
+import org.sbpo2025.challenge.genetic_algorithm.GeneticAlgorithmCheckpoint;
+import org.sbpo2025.challenge.genetic_algorithm.IncumbentObserver;
+import org.sbpo2025.challenge.genetic_algorithm.SplitMixRandom;
+import org.sbpo2025.challenge.genetic_algorithm.WaveGenerationalGeneticAlgorithm;
+import org.sbpo2025.challenge.genetic_algorithm.WaveGeneticAlgorithm;
+import org.sbpo2025.challenge.genetic_algorithm.binary_genetic_algorithm.operators.GeometricBitFlipMutation;
+import org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm.operators.WaveTournamentSelection;
 import org.uma.jmetal.operator.crossover.impl.HUXCrossover;
-import org.uma.jmetal.operator.mutation.impl.BitFlipMutation;
-import org.uma.jmetal.operator.selection.impl.BinaryTournamentSelection;
+import org.uma.jmetal.operator.selection.SelectionOperator;
 import org.uma.jmetal.solution.binarysolution.BinarySolution;
 import org.uma.jmetal.util.evaluator.SolutionListEvaluator;
 import org.uma.jmetal.util.evaluator.impl.SequentialSolutionListEvaluator;
@@ -19,8 +23,6 @@ import org.uma.jmetal.util.evaluator.impl.SequentialSolutionListEvaluator;
 
 public class BinaryGeneticAlgorithmRunner {
 
-    public static boolean SHOW_OUTPUT = false;
-
     public static ChallengeSolution run(ChallengeSolver solver, Map<String, Object> params) {
 
         List<Map<Integer, Integer>> orders = solver.orders;
@@ -37,30 +39,40 @@ public class BinaryGeneticAlgorithmRunner {
         int maxEvaluations = populationSize * (int) params.getOrDefault("generations", 100);
 
 
-        BinaryWavePickingProblem problem = new BinaryWavePickingProblem(orders, aisles, items, waveSizeLB, waveSizeUB, randomSeed);
-        
-        if ((boolean) params.getOrDefault("showOutput", false)) {
-            problem.showOutput();
-            SHOW_OUTPUT = true;
-        }
+        BinaryWavePickingProblem problem = new BinaryWavePickingProblem(orders, aisles, items, solver.csr, waveSizeLB, waveSizeUB, randomSeed);
+
+        @SuppressWarnings("unchecked")
+        List<ChallengeSolution> seedSolutions = (List<ChallengeSolution>) params.getOrDefault("seedSolutions", List.of());
+        problem.setSeedSolutions(seedSolutions);
         
         // problem.setWaveSizePenalty((double) params.getOrDefault("waveSizePenalty", 10));        
 
-        HUXCrossover crossover = new HUXCrossover(crossoverProbability);
-        BitFlipMutation mutation = new BitFlipMutation(mutationProbability);
-        BinaryTournamentSelection<BinarySolution> selection = new BinaryTournamentSelection<>();
+        // all randomness comes from the generators of this run, never from jMetal's process-wide
+        // JMetalRandom, so concurrent runs (daemon, tuner, portfolio) do not disturb each other
+        SplitMixRandom mutationRandom = new SplitMixRandom(randomSeed);
+
+        HUXCrossover crossover = new HUXCrossover(crossoverProbability, problem.random::nextDouble);
+        GeometricBitFlipMutation mutation = new GeometricBitFlipMutation(mutationProbability, mutationRandom);
+        SelectionOperator<List<BinarySolution>, BinarySolution> selection = new WaveTournamentSelection<>(problem.random);
         SolutionListEvaluator<BinarySolution> evaluator = new SequentialSolutionListEvaluator<>();
 
-        AbstractGeneticAlgorithm<BinarySolution, BinarySolution> algorithm = new GenerationalGeneticAlgorithm<>(
+        WaveGeneticAlgorithm<BinarySolution> algorithm = new WaveGenerationalGeneticAlgorithm<>(
                 problem, maxEvaluations, populationSize, crossover, mutation, selection, evaluator);
+
+        byte[] fingerprint = GeneticAlgorithmCheckpoint.fingerprint(orders, aisles, problem.getName(), params.get("instanceHash"), randomSeed, populationSize, maxEvaluations,
+                crossoverProbability, mutationProbability);
+        GeneticAlgorithmCheckpoint.attach(algorithm, problem, params, fingerprint, List.of(problem.random, mutationRandom));
+
+        if (params.containsKey("telemetryFile")) {
+            algorithm.getProgress().addObserver(new ConvergenceTelemetry<>(problem, (String) params.get("telemetryFile")));
+        }
         
+        algorithm.getProgress().addObserver(new IncumbentObserver<>(problem, solver));
+        if (params.containsKey("deadline")) algorithm.getProgress().setDeadline((long) params.get("deadline"));
+
         algorithm.run();
 
-        BinarySolution result = algorithm.getResult();
-        return new ChallengeSolution(
-            problem.getSelectedOrders(result).stream().collect(Collectors.toSet()),
-            problem.getVisitedAisles(result).stream().collect(Collectors.toSet())
-        ); // return best solution
+        return problem.toChallengeSolution(algorithm.getResult()); // return best solution
 
     }
 
@@ -1,21 +1,36 @@
 package org.sbpo2025.challenge.genetic_algorithm.binary_genetic_algorithm;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.Arrays;
 
+import org.sbpo2025.challenge.ChallengeSolution;
+import org.sbpo2025.challenge.CsrInstance;
 import org.sbpo2025.challenge.Item;
+import org.sbpo2025.challenge.SolverEvents;
+import org.sbpo2025.challenge.SolverLog;
 import org.sbpo2025.challenge.genetic_algorithm.AbstractWavePickingProblem;
 import org.uma.jmetal.solution.binarysolution.BinarySolution;
 import org.uma.jmetal.solution.binarysolution.impl.DefaultBinarySolution;
+import org.uma.jmetal.util.binarySet.BinarySet;
 
 public class BinaryWavePickingProblem extends AbstractWavePickingProblem<BinarySolution> {
 
-    protected boolean showOutput;
-
     protected double waveSizePenalty;
 
+    protected final CsrInstance csr;
+    private final ThreadLocal<Workspace> workspaces;
+
+    // empty solution copied by createSolution: the jMetal constructor draws its bits from the
+    // process-wide JMetalRandom, which concurrent runs would share
+    private final DefaultBinarySolution template;
+
     public BinaryWavePickingProblem(List<Map<Integer, Integer>> orders,
       List<Map<Integer, Integer>> aisles,
       List<Item> items,
@@ -23,26 +38,37 @@ public class BinaryWavePickingProblem extends AbstractWavePickingProblem<BinaryS
       int waveSizeUB,
       long randomSeed
     ) {
+      this(orders, aisles, items, new CsrInstance(orders, aisles, items.size()), waveSizeLB, waveSizeUB, randomSeed);
+    }
+
+    public BinaryWavePickingProblem(List<Map<Integer, Integer>> orders,
+      List<Map<Integer, Integer>> aisles,
+      List<Item> items,
+      CsrInstance csr,
+      int waveSizeLB,
+      int waveSizeUB,
+      long randomSeed
+    ) {
     
       super(orders, aisles, items, waveSizeLB, waveSizeUB, randomSeed);
+
+      this.csr = csr;
+      this.workspaces = ThreadLocal.withInitial(() -> new Workspace(csr));
       
       this.waveSizePenalty = orders.size() - waveSizeLB/aisles.size(); // default penalty
-      this.showOutput = false;
 
       this.setNumberOfVariables(2);
       this.setNumberOfObjectives(1);
       this.setName("BinaryWavePickingProblem");
-      
+
+      this.template = new DefaultBinarySolution(getListOfBitsPerVariable(), getNumberOfObjectives());
+      for (int v = 0; v < template.getNumberOfVariables(); v++) template.getVariable(v).clear();
     }
 
     public void setWaveSizePenalty(double penalty) {
         this.waveSizePenalty = penalty;
     }
 
-    public void showOutput() {
-        this.showOutput = true;
-    }
-
     public List<Integer> getListOfBitsPerVariable() {
         return Arrays.asList(orders.size(), aisles.size());
     }
@@ -61,45 +87,98 @@ public class BinaryWavePickingProblem extends AbstractWavePickingProblem<BinaryS
     	return count ;
     }
 
+    /*
+     * Random bits drawn from the problem random, so a run is reproducible from its seed alone
+     */
     @Override
     public BinarySolution createSolution() {
-      return new DefaultBinarySolution(getListOfBitsPerVariable(), getNumberOfObjectives())  ;
+      BinarySolution solution = template.copy();
+      for (int v = 0; v < solution.getNumberOfVariables(); v++) {
+        BinarySet bits = solution.getVariable(v);
+        for (int i = 0; i < bits.getBinarySetLength(); i++) {
+          if (random.nextBoolean()) bits.set(i);
+        }
+      }
+      return solution;
+    }
+
+    @Override
+    public BinarySolution fromChallengeSolution(ChallengeSolution challengeSolution) {
+      BinarySolution solution = template.copy();
+      for (int o : challengeSolution.orders()) solution.getVariable(0).set(o);
+      for (int a : challengeSolution.aisles()) solution.getVariable(1).set(a);
+      return solution;
+    }
+
+    @Override
+    public ChallengeSolution toChallengeSolution(BinarySolution solution) {
+      return new ChallengeSolution(new HashSet<>(getSelectedOrders(solution)), new HashSet<>(getVisitedAisles(solution)));
+    }
+
+    @Override
+    public void writeVariables(BinarySolution solution, DataOutput out) throws IOException {
+      for (int v = 0; v < solution.getNumberOfVariables(); v++) {
+        long[] words = solution.getVariable(v).toLongArray();
+        out.writeInt(words.length);
+        for (long word : words) out.writeLong(word);
+      }
+    }
+
+    @Override
+    public BinarySolution readVariables(DataInput in) throws IOException {
+      BinarySolution solution = template.copy();
+      for (int v = 0; v < solution.getNumberOfVariables(); v++) {
+        long[] words = new long[in.readInt()];
+        for (int w = 0; w < words.length; w++) words[w] = in.readLong();
+        BinarySet bits = solution.getVariable(v);
+        bits.or(BitSet.valueOf(words));
+      }
+      return solution;
     }
 
     @Override
     public void evaluate(BinarySolution solution) {
         
-        feasibilityCorrection(solution);
+        evaluationCount.increment();
+        Workspace workspace = workspaces.get();
+        SolverEvents.FeasibilityCorrection event = new SolverEvents.FeasibilityCorrection();
+        event.begin();
+        feasibilityCorrection(solution, workspace, event);
+        event.end();
+        if (event.shouldCommit()) event.commit();
 
         // Objective function: total units picked / number of visited aisles
-        double objectiveValue = computeObjectiveValue(solution);
-        int penalization = waveSizePenalization(solution);
+        int totalUnitsPicked = totalUnits(solution.getVariable(0), csr.orderUnits);
+        double objectiveValue = computeObjectiveValue(totalUnitsPicked, solution.getVariable(1).cardinality());
+        int penalization = waveSizePenalization(totalUnitsPicked);
         solution.setObjective(0, -(objectiveValue - waveSizePenalty*(double)penalization));
-        if (showOutput) System.out.println(String.format("""
+        if (SolverLog.isEnabled(SolverLog.Level.DEBUG) && evaluationSampler.sample()) SolverLog.debug("""
             Evaluated solution with objective value: %f %s
                 fitness: %f""",
             objectiveValue, 
-            penalization != 0 ? String.format("and penalization: %d",penalization) : "",
-            solution.getObjective(0)));
+            penalization != 0 ? "and penalization: " + penalization : "",
+            solution.getObjective(0));
     }
 
-    private double computeObjectiveValue(BinarySolution solution) {
+    @Override
+    public boolean isFeasible(BinarySolution solution) {
+        return solution.getVariable(1).cardinality() > 0
+            && waveSizePenalization(totalUnits(solution.getVariable(0), csr.orderUnits)) == 0;
+    }
+
+    @Override
+    public void countGenes(BinarySolution solution, int[] orderCounts, int[] aisleCounts) {
+        BinarySet selectedOrders = solution.getVariable(0);
+        for (int o = selectedOrders.nextSetBit(0); o >= 0; o = selectedOrders.nextSetBit(o + 1)) orderCounts[o]++;
+        BinarySet visitedAisles = solution.getVariable(1);
+        for (int a = visitedAisles.nextSetBit(0); a >= 0; a = visitedAisles.nextSetBit(a + 1)) aisleCounts[a]++;
+    }
+
+    private double computeObjectiveValue(int totalUnitsPicked, int numVisitedAisles) {
         
-        List<Integer> selectedOrders = getSelectedOrders(solution);
-        List<Integer> visitedAisles = getVisitedAisles(solution);
-        if (selectedOrders == null || visitedAisles == null || selectedOrders.isEmpty() || visitedAisles.isEmpty()) {
+        if (totalUnitsPicked == 0 || numVisitedAisles == 0) {
             return 0.0;
         }
-        int totalUnitsPicked = 0;
-
-        // Calculate total units picked
-        for (int order : selectedOrders) {
-            totalUnitsPicked += orders.get(order).values().stream()
-                    .mapToInt(Integer::intValue)
-                    .sum();
-        }
-
-        int numVisitedAisles = visitedAisles.size();
         return (double) totalUnitsPicked / numVisitedAisles;
         // return (double) selectedOrders.size();
         // return (double) 1.0 / numVisitedAisles;
@@ -107,10 +186,8 @@ public class BinaryWavePickingProblem extends AbstractWavePickingProblem<BinaryS
         // return (double) selectedOrders.size() + numVisitedAisles;
     }
 
-    private int waveSizePenalization(BinarySolution solution) {
+    private int waveSizePenalization(int totalUnitsPicked) {
         
-        int totalUnitsPicked = totalDemand(getSelectedOrders(solution));
-
         if (totalUnitsPicked < waveSizeLB) {
             return waveSizeLB - totalUnitsPicked;
         } else if (totalUnitsPicked > waveSizeUB) {
@@ -121,53 +198,76 @@ public class BinaryWavePickingProblem extends AbstractWavePickingProblem<BinaryS
     }
 
 
-    private void feasibilityCorrection(BinarySolution solution) {
+    private void feasibilityCorrection(BinarySolution solution, Workspace workspace, SolverEvents.FeasibilityCorrection event) {
 
-        for (Item item : items) {
-            
-            int itemDemand = totalDemand(getSelectedOrders(solution), List.of(item));
-            if (itemDemand <= 0) continue;
-            int itemCapacity = totalCapacity(getVisitedAisles(solution), List.of(item));
+        BinarySet selectedOrders = solution.getVariable(0);
+        BinarySet visitedAisles = solution.getVariable(1);
+
+        int[] demand = workspace.demand;
+        int[] capacity = workspace.capacity;
+        int[] itemOrders = workspace.itemOrders;
+        accumulate(selectedOrders, csr.orderStart, csr.orderItem, csr.orderQuantity, demand);
+        accumulate(visitedAisles, csr.aisleStart, csr.aisleItem, csr.aisleQuantity, capacity);
+
+        for (int i = 0; i < csr.nItems; i++) {
             
-            List<Integer> itemOrders = item.orders.keySet().stream() // orders that contain item i
-                    .filter(o -> solution.getVariable(0).get(o)) // get only selected orders
-                    .collect(Collectors.toList());
+            int itemDemand = demand[i];
+            if (itemDemand <= 0 || itemDemand <= capacity[i]) continue;
 
-            while (itemDemand > itemCapacity) {
-                // remove random order that contains item i
-                
-                int oToRemove = itemOrders.get(random.nextInt(itemOrders.size()));
-                solution.getVariable(0).set(oToRemove, false);
-                itemOrders.remove(Integer.valueOf(oToRemove));
-                itemDemand -= item.getOrderDemand(oToRemove);
-                // demand -= totalDemand(List.of(oToRemove));
+            // orders that contain item i and are selected
+            int count = 0;
+            for (int k = csr.itemOrderStart[i]; k < csr.itemOrderStart[i + 1]; k++) {
+                if (selectedOrders.get(csr.itemOrder[k])) itemOrders[count++] = k;
+            }
 
+            while (demand[i] > capacity[i]) {
+                // remove random order that contains item i
+                int pick = random.nextInt(count);
+                int oToRemove = csr.itemOrder[itemOrders[pick]];
+                itemOrders[pick] = itemOrders[--count];
+                selectedOrders.clear(oToRemove);
+                for (int k = csr.orderStart[oToRemove]; k < csr.orderStart[oToRemove + 1]; k++) {
+                    demand[csr.orderItem[k]] -= csr.orderQuantity[k];
+                }
+                removedOrdersCount.increment();
+                event.removedOrders++;
             }
         }
-        // while (demand > waveSizeUB) {
-        //     // remove random order
-        //     List<Integer> selectedOrders = getSelectedOrders(solution).stream().collect(Collectors.toList());
-        //     if (selectedOrders.isEmpty()) {
-        //         break;
-        //     }
-        //     int oToRemove = selectedOrders.get(random.nextInt(selectedOrders.size()));
-        //     solution.getVariable(0).set(oToRemove, false);
-        //     demand -= totalDemand(List.of(oToRemove));
-        // }
-
-        // removeUnusedAisles(solution);
-
-        int capacity = totalCapacity(getVisitedAisles(solution));
-        while (capacity < waveSizeLB) {
+
+        int totalCapacity = totalUnits(visitedAisles, csr.aisleUnits);
+        int closedAisles = csr.nAisles - visitedAisles.cardinality();
+        while (totalCapacity < waveSizeLB && closedAisles > 0) {
             // add random aisle
-            int a = random.nextInt(aisles.size());
-            if (!solution.getVariable(1).get(a)) {
-                solution.getVariable(1).set(a, true);
-                capacity += totalCapacity(List.of(a));
+            int a = random.nextInt(csr.nAisles);
+            if (!visitedAisles.get(a)) {
+                visitedAisles.set(a);
+                totalCapacity += csr.aisleUnits[a];
+                closedAisles--;
+                addedAislesCount.increment();
+                event.addedAisles++;
             }
         }
 
-        
+    }
+
+    /*
+     * Fill perItem with the quantities of every item summed over the set rows of bits
+     */
+    private void accumulate(BinarySet bits, int[] start, int[] column, int[] quantity, int[] perItem) {
+        Arrays.fill(perItem, 0);
+        for (int r = bits.nextSetBit(0); r >= 0; r = bits.nextSetBit(r + 1)) {
+            for (int k = start[r]; k < start[r + 1]; k++) {
+                perItem[column[k]] += quantity[k];
+            }
+        }
+    }
+
+    private int totalUnits(BinarySet bits, int[] units) {
+        int total = 0;
+        for (int r = bits.nextSetBit(0); r >= 0; r = bits.nextSetBit(r + 1)) {
+            total += units[r];
+        }
+        return total;
     }
 
     // private void removeUnusedAisles(BinarySolution solution) {
@@ -209,41 +309,6 @@ public class BinaryWavePickingProblem extends AbstractWavePickingProblem<BinaryS
                    .collect(Collectors.toList()); // collect into a List<Integer>
     }
 
-    private int totalCapacity(List<Integer> aislesList, List<Item> itemsList) {
-
-        int totalCapacity = 0;
-
-        for (Item item : itemsList) {
-            for (Map.Entry<Integer, Integer> aisle : item.aisles.entrySet()) {
-                if (aislesList.contains(aisle.getKey())) {
-                    totalCapacity += aisle.getValue();
-                }
-            }
-        }
-
-        return totalCapacity;
-    }
-    private int totalCapacity(List<Integer> aislesList) {
-        return totalCapacity(aislesList, items);
-    }
-
-    private int totalDemand(List<Integer> ordersList, List<Item> itemsList) {
-        int totalDemand = 0;
-
-        for (Item item : itemsList) {
-            for (Map.Entry<Integer, Integer> order : item.orders.entrySet()) {
-                if (ordersList.contains(order.getKey())) {
-                    totalDemand += order.getValue();
-                }
-            }
-        }
-
-        return totalDemand;
-    }
-    private int totalDemand(List<Integer> ordersList) {
-        return totalDemand(ordersList, items);
-    }
-
     // private boolean availableCapacity(List<Integer> ordersList, List<Integer> aislesList) {
         
     //   for (Item item : items) {
@@ -254,5 +319,23 @@ public class BinaryWavePickingProblem extends AbstractWavePickingProblem<BinaryS
     //     return true;
     // }
 
+    /*
+     * Per-thread scratch arrays for evaluate
+     */
+    private static class Workspace {
+        final int[] demand;
+        final int[] capacity;
+        final int[] itemOrders;
+
+        Workspace(CsrInstance csr) {
+            this.demand = new int[csr.nItems];
+            this.capacity = new int[csr.nItems];
+            int maxItemOrders = 0;
+            for (int i = 0; i < csr.nItems; i++) {
+                maxItemOrders = Math.max(maxItemOrders, csr.itemOrderStart[i + 1] - csr.itemOrderStart[i]);
+            }
+            this.itemOrders = new int[maxItemOrders];
+        }
+    }
 
-}
\ No newline at end of file
+}
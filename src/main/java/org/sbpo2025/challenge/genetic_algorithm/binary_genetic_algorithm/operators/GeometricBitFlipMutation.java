@@ -0,0 +1,47 @@
+package org.sbpo2025.challenge.genetic_algorithm.binary_genetic_algorithm.operators;
+
+import java.util.random.RandomGenerator;
+
+import org.sbpo2025.challenge.genetic_algorithm.GeometricSkip;
+import org.uma.jmetal.operator.mutation.MutationOperator;
+import org.uma.jmetal.solution.binarysolution.BinarySolution;
+import org.uma.jmetal.util.binarySet.BinarySet;
+import org.uma.jmetal.util.checking.Check;
+
+/*
+ * Same distribution as jMetal's BitFlipMutation, but samples the flipped
+ * positions by geometric skipping instead of one draw per bit.
+ */
+public class GeometricBitFlipMutation implements MutationOperator<BinarySolution> {
+
+    private double mutationProbability;
+    private RandomGenerator random;
+
+    public GeometricBitFlipMutation(double mutationProbability, RandomGenerator random) {
+        Check.probabilityIsValid(mutationProbability);
+        this.mutationProbability = mutationProbability;
+        this.random = random;
+    }
+
+    @Override
+    public BinarySolution execute(BinarySolution solution) {
+        Check.isNotNull(solution);
+        doMutation(mutationProbability, solution);
+        return solution;
+    }
+
+    public void doMutation(double probability, BinarySolution solution) {
+        for (int v = 0; v < solution.getNumberOfVariables(); v++) {
+            BinarySet bits = solution.getVariable(v);
+            int size = bits.getBinarySetLength();
+            for (int i = GeometricSkip.next(-1, probability, random); i < size; i = GeometricSkip.next(i, probability, random)) {
+                bits.flip(i);
+            }
+        }
+    }
+
+    @Override
+    public double getMutationProbability() {
+        return mutationProbability;
+    }
+}
@@ -2,15 +2,19 @@ package org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm;
 
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.sbpo2025.challenge.ChallengeSolution;
 import org.sbpo2025.challenge.ChallengeSolver;
 import org.sbpo2025.challenge.Item;
+import org.sbpo2025.challenge.SolverLog;
+import org.sbpo2025.challenge.genetic_algorithm.ConvergenceTelemetry;
+import org.sbpo2025.challenge.genetic_algorithm.GeneticAlgorithmCheckpoint;
+import org.sbpo2025.challenge.genetic_algorithm.IncumbentObserver;
+import org.sbpo2025.challenge.genetic_algorithm.SplitMixRandom;
+import org.sbpo2025.challenge.genetic_algorithm.WaveGenerationalGeneticAlgorithm;
+import org.sbpo2025.challenge.genetic_algorithm.WaveGeneticAlgorithm;
+import org.sbpo2025.challenge.genetic_algorithm.WaveSteadyStateGeneticAlgorithm;
 import org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm.operators.*;
-import org.uma.jmetal.algorithm.impl.AbstractGeneticAlgorithm;
-import org.uma.jmetal.algorithm.singleobjective.geneticalgorithm.GenerationalGeneticAlgorithm;
-import org.uma.jmetal.algorithm.singleobjective.geneticalgorithm.SteadyStateGeneticAlgorithm;
 import org.uma.jmetal.operator.crossover.CrossoverOperator;
 import org.uma.jmetal.operator.mutation.MutationOperator;
 import org.uma.jmetal.operator.selection.SelectionOperator;
@@ -20,8 +24,6 @@ import org.uma.jmetal.util.evaluator.impl.SequentialSolutionListEvaluator;
 
 public class GeneticAlgorithmRunner {
 
-    public static boolean SHOW_OUTPUT = false;
-
     public static ChallengeSolution run(ChallengeSolver solver, Map<String, Object> params) {
 
         List<Map<Integer, Integer>> orders = solver.orders;
@@ -37,43 +39,60 @@ public class GeneticAlgorithmRunner {
         int populationSize = (int) params.getOrDefault("populationSize", 100);
         int maxEvaluations = populationSize * (int) params.getOrDefault("generations", 100);
 
-        WavePickingProblem problem = new WavePickingProblem(orders, aisles, items, waveSizeLB, waveSizeUB, randomSeed);
+        WavePickingProblem problem = new WavePickingProblem(orders, aisles, items, solver.csr, waveSizeLB, waveSizeUB, randomSeed);
 
-        if (!(boolean) params.getOrDefault("warmStart", true)) problem.randomStart();
+        @SuppressWarnings("unchecked")
+        List<ChallengeSolution> seedSolutions = (List<ChallengeSolution>) params.getOrDefault("seedSolutions", List.of());
+        problem.setSeedSolutions(seedSolutions);
 
-        if ((boolean) params.getOrDefault("showOutput", false)) {
-            problem.showOutput();
-            SHOW_OUTPUT = true;
-        }
+        if (!(boolean) params.getOrDefault("warmStart", true)) problem.randomStart();
 
         // problem.setWaveSizePenalty((double) params.getOrDefault("waveSizePenalty", 10));        
 
-        CrossoverOperator<WaveSolution> crossover = new WaveUniformCrossover(crossoverProbability, (boolean) params.getOrDefault("ordersUnionCrossover", true), problem.random);
-        MutationOperator<WaveSolution> mutation = new WaveBitFlipMutation(mutationProbability, problem.orders.size(), problem.aisles.size(), problem.random);
+        boolean ordersUnion = (boolean) params.getOrDefault("ordersUnionCrossover", true);
+        SplitMixRandom mutationRandom = new SplitMixRandom(randomSeed);
+        CrossoverOperator<WaveSolution> crossover;
+        MutationOperator<WaveSolution> mutation;
+        if ((boolean) params.getOrDefault("feasibleOperators", false)) { // only add orders the aisles can serve
+            crossover = new FeasibleUniformCrossover(crossoverProbability, ordersUnion, problem.random, solver.csr);
+            mutation = new FeasibleBitFlipMutation(mutationProbability, solver.csr, mutationRandom);
+        } else {
+            crossover = new WaveUniformCrossover(crossoverProbability, ordersUnion, problem.random);
+            mutation = new WaveBitFlipMutation(mutationProbability, problem.orders.size(), problem.aisles.size(), mutationRandom);
+        }
         SelectionOperator<List<WaveSolution>,WaveSolution> selection = new WaveTournamentSelection<>(problem.random);
 
-        AbstractGeneticAlgorithm<WaveSolution, WaveSolution> algorithm = null;
+        WaveGeneticAlgorithm<WaveSolution> algorithm = null;
 
         switch ((String) params.getOrDefault("GAimplementation", "steadyState")) {
             
             case "steadyState":
-                algorithm = new SteadyStateGeneticAlgorithm<>(problem, maxEvaluations, populationSize, crossover, mutation, selection);
+                algorithm = new WaveSteadyStateGeneticAlgorithm<>(problem, maxEvaluations, populationSize, crossover, mutation, selection);
                 break;
 
             case "generational":
                 SolutionListEvaluator<WaveSolution> evaluator = new SequentialSolutionListEvaluator<>();
-                algorithm = new GenerationalGeneticAlgorithm<>(problem, maxEvaluations, populationSize, crossover, mutation, selection, evaluator);
+                algorithm = new WaveGenerationalGeneticAlgorithm<>(problem, maxEvaluations, populationSize, crossover, mutation, selection, evaluator);
                 
                 break;
         }
+
+        byte[] fingerprint = GeneticAlgorithmCheckpoint.fingerprint(orders, aisles, problem.getName(), params.get("instanceHash"), randomSeed, populationSize, maxEvaluations,
+                crossoverProbability, mutation.getMutationProbability(), params.get("GAimplementation"),
+                params.get("ordersUnionCrossover"), params.get("warmStart"), params.get("feasibleOperators"));
+        GeneticAlgorithmCheckpoint.attach(algorithm, problem, params, fingerprint, List.of(problem.random, mutationRandom));
+
+        if (params.containsKey("telemetryFile")) {
+            algorithm.getProgress().addObserver(new ConvergenceTelemetry<>(problem, (String) params.get("telemetryFile")));
+        }
         
+        algorithm.getProgress().addObserver(new IncumbentObserver<>(problem, solver));
+        if (params.containsKey("deadline")) algorithm.getProgress().setDeadline((long) params.get("deadline"));
+
         algorithm.run();
+        SolverLog.debug("%s", problem.repairSummary());
 
-        WaveSolution result = algorithm.getResult();
-        return new ChallengeSolution(
-            result.getOrders().stream().collect(Collectors.toSet()),
-            result.getAisles().stream().collect(Collectors.toSet())
-        ); // return best solution
+        return problem.toChallengeSolution(algorithm.getResult()); // return best solution
 
     }
 
@@ -0,0 +1,104 @@
+package org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.sbpo2025.challenge.ChallengeSolution;
+import org.sbpo2025.challenge.ChallengeSolver;
+import org.sbpo2025.challenge.SolverLog;
+import org.sbpo2025.challenge.genetic_algorithm.ConvergenceTelemetry;
+import org.sbpo2025.challenge.genetic_algorithm.IncumbentObserver;
+import org.sbpo2025.challenge.genetic_algorithm.SplitMixRandom;
+import org.sbpo2025.challenge.genetic_algorithm.WaveNSGAII;
+import org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm.operators.*;
+import org.uma.jmetal.operator.crossover.CrossoverOperator;
+import org.uma.jmetal.operator.mutation.MutationOperator;
+import org.uma.jmetal.operator.selection.SelectionOperator;
+import org.uma.jmetal.util.comparator.RankingAndCrowdingDistanceComparator;
+import org.uma.jmetal.util.evaluator.SolutionListEvaluator;
+import org.uma.jmetal.util.evaluator.impl.MultithreadedSolutionListEvaluator;
+import org.uma.jmetal.util.evaluator.impl.SequentialSolutionListEvaluator;
+
+/*
+ * Bi-objective run (units vs aisles) with NSGA-II and the subset encoding operators.
+ * One run covers every aisle count: the result is the feasible point of the final
+ * front with the best ratio.
+ */
+public class NSGAIIRunner {
+
+    public static ChallengeSolution run(ChallengeSolver solver, Map<String, Object> params) {
+
+        long randomSeed = (long) params.getOrDefault("randomSeed", 1234L);
+        double mutationProbability = (double) params.getOrDefault("mutationProbability", 1.0/(solver.orders.size() + solver.aisles.size()));
+        double crossoverProbability = (double) params.getOrDefault("crossoverProbability", 0.9);
+
+        int populationSize = (int) params.getOrDefault("populationSize", 100);
+        int maxEvaluations = populationSize * (int) params.getOrDefault("generations", 100);
+        int threads = (int) params.getOrDefault("evaluationThreads", Runtime.getRuntime().availableProcessors());
+
+        WaveBiObjectiveProblem problem = new WaveBiObjectiveProblem(solver.orders, solver.aisles, solver.items, solver.csr,
+                solver.waveSizeLB, solver.waveSizeUB, randomSeed);
+
+        @SuppressWarnings("unchecked")
+        List<ChallengeSolution> seedSolutions = (List<ChallengeSolution>) params.getOrDefault("seedSolutions", List.of());
+        problem.setSeedSolutions(seedSolutions);
+
+        if (!(boolean) params.getOrDefault("warmStart", true)) problem.randomStart();
+
+        boolean ordersUnion = (boolean) params.getOrDefault("ordersUnionCrossover", true);
+        CrossoverOperator<WaveSolution> crossover;
+        MutationOperator<WaveSolution> mutation;
+        if ((boolean) params.getOrDefault("feasibleOperators", false)) { // only add orders the aisles can serve
+            crossover = new FeasibleUniformCrossover(crossoverProbability, ordersUnion, problem.random, solver.csr);
+            mutation = new FeasibleBitFlipMutation(mutationProbability, solver.csr, new SplitMixRandom(randomSeed));
+        } else {
+            crossover = new WaveUniformCrossover(crossoverProbability, ordersUnion, problem.random);
+            mutation = new WaveBitFlipMutation(mutationProbability, problem.orders.size(), problem.aisles.size(), new SplitMixRandom(randomSeed));
+        }
+        // binary tournament on rank, then crowding distance (both set by the NSGA-II replacement)
+        SelectionOperator<List<WaveSolution>, WaveSolution> selection = new WaveTournamentSelection<>(problem.random, new RankingAndCrowdingDistanceComparator<>());
+        SolutionListEvaluator<WaveSolution> evaluator = threads > 1
+                ? new MultithreadedSolutionListEvaluator<>(threads) : new SequentialSolutionListEvaluator<>();
+
+        WaveNSGAII<WaveSolution> algorithm = new WaveNSGAII<>(problem, maxEvaluations, populationSize, crossover, mutation, selection, evaluator);
+
+        if (params.containsKey("telemetryFile")) {
+            algorithm.getProgress().addObserver(new ConvergenceTelemetry<>(problem, (String) params.get("telemetryFile")));
+        }
+        algorithm.getProgress().addObserver(new IncumbentObserver<>(problem, solver));
+        if (params.containsKey("deadline")) algorithm.getProgress().setDeadline((long) params.get("deadline"));
+
+        try {
+            algorithm.run();
+        } finally {
+            evaluator.shutdown();
+        }
+        SolverLog.debug("%s", problem.repairSummary());
+
+        List<WaveSolution> front = algorithm.getResult();
+        WaveSolution best = front.stream().filter(problem::isFeasible)
+                .min(Comparator.comparingDouble(problem::fitness)).orElse(null);
+        printFront(problem, front, best);
+
+        return best == null ? null : problem.toChallengeSolution(best);
+    }
+
+    /*
+     * Feasible front as aisles:units pairs, and the point with the best ratio
+     */
+    private static void printFront(WaveBiObjectiveProblem problem, List<WaveSolution> front, WaveSolution best) {
+        Map<Integer, Long> units = new TreeMap<>();
+        for (WaveSolution solution : front) {
+            if (problem.isFeasible(solution)) units.merge((int) solution.getObjective(1), (long) -solution.getObjective(0), Math::max);
+        }
+        StringBuilder line = new StringBuilder("Pareto front (aisles:units):");
+        units.forEach((aisleCount, unitCount) -> line.append(' ').append(aisleCount).append(':').append(unitCount));
+        SolverLog.info("%s", line.toString());
+        if (best != null) {
+            SolverLog.info("Best ratio on the front: %.4f (%d units / %d aisles)",
+                    -problem.fitness(best), (long) -best.getObjective(0), best.getAisles().size());
+        }
+    }
+}
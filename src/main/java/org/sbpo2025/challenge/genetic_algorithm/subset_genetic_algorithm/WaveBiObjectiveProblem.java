@@ -0,0 +1,109 @@
+package org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.sbpo2025.challenge.ChallengeSolution;
+import org.sbpo2025.challenge.CsrInstance;
+import org.sbpo2025.challenge.Item;
+import org.sbpo2025.challenge.SolverEvents;
+
+/*
+ * Bi-objective wave problem for NSGA-II: maximize the units picked and minimize the
+ * visited aisles (objectives -units and aisles, jMetal minimizes). The wave size bounds
+ * are a constraint (negative when violated) instead of a penalty, so the feasible front
+ * holds the best wave found for every aisle count and the best ratio is read from it.
+ *
+ * The repair is the one of WavePickingProblem, with a random seeded from the solution
+ * itself instead of the shared problem random, so batches can be evaluated in parallel
+ * and runs stay reproducible.
+ */
+public class WaveBiObjectiveProblem extends WavePickingProblem {
+
+    public WaveBiObjectiveProblem(List<Map<Integer, Integer>> orders,
+      List<Map<Integer, Integer>> aisles,
+      List<Item> items,
+      CsrInstance csr,
+      int waveSizeLB,
+      int waveSizeUB,
+      long randomSeed
+    ) {
+      super(orders, aisles, items, csr, waveSizeLB, waveSizeUB, randomSeed);
+
+      this.setNumberOfObjectives(2);
+      this.setNumberOfConstraints(1);
+      this.setName("WaveBiObjectiveProblem");
+    }
+
+    @Override
+    public void evaluate(WaveSolution solution) {
+
+        evaluationCount.increment();
+        SolverEvents.FeasibilityCorrection event = new SolverEvents.FeasibilityCorrection();
+        event.begin();
+        Random repairRandom = new Random(31L * solution.getOrders().hashCode() + solution.getAisles().hashCode());
+        feasibilityCorrection(solution, repairRandom, event);
+        event.end();
+        if (event.shouldCommit()) event.commit();
+
+        long units = 0;
+        for (int o : solution.getOrders()) units += csr.orderUnits[o];
+
+        solution.setObjective(0, -units);
+        solution.setObjective(1, solution.getAisles().size());
+        solution.setConstraint(0, -violation(units));
+    }
+
+    private long violation(long units) {
+        if (units < waveSizeLB) return waveSizeLB - units;
+        if (units > waveSizeUB) return units - waveSizeUB;
+        return 0;
+    }
+
+    /*
+     * Ratio with the penalty of the single-objective problem, so that the incumbent and the
+     * telemetry rank these solutions the same way
+     */
+    @Override
+    public double fitness(WaveSolution solution) {
+        double units = -solution.getObjective(0);
+        double aisleCount = solution.getObjective(1);
+        double ratio = aisleCount > 0 ? units / aisleCount : 0;
+        return -(ratio + waveSizePenalty * solution.getConstraint(0));
+    }
+
+    @Override
+    public boolean isFeasible(WaveSolution solution) {
+        return solution.getConstraint(0) >= 0 && !solution.getAisles().isEmpty();
+    }
+
+    // solutions of this problem carry two objectives and one constraint
+
+    private static WaveSolution biObjective(WaveSolution solution) {
+        return new WaveSolution(solution.getOrders(), solution.getAisles(), 2, 1);
+    }
+
+    @Override
+    public WaveSolution createSolution() {
+        return biObjective(super.createSolution());
+    }
+
+    @Override
+    protected List<WaveSolution> createSolutions(int count) {
+        return super.createSolutions(count).stream().map(WaveBiObjectiveProblem::biObjective).collect(Collectors.toList());
+    }
+
+    @Override
+    public WaveSolution fromChallengeSolution(ChallengeSolution solution) {
+        return biObjective(super.fromChallengeSolution(solution));
+    }
+
+    @Override
+    public WaveSolution readVariables(DataInput in) throws IOException {
+        return biObjective(super.readVariables(in));
+    }
+}
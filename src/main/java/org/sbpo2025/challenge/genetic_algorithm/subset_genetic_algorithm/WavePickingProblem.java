@@ -1,22 +1,34 @@
 package org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 
+import org.sbpo2025.challenge.ChallengeSolution;
+import org.sbpo2025.challenge.CsrInstance;
 import org.sbpo2025.challenge.Item;
+import org.sbpo2025.challenge.SolverEvents;
+import org.sbpo2025.challenge.SolverLog;
 import org.sbpo2025.challenge.genetic_algorithm.AbstractWavePickingProblem;
 
 public class WavePickingProblem extends AbstractWavePickingProblem<WaveSolution> {
 
-    protected boolean showOutput;
     protected boolean warmStart;
 
     protected double waveSizePenalty;
 
+    protected final CsrInstance csr;
+    private final ThreadLocal<InitWorkspace> initWorkspaces;
+
     public WavePickingProblem(List<Map<Integer, Integer>> orders,
       List<Map<Integer, Integer>> aisles,
       List<Item> items,
@@ -24,11 +36,24 @@ public class WavePickingProblem extends AbstractWavePickingProblem<WaveSolution>
       int waveSizeUB,
       long randomSeed
     ) {
+      this(orders, aisles, items, new CsrInstance(orders, aisles, items.size()), waveSizeLB, waveSizeUB, randomSeed);
+    }
+
+    public WavePickingProblem(List<Map<Integer, Integer>> orders,
+      List<Map<Integer, Integer>> aisles,
+      List<Item> items,
+      CsrInstance csr,
+      int waveSizeLB,
+      int waveSizeUB,
+      long randomSeed
+    ) {
         
       super(orders, aisles, items, waveSizeLB, waveSizeUB, randomSeed);
+
+      this.csr = csr;
+      this.initWorkspaces = ThreadLocal.withInitial(() -> new InitWorkspace(csr));
       
       this.waveSizePenalty = orders.size() - waveSizeLB/aisles.size(); // default penalty
-      this.showOutput = false;
       this.warmStart = true;
 
       this.setNumberOfVariables(2);
@@ -42,10 +67,6 @@ public class WavePickingProblem extends AbstractWavePickingProblem<WaveSolution>
         this.waveSizePenalty = penalty;
     }
 
-    public void showOutput() {
-        this.showOutput = true;
-    }
-
     public void randomStart() {
         this.warmStart = false;
     }
@@ -54,46 +75,132 @@ public class WavePickingProblem extends AbstractWavePickingProblem<WaveSolution>
     @Override
     public void evaluate(WaveSolution solution) {
         
-        feasibilityCorrection(solution);
+        evaluationCount.increment();
+        SolverEvents.FeasibilityCorrection event = new SolverEvents.FeasibilityCorrection();
+        event.begin();
+        feasibilityCorrection(solution, random, event);
+        event.end();
+        if (event.shouldCommit()) event.commit();
 
         // Objective function: total units picked / number of visited aisles
         double objectiveValue = computeObjectiveValue(solution);
         int penalization = waveSizePenalization(solution);
         solution.setObjective(0, -(objectiveValue - waveSizePenalty*(double)penalization));
         
-        if (showOutput) System.out.println(String.format("""
+        if (SolverLog.isEnabled(SolverLog.Level.DEBUG) && evaluationSampler.sample()) SolverLog.debug("""
             Evaluated solution with objective value: %f %s
                 fitness: %f""",
             objectiveValue, 
-            penalization != 0 ? String.format("and penalization: %d",penalization) : "",
-            solution.getObjective(0)));
+            penalization != 0 ? "and penalization: " + penalization : "",
+            solution.getObjective(0));
+    }
+
+    @Override
+    public boolean isFeasible(WaveSolution solution) {
+        if (solution.getAisles().isEmpty()) return false;
+        long units = 0;
+        for (int o : solution.getOrders()) units += csr.orderUnits[o];
+        return units >= waveSizeLB && units <= waveSizeUB;
     }
 
     @Override
     public WaveSolution createSolution() {
+        return createSolution(new SplittableRandom(random.nextLong()), initWorkspaces.get());
+    }
+
+    /*
+     * Initial population built in parallel: one seed per individual is drawn up front
+     * from the problem random, and each worker uses its own stock buffer, so the
+     * population only depends on the seed and not on thread scheduling.
+     */
+    @Override
+    protected List<WaveSolution> createSolutions(int count) {
+
+        long[] seeds = new long[count];
+        for (int i = 0; i < count; i++) {
+            seeds[i] = random.nextLong();
+        }
+
+        return IntStream.range(0, count).parallel()
+                .mapToObj(i -> createSolution(new SplittableRandom(seeds[i]), initWorkspaces.get()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public WaveSolution fromChallengeSolution(ChallengeSolution solution) {
+        return new WaveSolution(new ArrayList<>(solution.orders()), new ArrayList<>(solution.aisles()));
+    }
+
+    @Override
+    public ChallengeSolution toChallengeSolution(WaveSolution solution) {
+        return new ChallengeSolution(new HashSet<>(solution.getOrders()), new HashSet<>(solution.getAisles()));
+    }
+
+    @Override
+    public void writeVariables(WaveSolution solution, DataOutput out) throws IOException {
+        // list order is kept: operators iterate and draw from these lists
+        for (List<Integer> variable : List.of(solution.getOrders(), solution.getAisles())) {
+            out.writeInt(variable.size());
+            for (int id : variable) out.writeInt(id);
+        }
+    }
+
+    @Override
+    public WaveSolution readVariables(DataInput in) throws IOException {
+        List<Integer> selectedOrders = readIds(in);
+        List<Integer> selectedAisles = readIds(in);
+        return new WaveSolution(selectedOrders, selectedAisles);
+    }
 
-        List<Integer> selectedAisles = getRandomSubset(IntStream.range(0, aisles.size()).boxed().collect(Collectors.toList()));
+    private static List<Integer> readIds(DataInput in) throws IOException {
+        int size = in.readInt();
+        List<Integer> ids = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) ids.add(in.readInt());
+        return ids;
+    }
+
+    private WaveSolution createSolution(SplittableRandom rng, InitWorkspace workspace) {
+        SolverEvents.CreateSolution event = new SolverEvents.CreateSolution();
+        event.begin();
+        WaveSolution solution = buildSolution(rng, workspace);
+        event.end();
+        if (event.shouldCommit()) {
+            event.orders = solution.getOrders().size();
+            event.aisles = solution.getAisles().size();
+            event.commit();
+        }
+        return solution;
+    }
+
+    private WaveSolution buildSolution(SplittableRandom rng, InitWorkspace workspace) {
+
+        List<Integer> selectedAisles = getRandomSubset(csr.nAisles, workspace.aislePermutation, rng);
 
         if (!warmStart) { // totally random solution
-            return new WaveSolution(getRandomSubset(IntStream.range(0, orders.size()).boxed().collect(Collectors.toList())), selectedAisles);
+            return new WaveSolution(getRandomSubset(csr.nOrders, workspace.orderPermutation, rng), selectedAisles);
         }
 
-        // set items total stock
-        for (Item item : items) {
-            item.resetStock();
-            for (Map.Entry<Integer, Integer> aisle : item.aisles.entrySet()) { // for order with this item
-                if (selectedAisles.contains(aisle.getKey())) {
-                    item.addStock(aisle.getValue()); // Add stock from selected aisles
-                }
+        // set items total stock from the selected aisles
+        int[] stock = workspace.stock;
+        Arrays.fill(stock, 0);
+        for (int a : selectedAisles) {
+            for (int k = csr.aisleStart[a]; k < csr.aisleStart[a + 1]; k++) {
+                stock[csr.aisleItem[k]] += csr.aisleQuantity[k];
             }
         }
 
-        List<Integer> selectedOrders = selectRandomOrders();
+        List<Integer> selectedOrders = selectRandomOrders(stock, rng, workspace);
 
         return new WaveSolution(selectedOrders, selectedAisles);
 
     }
 
+    @Override
+    public void countGenes(WaveSolution solution, int[] orderCounts, int[] aisleCounts) {
+        for (int o : solution.getOrders()) orderCounts[o]++;
+        for (int a : solution.getAisles()) aisleCounts[a]++;
+    }
+
     private double computeObjectiveValue(WaveSolution solution) {
         
         List<Integer> selectedOrders = solution.getOrders();
@@ -133,7 +240,7 @@ public class WavePickingProblem extends AbstractWavePickingProblem<WaveSolution>
     }
 
     
-    private void feasibilityCorrection(WaveSolution solution) {
+    protected void feasibilityCorrection(WaveSolution solution, Random random, SolverEvents.FeasibilityCorrection event) {
         
         for (Item item : items) {
             
@@ -151,6 +258,8 @@ public class WavePickingProblem extends AbstractWavePickingProblem<WaveSolution>
                 solution.removeOrder(oToRemove);
                 itemOrders.remove(Integer.valueOf(oToRemove));
                 itemDemand -= item.getOrderDemand(oToRemove);
+                removedOrdersCount.increment();
+                event.removedOrders++;
             }
         }
         // while (demand > waveSizeUB) {
@@ -173,6 +282,8 @@ public class WavePickingProblem extends AbstractWavePickingProblem<WaveSolution>
             if (!solution.getAisles().contains(a)) {
                 solution.addAisle(a);
                 capacity += totalCapacity(List.of(a));
+                addedAislesCount.increment();
+                event.addedAisles++;
             }
         }
         
@@ -247,50 +358,69 @@ public class WavePickingProblem extends AbstractWavePickingProblem<WaveSolution>
     //     return true;
     // }
 
-    private List<Integer> getRandomSubset(List<Integer> set) {
+    /*
+     * Uniform random non-empty subset of {0, ..., n-1} (partial Fisher-Yates shuffle)
+     */
+    private List<Integer> getRandomSubset(int n, int[] permutation, SplittableRandom rng) {
         
-        if (set.isEmpty()) {
-            return Collections.emptyList();
+        if (n == 0) {
+            return new ArrayList<>();
         }
 
-        List<Integer> subset = new ArrayList<>(set); // copy the original set
-        Collections.shuffle(subset, random);  // shuffle the copy
+        for (int i = 0; i < n; i++) permutation[i] = i;
+
+        int count = rng.nextInt(n) + 1; // at least one element
+        List<Integer> subset = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int j = i + rng.nextInt(n - i);
+            int tmp = permutation[i]; permutation[i] = permutation[j]; permutation[j] = tmp;
+            subset.add(permutation[i]);
+        }
+        return subset;
+    }
 
-        int ordersCount = random.nextInt(set.size()) + 1; // at least one element
-        return new ArrayList<>(subset.subList(0, ordersCount));  // return the first 'ordersCount' elements
+    private static void shuffle(int[] values, int length, SplittableRandom rng) {
+        for (int i = length - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            int tmp = values[i]; values[i] = values[j]; values[j] = tmp;
+        }
     }
 
 
-    public List<Integer> selectRandomOrders() {
+    private List<Integer> selectRandomOrders(int[] stock, SplittableRandom rng, InitWorkspace workspace) {
 
         List<Integer> selectedOrders = new ArrayList<>();
+        boolean[] selected = workspace.selected;
+
+        int[] shuffledItems = workspace.itemPermutation;
+        for (int i = 0; i < csr.nItems; i++) shuffledItems[i] = i;
+        shuffle(shuffledItems, csr.nItems, rng);
 
-        List<Item> shuffledItems = new ArrayList<>(items);
-        Collections.shuffle(shuffledItems, random);
+        int[] shuffledItemOrders = workspace.itemOrders;
 
-        for (Item item : shuffledItems) { // for item
+        for (int item : shuffledItems) { // for item
 
-            List<Map.Entry<Integer, Integer>> shuffledItemOrders = new ArrayList<>(item.orders.entrySet());
-            Collections.shuffle(shuffledItemOrders, random); // shuffle orders with this item
+            int from = csr.itemOrderStart[item];
+            int count = csr.itemOrderStart[item + 1] - from;
+            for (int k = 0; k < count; k++) shuffledItemOrders[k] = from + k;
+            shuffle(shuffledItemOrders, count, rng); // shuffle orders with this item
 
-            for (Map.Entry<Integer, Integer> order : shuffledItemOrders) { // for order with this item
+            for (int k = 0; k < count; k++) { // for order with this item
+
+                int entry = shuffledItemOrders[k];
 
                 // Check if the order can be fulfilled
 
                 // 1. check only "item"
-                if (item.stock < order.getValue()) continue;  // skip this order
+                if (stock[item] < csr.itemOrderQuantity[entry]) continue;  // skip this order
 
-                int orderId = order.getKey();
-                if (selectedOrders.contains(orderId)) continue; // skip if already selected
+                int orderId = csr.itemOrder[entry];
+                if (selected[orderId]) continue; // skip if already selected
                 
                 // 2. check all items required in the order
                 boolean enoughStock = true;
-                for (Map.Entry<Integer, Integer> entry : orders.get(orderId).entrySet()) {
-
-                    Item itemNeeded = items.get(entry.getKey());
-                    int itemQuantity = entry.getValue();
-
-                    if (itemNeeded.stock < itemQuantity) {
+                for (int j = csr.orderStart[orderId]; j < csr.orderStart[orderId + 1]; j++) {
+                    if (stock[csr.orderItem[j]] < csr.orderQuantity[j]) {
                         enoughStock = false; // Not enough stock for item found
                         break;
                     }
@@ -298,21 +428,45 @@ public class WavePickingProblem extends AbstractWavePickingProblem<WaveSolution>
                 
                 if (!enoughStock) continue;  // skip this order
 
+                selected[orderId] = true;
                 selectedOrders.add(orderId);
 
                 // update stock
-                for (Map.Entry<Integer, Integer> entry : orders.get(orderId).entrySet()) { // for item in order
-                    Item itemNeeded = items.get(entry.getKey());
-                    int itemQuantity = entry.getValue();
-                    
-                    itemNeeded.removeStock(itemQuantity);
+                for (int j = csr.orderStart[orderId]; j < csr.orderStart[orderId + 1]; j++) { // for item in order
+                    stock[csr.orderItem[j]] -= csr.orderQuantity[j];
                 }
 
             }
         }
 
+        for (int o : selectedOrders) selected[o] = false; // reset workspace
+
         return selectedOrders;
     }
 
+    /*
+     * Per-thread buffers for solution creation
+     */
+    private static class InitWorkspace {
+        final int[] stock;
+        final boolean[] selected;
+        final int[] itemPermutation;
+        final int[] itemOrders;
+        final int[] aislePermutation;
+        final int[] orderPermutation;
+
+        InitWorkspace(CsrInstance csr) {
+            this.stock = new int[csr.nItems];
+            this.selected = new boolean[csr.nOrders];
+            this.itemPermutation = new int[csr.nItems];
+            int maxItemOrders = 0;
+            for (int i = 0; i < csr.nItems; i++) {
+                maxItemOrders = Math.max(maxItemOrders, csr.itemOrderStart[i + 1] - csr.itemOrderStart[i]);
+            }
+            this.itemOrders = new int[maxItemOrders];
+            this.aislePermutation = new int[csr.nAisles];
+            this.orderPermutation = new int[csr.nOrders];
+        }
+    }
 
 }
\ No newline at end of file
@@ -9,14 +9,19 @@ import org.uma.jmetal.solution.AbstractSolution;
 public class WaveSolution extends AbstractSolution<List<Integer>> {
   
   public WaveSolution(List<Integer> orders, List<Integer> aisles) {
-    super(2,1,0);
+    this(orders, aisles, 1, 0);
+  }
+
+  public WaveSolution(List<Integer> orders, List<Integer> aisles, int numberOfObjectives, int numberOfConstraints) {
+    super(2, numberOfObjectives, numberOfConstraints);
     this.setVariable(0, orders);
     this.setVariable(1, aisles);
   }
 
   @Override
   public WaveSolution copy() {
-    return new WaveSolution(new ArrayList<>(this.getVariable(0)), new ArrayList<>(this.getVariable(1)));
+    return new WaveSolution(new ArrayList<>(this.getVariable(0)), new ArrayList<>(this.getVariable(1)),
+        getNumberOfObjectives(), getNumberOfConstraints());
   }
 
   @Override
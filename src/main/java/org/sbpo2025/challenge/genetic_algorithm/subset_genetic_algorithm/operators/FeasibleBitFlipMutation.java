@@ -0,0 +1,93 @@
+package org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm.operators;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+import org.sbpo2025.challenge.CsrInstance;
+import org.sbpo2025.challenge.genetic_algorithm.GeometricSkip;
+import org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm.WaveSolution;
+import org.uma.jmetal.operator.mutation.MutationOperator;
+import org.uma.jmetal.util.checking.Check;
+
+/*
+ * WaveBitFlipMutation with the same flip positions, where a flip that would break the
+ * solution is redirected: an order is only added if it fits in the per-item capacity left
+ * by the selected orders, and an aisle is only dropped if no selected order depends on it;
+ * otherwise an idle aisle of the solution (if any) is dropped instead.
+ */
+public class FeasibleBitFlipMutation implements MutationOperator<WaveSolution> {
+
+    private double mutationProbability;
+    private RandomGenerator random;
+    private int totalOrdersNumber;
+    private int totalAislesNumber;
+    private CsrInstance csr;
+
+    public FeasibleBitFlipMutation(double mutationProbability, CsrInstance csr, RandomGenerator random) {
+        this.random = random;
+        this.csr = csr;
+        this.totalOrdersNumber = csr.nOrders;
+        this.totalAislesNumber = csr.nAisles;
+        this.mutationProbability = mutationProbability == -1 ? 1.0 / (totalOrdersNumber + totalAislesNumber) : mutationProbability;
+        // -1: set default value
+    }
+
+    @Override
+    public WaveSolution execute(WaveSolution solution) {
+        Check.isNotNull(solution);
+        doMutation(mutationProbability, solution);
+        return solution;
+    }
+
+    public void doMutation(double probability, WaveSolution solution) {
+
+        int totalBits = totalOrdersNumber + totalAislesNumber;
+        int i = GeometricSkip.next(-1, probability, random);
+        if (i >= totalBits) return; // nothing to flip, skip building the load
+
+        WaveLoad load = new WaveLoad(csr, solution);
+        for (; i < totalBits; i = GeometricSkip.next(i, probability, random)) {
+            if (i < totalOrdersNumber) {
+                if (solution.getOrders().contains(i)) {
+                    solution.removeOrder(i);
+                    load.removeOrder(i);
+                } else if (load.fits(i)) {
+                    solution.addOrder(i);
+                    load.addOrder(i);
+                }
+            } else {
+                int a = i - totalOrdersNumber;
+                if (!solution.getAisles().contains(a)) {
+                    solution.addAisle(a);
+                    load.openAisle(a);
+                    continue;
+                }
+                int drop = load.isIdle(a) ? a : idleAisle(solution.getAisles(), load);
+                if (drop >= 0) {
+                    solution.removeAisle(drop);
+                    load.closeAisle(drop);
+                }
+            }
+        }
+    }
+
+    /*
+     * Aisle of the list that no selected order depends on, scanned from a random start (-1 if none)
+     */
+    private int idleAisle(List<Integer> aisles, WaveLoad load) {
+        int n = aisles.size();
+        if (n == 0) return -1;
+        int offset = random.nextInt(n);
+        for (int j = 0; j < n; j++) {
+            int a = aisles.get((offset + j) % n);
+            if (load.isIdle(a)) return a;
+        }
+        return -1;
+    }
+
+    @Override
+    public double getMutationProbability() {
+        return mutationProbability;
+    }
+
+}
@@ -0,0 +1,65 @@
+package org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm.operators;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.sbpo2025.challenge.CsrInstance;
+import org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm.WaveSolution;
+
+/*
+ * WaveUniformCrossover that only gives a child the orders its aisles can serve: aisles are
+ * exchanged first, then an order from the other parent is added (orders union) or moved
+ * (order swap) only if it fits in the per-item capacity the child has left. Aisles are still
+ * exchanged freely (keeping the aisles a child depends on removes the repair entirely, but
+ * lets the aisle counts grow and gave worse waves), so the repair handles the child's own
+ * orders that its new aisles cannot serve.
+ */
+public class FeasibleUniformCrossover extends WaveUniformCrossover {
+
+    private final CsrInstance csr;
+
+    public FeasibleUniformCrossover(double crossoverProbability, boolean ordersUnionCrossover, Random random, CsrInstance csr) {
+        super(crossoverProbability, ordersUnionCrossover, random);
+        this.csr = csr;
+    }
+
+    @Override
+    protected List<WaveSolution> doCrossover(List<WaveSolution> parents) {
+        List<WaveSolution> offspring = new ArrayList<>(2);
+        offspring.add(parents.get(0).copy());
+        offspring.add(parents.get(1).copy());
+        if (random.nextDouble() < getCrossoverProbability()) {
+            swapAisles(parents, offspring); // aisles first: they decide which orders fit
+            swapOrders(parents, offspring);
+        }
+        return offspring;
+    }
+
+    @Override
+    protected void swapOrders(List<WaveSolution> parents, List<WaveSolution> offspring) {
+        List<WaveLoad> loads = List.of(new WaveLoad(csr, offspring.get(0)), new WaveLoad(csr, offspring.get(1)));
+        for (int k = 0; k < 2; k++) {
+            for (int orderId : parents.get(k).getOrders()) {
+                if (parents.get(1-k).getOrders().contains(orderId) || random.nextDouble() >= 0.5) continue;
+                if (offspring.get(1-k).getOrders().contains(orderId) || !loads.get(1-k).fits(orderId)) continue;
+                offspring.get(k).removeOrder(orderId);
+                loads.get(k).removeOrder(orderId);
+                offspring.get(1-k).addOrder(orderId);
+                loads.get(1-k).addOrder(orderId);
+            }
+        }
+    }
+
+    @Override
+    protected void computeOrdersUnion(List<WaveSolution> parents, List<WaveSolution> offspring) {
+        for (int k = 0; k < 2; k++) {
+            WaveLoad load = new WaveLoad(csr, offspring.get(k));
+            for (int orderId : parents.get(1-k).getOrders()) {
+                if (offspring.get(k).getOrders().contains(orderId) || !load.fits(orderId)) continue;
+                offspring.get(k).addOrder(orderId);
+                load.addOrder(orderId);
+            }
+        }
+    }
+}
@@ -1,7 +1,8 @@
 package org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm.operators;
 
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
+import org.sbpo2025.challenge.genetic_algorithm.GeometricSkip;
 import org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm.WaveSolution;
 import org.uma.jmetal.operator.mutation.MutationOperator;
 import org.uma.jmetal.util.checking.Check;
@@ -9,11 +10,11 @@ import org.uma.jmetal.util.checking.Check;
 public class WaveBitFlipMutation implements MutationOperator<WaveSolution> {
         
     private double mutationProbability;
-    private Random random;
+    private RandomGenerator random;
     private int totalOrdersNumber;
     private int totalAislesNumber;
     
-    public WaveBitFlipMutation(double mutationProbability, int totalOrdersNumber, int totalAislesNumber, Random random) {
+    public WaveBitFlipMutation(double mutationProbability, int totalOrdersNumber, int totalAislesNumber, RandomGenerator random) {
         this.random = random;
         this.totalOrdersNumber = totalOrdersNumber;
         this.totalAislesNumber = totalAislesNumber;
@@ -29,24 +30,25 @@ public class WaveBitFlipMutation implements MutationOperator<WaveSolution> {
     }
 
     public void doMutation(double probability, WaveSolution solution) {
-        
-        for (int i = 0; i < totalOrdersNumber; i++) {
-            if (random.nextDouble() < probability) {
+
+        // bits [0, totalOrdersNumber) are orders, the rest are aisles
+        int totalBits = totalOrdersNumber + totalAislesNumber;
+
+        for (int i = GeometricSkip.next(-1, probability, random); i < totalBits; i = GeometricSkip.next(i, probability, random)) {
+            if (i < totalOrdersNumber) {
                 // flip order bit
                 if (solution.getOrders().contains(i)) {
                     solution.removeOrder(i);
                 } else {
                     solution.addOrder(i);
                 }
-            }
-        }
-        for (int i = 0; i < totalAislesNumber; i++) {
-            if (random.nextDouble() < probability) {
+            } else {
                 // flip aisle bit
-                if (solution.getAisles().contains(i)) {
-                    solution.removeAisle(i);
+                int a = i - totalOrdersNumber;
+                if (solution.getAisles().contains(a)) {
+                    solution.removeAisle(a);
                 } else {
-                    solution.addAisle(i);
+                    solution.addAisle(a);
                 }
             }
         }
@@ -58,4 +60,3 @@ public class WaveBitFlipMutation implements MutationOperator<WaveSolution> {
     }
 
 }
-
@@ -0,0 +1,61 @@
+package org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm.operators;
+
+import org.sbpo2025.challenge.CsrInstance;
+import org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm.WaveSolution;
+
+/*
+ * Per-item capacity of the aisles and demand of the orders of a solution, kept up to date
+ * by the feasibility-aware operators while they change it
+ */
+class WaveLoad {
+
+    private final CsrInstance csr;
+    private final int[] capacity;
+    private final int[] used;
+
+    WaveLoad(CsrInstance csr, WaveSolution solution) {
+        this.csr = csr;
+        this.capacity = new int[csr.nItems];
+        this.used = new int[csr.nItems];
+        for (int a : solution.getAisles()) openAisle(a);
+        for (int o : solution.getOrders()) addOrder(o);
+    }
+
+    /*
+     * The order fits in the capacity left by the selected orders
+     */
+    boolean fits(int o) {
+        for (int k = csr.orderStart[o]; k < csr.orderStart[o + 1]; k++) {
+            int item = csr.orderItem[k];
+            if (used[item] + csr.orderQuantity[k] > capacity[item]) return false;
+        }
+        return true;
+    }
+
+    /*
+     * No selected order depends on the aisle: the others still hold the demand of its items
+     */
+    boolean isIdle(int a) {
+        for (int k = csr.aisleStart[a]; k < csr.aisleStart[a + 1]; k++) {
+            int item = csr.aisleItem[k];
+            if (capacity[item] - csr.aisleQuantity[k] < used[item]) return false;
+        }
+        return true;
+    }
+
+    void addOrder(int o) {
+        for (int k = csr.orderStart[o]; k < csr.orderStart[o + 1]; k++) used[csr.orderItem[k]] += csr.orderQuantity[k];
+    }
+
+    void removeOrder(int o) {
+        for (int k = csr.orderStart[o]; k < csr.orderStart[o + 1]; k++) used[csr.orderItem[k]] -= csr.orderQuantity[k];
+    }
+
+    void openAisle(int a) {
+        for (int k = csr.aisleStart[a]; k < csr.aisleStart[a + 1]; k++) capacity[csr.aisleItem[k]] += csr.aisleQuantity[k];
+    }
+
+    void closeAisle(int a) {
+        for (int k = csr.aisleStart[a]; k < csr.aisleStart[a + 1]; k++) capacity[csr.aisleItem[k]] -= csr.aisleQuantity[k];
+    }
+}
@@ -1,5 +1,6 @@
 package org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm.operators;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.Random;
 
@@ -11,9 +12,15 @@ import org.uma.jmetal.util.checking.Check;
 public class WaveTournamentSelection<S extends Solution<?>> implements SelectionOperator<List<S>, S> {
     
     private Random random;
+    private Comparator<S> comparator; // better first
 
     public WaveTournamentSelection(Random random) {
+        this(random, Comparator.comparingDouble(solution -> solution.getObjective(0)));
+    }
+
+    public WaveTournamentSelection(Random random, Comparator<S> comparator) {
         this.random = random;
+        this.comparator = comparator;
     }
 
     @Override
@@ -25,9 +32,9 @@ public class WaveTournamentSelection<S extends Solution<?>> implements Selection
         if (solutionList.size() == 1) {
             result = solutionList.get(0);
         } else {
-            List<S> candidates = SolutionListUtils.selectNRandomDifferentSolutions(2, solutionList, (low, up) -> random.nextInt(low, up));
+            List<S> candidates = SolutionListUtils.selectNRandomDifferentSolutions(2, solutionList, (low, up) -> random.nextInt(low, up + 1)); // jMetal bounds are inclusive
 
-            if (candidates.get(0).getObjective(0) < candidates.get(1).getObjective(0)) {
+            if (comparator.compare(candidates.get(0), candidates.get(1)) < 0) {
                 result = candidates.get(0);
             } else {
                 result = candidates.get(1);
@@ -13,7 +13,7 @@ import org.uma.jmetal.util.checking.Check;
 public class WaveUniformCrossover implements CrossoverOperator<WaveSolution> {
         
     private double crossoverProbability;
-    private Random random;
+    protected Random random;
     private boolean ordersUnionCrossover;
     
     public WaveUniformCrossover(double crossoverProbability, boolean ordersUnionCrossover, Random random) {
@@ -34,7 +34,7 @@ public class WaveUniformCrossover implements CrossoverOperator<WaveSolution> {
             return doCrossover(parents);
         }
     }
-    private List<WaveSolution> doCrossover(List<WaveSolution> parents) {
+    protected List<WaveSolution> doCrossover(List<WaveSolution> parents) {
         
         List<WaveSolution> offspring = new ArrayList<>(2);
         offspring.add(parents.get(0).copy());
@@ -47,7 +47,7 @@ public class WaveUniformCrossover implements CrossoverOperator<WaveSolution> {
         }
         return offspring;
     }
-    private List<WaveSolution> doOrdersUnionCrossover(List<WaveSolution> parents) {
+    protected List<WaveSolution> doOrdersUnionCrossover(List<WaveSolution> parents) {
         List<WaveSolution> offspring = new ArrayList<>(2);
         offspring.add(parents.get(0).copy());
         offspring.add(parents.get(1).copy());
@@ -60,7 +60,7 @@ public class WaveUniformCrossover implements CrossoverOperator<WaveSolution> {
         }
         return offspring;
     }
-    private void swapAisles(List<WaveSolution> parents, List<WaveSolution> offspring) {
+    protected void swapAisles(List<WaveSolution> parents, List<WaveSolution> offspring) {
         for (int k = 0; k < 2; k++) { // for each parent
             for (int i = 0; i < parents.get(k).getAisles().size(); i++) { // for each aisle in parent k
                 int aisleId = parents.get(k).getAisles().get(i);
@@ -75,7 +75,7 @@ public class WaveUniformCrossover implements CrossoverOperator<WaveSolution> {
             }
         }
     }
-    private void swapOrders(List<WaveSolution> parents, List<WaveSolution> offspring) {
+    protected void swapOrders(List<WaveSolution> parents, List<WaveSolution> offspring) {
         for (int k = 0; k < 2; k++) { // for each parent
             for (int i = 0; i < parents.get(k).getOrders().size(); i++) { // for each aisle in parent k
                 int orderId = parents.get(k).getOrders().get(i);
@@ -90,7 +90,7 @@ public class WaveUniformCrossover implements CrossoverOperator<WaveSolution> {
             }
         }
     }
-    private void computeOrdersUnion(List<WaveSolution> parents, List<WaveSolution> offspring) {
+    protected void computeOrdersUnion(List<WaveSolution> parents, List<WaveSolution> offspring) {
         for (int k = 0; k < 2; k++) { // for each parent
             for (int i = 0; i < parents.get(1-k).getOrders().size(); i++) { // for each order in parent 1-k
                 int orderId = parents.get(1-k).getOrders().get(i);
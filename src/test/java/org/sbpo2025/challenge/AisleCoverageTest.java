@@ -0,0 +1,94 @@
+package org.sbpo2025.challenge;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.sbpo2025.challenge.TestInstances.items;
+
+class AisleCoverageTest {
+
+    @Test
+    void coverageOnSmallInstance() {
+        List<Map<Integer, Integer>> orders = List.of(items(0, 2), items(0, 1, 1, 1), items(1, 3));
+        List<Map<Integer, Integer>> aisles = List.of(items(0, 1, 1, 1), items(0, 1, 1, 2));
+        AisleCoverage coverage = new AisleCoverage(new CsrInstance(orders, aisles, 2));
+
+        coverage.addAisle(0);
+        assertEquals(coverage(1), coverage.getCovered());
+        assertEquals(1, coverage.getChangedCount());
+
+        coverage.addAisle(1); // item 0: 2, item 1: 3
+        assertEquals(coverage(0, 1, 2), coverage.getCovered());
+        assertEquals(2, coverage.getChangedCount());
+
+        coverage.removeAisle(0); // item 0: 1, item 1: 2
+        assertEquals(coverage(1), coverage.getCovered());
+        assertEquals(2, coverage.getChangedCount());
+        assertFalse(coverage.isOpen(0));
+        assertTrue(coverage.isOpen(1));
+        assertEquals(1, coverage.getCapacity(0));
+
+        coverage.removeAisle(0); // already closed
+        assertEquals(0, coverage.getChangedCount());
+        coverage.clear();
+        assertEquals(0, coverage.getCoveredCount());
+    }
+
+    @Test
+    void incrementalCoverageMatchesBruteForce() {
+        for (long seed = 1; seed <= 100; seed++) {
+            Random random = new Random(seed);
+            int nItems = 1 + random.nextInt(8);
+            List<Map<Integer, Integer>> orders = TestInstances.randomRows(random, 1 + random.nextInt(30), nItems, 3, 5);
+            List<Map<Integer, Integer>> aisles = TestInstances.randomRows(random, 1 + random.nextInt(10), nItems, 4, 4);
+            AisleCoverage coverage = new AisleCoverage(new CsrInstance(orders, aisles, nItems)).copy();
+            BitSet open = new BitSet();
+
+            for (int step = 0; step < 60; step++) {
+                int aisle = random.nextInt(aisles.size());
+                BitSet before = (BitSet) coverage.getCovered().clone();
+                if (random.nextBoolean()) {
+                    coverage.addAisle(aisle);
+                    open.set(aisle);
+                } else {
+                    coverage.removeAisle(aisle);
+                    open.clear(aisle);
+                }
+
+                BitSet expected = bruteForce(orders, aisles, nItems, open);
+                assertEquals(expected, coverage.getCovered(), "seed " + seed + " step " + step);
+
+                BitSet changed = new BitSet();
+                for (int k = 0; k < coverage.getChangedCount(); k++) changed.set(coverage.getChanged()[k]);
+                before.xor(expected);
+                assertEquals(before, changed, "seed " + seed + " step " + step);
+            }
+        }
+    }
+
+    private static BitSet coverage(int... orders) {
+        BitSet set = new BitSet();
+        for (int o : orders) set.set(o);
+        return set;
+    }
+
+    private static BitSet bruteForce(List<Map<Integer, Integer>> orders, List<Map<Integer, Integer>> aisles, int nItems, BitSet open) {
+        int[] capacity = new int[nItems];
+        for (int a = open.nextSetBit(0); a >= 0; a = open.nextSetBit(a + 1)) {
+            aisles.get(a).forEach((item, quantity) -> capacity[item] += quantity);
+        }
+        BitSet covered = new BitSet();
+        for (int o = 0; o < orders.size(); o++) {
+            if (orders.get(o).entrySet().stream().allMatch(entry -> entry.getValue() <= capacity[entry.getKey()])) covered.set(o);
+        }
+        return covered;
+    }
+
+}
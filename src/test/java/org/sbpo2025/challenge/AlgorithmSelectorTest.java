@@ -0,0 +1,61 @@
+package org.sbpo2025.challenge;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.sbpo2025.challenge.TestInstances.items;
+
+class AlgorithmSelectorTest {
+
+    private static InstanceFeatures features(int orders, int aisles, int UB) {
+        return new InstanceFeatures(new CsrInstance(Collections.nCopies(orders, items(0, 1)), Collections.nCopies(aisles, items(0, 2)), 1), 1, UB);
+    }
+
+    @Test
+    void rulesFillInTheGeneticParameters() {
+        Map<String, Object> params = Challenge.parseParams(new String[]{"instance.txt", "auto"});
+        AlgorithmSelector.select(features(4, 2, 6), params); // a full wave fits in 3 aisles
+
+        assertEquals("genetic", params.get("algorithm"));
+        assertEquals("generational", params.get("GAimplementation"));
+        assertEquals(false, params.get("binaryEncoding"));
+        assertEquals(true, params.get("ordersUnionCrossover"));
+        assertEquals(80, params.get("populationSize"));
+        assertEquals(0.01, params.get("mutationProbability"));
+
+        params = Challenge.parseParams(new String[]{"instance.txt", "auto"});
+        AlgorithmSelector.select(features(2, 6, 20), params);
+        assertEquals("steadyState", params.get("GAimplementation"));
+        assertEquals(0.001, params.get("mutationProbability"));
+    }
+
+    @Test
+    void explicitArgumentsAreKept() {
+        Map<String, Object> params = Challenge.parseParams(new String[]{"instance.txt", "auto", "steadyState", "binaryEncoding", "defaultCrossover", "seed:7"});
+        AlgorithmSelector.select(features(4, 2, 6), params);
+
+        assertEquals("steadyState", params.get("GAimplementation"));
+        assertEquals(true, params.get("binaryEncoding"));
+        assertEquals(false, params.get("ordersUnionCrossover"));
+        assertEquals(7L, params.get("randomSeed"));
+    }
+
+    @Test
+    void largeInstancesUseParallelTempering() {
+        // 3000 order non-zeros x 2001 aisles > MAX_GA_SIZE
+        Map<Integer, Integer> order = new HashMap<>();
+        for (int i = 0; i < 3000; i++) order.put(i, 1);
+        List<Map<Integer, Integer>> aisles = new ArrayList<>(Collections.nCopies(2001, items(0, 1)));
+        InstanceFeatures features = new InstanceFeatures(new CsrInstance(List.of(order), aisles, 3000), 1, 10);
+
+        Map<String, Object> params = Challenge.parseParams(new String[]{"instance.txt", "auto"});
+        AlgorithmSelector.select(features, params);
+        assertEquals("parallelTempering", params.get("algorithm"));
+    }
+}
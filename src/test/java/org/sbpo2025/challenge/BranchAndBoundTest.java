@@ -0,0 +1,105 @@
+package org.sbpo2025.challenge;
+
+import org.apache.commons.lang3.time.StopWatch;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.sbpo2025.challenge.TestInstances.items;
+
+class BranchAndBoundTest {
+
+    private static final double DELTA = 1e-9;
+
+    private static Map<String, Object> params() {
+        Map<String, Object> params = new HashMap<>();
+        params.put("bbThreads", 1);
+        return params;
+    }
+
+    /*
+     * The greedy starts with the largest aisle (a0), whose orders also need a1's item; the
+     * optimum is a1 alone with o1
+     */
+    @Test
+    void improvesGreedyAndProvesOptimality() {
+        List<Map<Integer, Integer>> orders = List.of(items(0, 3, 1, 1), items(2, 3));
+        List<Map<Integer, Integer>> aisles = List.of(items(0, 3), items(2, 3), items(1, 1));
+        ChallengeSolver solver = new ChallengeSolver(orders, aisles, 3, 1, 7);
+
+        PartialResult greedy = solver.solveGreedySelection(new PartialResult(null, 0), StopWatch.createStarted());
+        assertEquals(7.0 / 3, greedy.objValue(), DELTA);
+
+        BranchAndBound search = new BranchAndBound(solver);
+        PartialResult result = search.solve(greedy, StopWatch.createStarted(), params());
+
+        // u = 3, 3, 1: one aisle gives at most 3 units, two at most 6 / 2
+        assertEquals(3, search.getRootBound(), DELTA);
+        assertEquals(new ChallengeSolution(Set.of(1), Set.of(1)), result.partialSolution());
+        assertEquals(3, result.objValue(), DELTA);
+        assertEquals(3, search.getUpperBound(), DELTA);
+    }
+
+    @Test
+    void boundsEncloseTheOptimumOfRandomInstances() {
+        for (long seed = 1; seed <= 200; seed++) {
+            Random random = new Random(seed);
+            int nItems = 3;
+            List<Map<Integer, Integer>> orders = TestInstances.randomRows(random, 2 + random.nextInt(6), nItems, 2, 3);
+            List<Map<Integer, Integer>> aisles = TestInstances.randomRows(random, 1 + random.nextInt(5), nItems, 3, 4);
+            int waveSizeLB = 1 + random.nextInt(3);
+            int waveSizeUB = waveSizeLB + random.nextInt(7);
+            double optimum = bruteForce(orders, aisles, nItems, waveSizeLB, waveSizeUB);
+
+            ChallengeSolver solver = new ChallengeSolver(orders, aisles, nItems, waveSizeLB, waveSizeUB);
+            BranchAndBound search = new BranchAndBound(solver);
+            PartialResult result = search.solve(new PartialResult(null, 0), StopWatch.createStarted(), params());
+
+            String instance = "seed " + seed;
+            if (result.partialSolution() != null) {
+                assertTrue(solver.isSolutionFeasible(result.partialSolution()), instance);
+                assertEquals(solver.computeObjectiveFunction(result.partialSolution()), result.objValue(), DELTA, instance);
+            }
+            assertTrue(result.objValue() <= optimum + DELTA, instance);
+            assertTrue(optimum <= search.getUpperBound() + DELTA, instance);
+            assertTrue(optimum <= search.getRootBound() + DELTA || optimum == 0, instance);
+            if (search.getUpperBound() - result.objValue() <= DELTA) assertEquals(optimum, result.objValue(), DELTA, instance);
+        }
+    }
+
+    /*
+     * Best units / aisles over all aisle and order subsets (0 if none is feasible)
+     */
+    private static double bruteForce(List<Map<Integer, Integer>> orders, List<Map<Integer, Integer>> aisles, int nItems,
+            int waveSizeLB, int waveSizeUB) {
+        double best = 0;
+        for (int aisleMask = 1; aisleMask < 1 << aisles.size(); aisleMask++) {
+            int[] capacity = new int[nItems];
+            for (int a = 0; a < aisles.size(); a++) {
+                if ((aisleMask >> a & 1) == 0) continue;
+                for (Map.Entry<Integer, Integer> entry : aisles.get(a).entrySet()) capacity[entry.getKey()] += entry.getValue();
+            }
+            for (int orderMask = 1; orderMask < 1 << orders.size(); orderMask++) {
+                int[] demand = new int[nItems];
+                int units = 0;
+                for (int o = 0; o < orders.size(); o++) {
+                    if ((orderMask >> o & 1) == 0) continue;
+                    for (Map.Entry<Integer, Integer> entry : orders.get(o).entrySet()) {
+                        demand[entry.getKey()] += entry.getValue();
+                        units += entry.getValue();
+                    }
+                }
+                boolean fits = units >= waveSizeLB && units <= waveSizeUB;
+                for (int i = 0; i < nItems && fits; i++) fits = demand[i] <= capacity[i];
+                if (fits) best = Math.max(best, (double) units / Integer.bitCount(aisleMask));
+            }
+        }
+        return best;
+    }
+}
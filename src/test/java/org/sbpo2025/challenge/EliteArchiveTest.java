@@ -0,0 +1,104 @@
+package org.sbpo2025.challenge;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.sbpo2025.challenge.TestInstances.items;
+
+class EliteArchiveTest {
+
+    private static final List<Map<Integer, Integer>> ORDERS = List.of(items(0, 2), items(1, 1, 2, 1), items(0, 1, 2, 2), items(1, 3));
+    private static final List<Map<Integer, Integer>> AISLES = List.of(items(0, 3, 1, 1), items(1, 4), items(2, 3), items(0, 1, 2, 1));
+
+    @TempDir
+    Path root;
+
+    private EliteArchive archive() {
+        return new EliteArchive(root, "a", "instance_0001.txt", "cafe");
+    }
+
+    private static ChallengeSolver solver() {
+        return new ChallengeSolver(ORDERS, AISLES, 3, 1, 8);
+    }
+
+    private long archivedFiles() throws IOException {
+        try (Stream<Path> files = Files.list(root.resolve("a_instance_0001").resolve("cafe"))) {
+            return files.count();
+        }
+    }
+
+    @Test
+    void offeredSolutionsAreReloadedBestFirst() {
+        EliteArchive archive = archive();
+        ChallengeSolution two = new ChallengeSolution(Set.of(0, 1), Set.of(0, 2));
+        ChallengeSolution three = new ChallengeSolution(Set.of(3), Set.of(1));
+        ChallengeSolution tooLarge = new ChallengeSolution(Set.of(0, 1, 2, 3), Set.of(0, 1, 2, 3)); // 10 units > UB
+
+        assertTrue(archive.offer(new PartialResult(two, 2.0)));
+        assertTrue(archive.offer(new PartialResult(three, 3.0)));
+        assertTrue(archive.offer(new PartialResult(tooLarge, 2.5)));
+        assertFalse(archive.offer(new PartialResult(new ChallengeSolution(Set.of(1, 0), Set.of(2, 0)), 2.0)));
+        assertFalse(archive.offer(new PartialResult(null, 9.0)));
+
+        List<PartialResult> loaded = archive().load(solver());
+        assertEquals(List.of(new PartialResult(three, 3.0), new PartialResult(two, 2.0)), loaded);
+    }
+
+    @Test
+    void emptyArchive() {
+        EliteArchive archive = archive();
+        assertEquals(List.of(), archive.load(solver()));
+        assertNull(archive.best().partialSolution());
+    }
+
+    @Test
+    void keepsOnlyTheBestSolutions() throws IOException {
+        EliteArchive archive = archive();
+        for (int mask = 1; mask <= 12; mask++) {
+            Set<Integer> aisles = new HashSet<>();
+            for (int a = 0; a < 4; a++) if ((mask >> a & 1) != 0) aisles.add(a);
+            assertTrue(archive.offer(new PartialResult(new ChallengeSolution(Set.of(), aisles), mask)));
+        }
+        assertEquals(10, archivedFiles());
+        assertEquals(12.0, archive.best().objValue());
+        assertFalse(archive.offer(new PartialResult(new ChallengeSolution(Set.of(), Set.of(0, 1, 2, 3)), 3.0)));
+        assertTrue(archive.offer(new PartialResult(new ChallengeSolution(Set.of(), Set.of(0, 1, 2, 3)), 3.5)));
+        assertEquals(10, archivedFiles());
+    }
+
+    @Test
+    void solutionsAreArchivedWithOriginalIds() {
+        // reduced ids: orders 0, 1, 3 and aisles 0, 3 of the original instance
+        List<Map<Integer, Integer>> orders = List.of(items(0, 2), items(1, 1), items(2, 50), items(0, 1, 1, 1));
+        List<Map<Integer, Integer>> aisles = List.of(items(0, 5), items(0, 1), items(2, 3, 3, 4), items(1, 2));
+        InstanceReduction reduction = new InstanceReduction(orders, aisles, 4, 10);
+        ChallengeSolver reducedSolver = new ChallengeSolver(reduction.orders, reduction.aisles, reduction.nItems, 1, 10);
+
+        EliteArchive archive = archive();
+        archive.setReduction(reduction);
+        ChallengeSolution reduced = new ChallengeSolution(Set.of(0, 2), Set.of(0, 1));
+        assertTrue(archive.offer(new PartialResult(reduced, 2.0)));
+        assertEquals(reduced, archive.best().partialSolution());
+
+        ChallengeSolution original = new ChallengeSolution(Set.of(0, 3), Set.of(0, 3));
+        assertEquals(List.of(new PartialResult(original, 2.0)), archive().load(new ChallengeSolver(orders, aisles, 4, 1, 10)));
+
+        EliteArchive reducedArchive = archive();
+        reducedArchive.setReduction(reduction);
+        assertEquals(List.of(new PartialResult(reduced, 2.0)), reducedArchive.load(reducedSolver));
+    }
+
+}
@@ -0,0 +1,81 @@
+package org.sbpo2025.challenge;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.sbpo2025.challenge.TestInstances.items;
+
+class InstanceCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private Path instance(String name) throws IOException {
+        Path file = directory.resolve(name);
+        TestInstances.write(file, List.of(items(0, 2), items(1, 1), items(2, 50)), List.of(items(0, 5), items(0, 1), items(1, 2)), 3, 1, 10);
+        return file;
+    }
+
+    @Test
+    void noReductionJobsGetNoReduction() throws IOException {
+        InstanceCache cache = new InstanceCache(Long.MAX_VALUE);
+        String file = instance("instance.txt").toString();
+
+        InstanceCache.Entry plain = cache.get(file, false);
+        assertNull(plain.reduction);
+        assertEquals(3, plain.challenge.orders.size());
+
+        // a reduce job computes the reduction on the already parsed instance
+        InstanceCache.Entry reduced = cache.get(file, true);
+        assertNotNull(reduced.reduction);
+        assertSame(plain.challenge, reduced.challenge);
+        assertEquals(2, reduced.reduction.orders.size());
+        assertSame(reduced, cache.get(file, true));
+
+        // the entry now holds a reduction, which a noReduction job must ignore (Challenge.run gets null)
+        InstanceCache.Entry again = cache.get(file, false);
+        assertSame(plain.challenge, again.challenge);
+        assertTrue(cache.stats().endsWith("2 hits, 2 misses"), cache.stats());
+    }
+
+    @Test
+    void modifiedFileIsParsedAgain() throws IOException {
+        InstanceCache cache = new InstanceCache(Long.MAX_VALUE);
+        Path file = instance("instance.txt");
+
+        InstanceCache.Entry first = cache.get(file.toString(), false);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 5000));
+        assertNotSame(first.challenge, cache.get(file.toString(), false).challenge);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedButKeepsTheLastOne() throws IOException {
+        InstanceCache cache = new InstanceCache(1);
+        String first = instance("first.txt").toString();
+        String second = instance("second.txt").toString();
+
+        InstanceCache.Entry entry = cache.get(first, false);
+        cache.get(second, false);
+        assertTrue(cache.stats().startsWith("1 instances"), cache.stats());
+        assertNotSame(entry, cache.get(first, false));
+    }
+
+    @Test
+    void missingFile() {
+        InstanceCache cache = new InstanceCache(Long.MAX_VALUE);
+        assertThrows(IOException.class, () -> cache.get(directory.resolve("missing.txt").toString(), false));
+    }
+}
@@ -0,0 +1,48 @@
+package org.sbpo2025.challenge;
+
+import org.apache.commons.lang3.time.StopWatch;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.sbpo2025.challenge.TestInstances.items;
+
+class InstanceDecompositionTest {
+
+    /*
+     * Components {o0, o1 | a0} on items 0, 1 and {o2 | a1, a2} on item 2; o3 (item 3) has no
+     * aisle and a3 (item 4) has no order, so they belong to no component
+     */
+    private static final List<Map<Integer, Integer>> ORDERS = List.of(items(0, 2), items(1, 3), items(2, 4), items(3, 1));
+    private static final List<Map<Integer, Integer>> AISLES = List.of(items(0, 2, 1, 3), items(2, 1), items(2, 5), items(4, 2));
+
+    private static PartialResult solve(ChallengeSolver solver) {
+        InstanceDecomposition decomposition = new InstanceDecomposition(solver);
+        assertEquals(2, decomposition.size());
+        return decomposition.solve(new PartialResult(null, 0), StopWatch.createStarted(),
+                Challenge.parseParams(new String[]{"instance.txt", "greedy", "decompose"}));
+    }
+
+    @Test
+    void bestSingleComponent() {
+        ChallengeSolver solver = new ChallengeSolver(ORDERS, AISLES, 5, 1, 5);
+        PartialResult result = solve(solver);
+
+        assertEquals(new PartialResult(new ChallengeSolution(Set.of(0, 1), Set.of(0)), 5.0), result);
+    }
+
+    @Test
+    void lowerBoundNeedsBothComponents() {
+        ChallengeSolver solver = new ChallengeSolver(ORDERS, AISLES, 5, 6, 10);
+        PartialResult result = solve(solver);
+
+        assertEquals(new PartialResult(new ChallengeSolution(Set.of(0, 1, 2), Set.of(0, 2)), 4.5), result);
+        assertTrue(solver.isSolutionFeasible(result.partialSolution()));
+        assertEquals(solver.computeObjectiveFunction(result.partialSolution()), result.objValue());
+    }
+
+}
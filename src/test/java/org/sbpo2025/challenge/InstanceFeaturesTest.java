@@ -0,0 +1,46 @@
+package org.sbpo2025.challenge;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.sbpo2025.challenge.TestInstances.items;
+
+class InstanceFeaturesTest {
+
+    @Test
+    void featuresOfSmallInstance() {
+        // item 2 is in no row; items 0 and 1 are both in two aisles
+        CsrInstance csr = new CsrInstance(List.of(items(0, 2), items(0, 1, 1, 3)),
+                List.of(items(0, 4), items(1, 1), items(0, 1, 1, 1)), 3);
+        InstanceFeatures features = new InstanceFeatures(csr, 2, 6);
+
+        assertEquals(2, features.orders);
+        assertEquals(3, features.items);
+        assertEquals(3, features.aisles);
+        assertEquals(3, features.orderNonZeros);
+        assertEquals(4, features.aisleNonZeros);
+        assertEquals(0.5, features.orderDensity, 1e-12);
+        assertEquals(4.0 / 9, features.aisleDensity, 1e-12);
+        assertEquals(3.0, features.meanOrderUnits, 1e-12);
+        assertEquals(7.0 / 3, features.meanAisleCapacity, 1e-12);
+        assertEquals(7.0 / 6, features.capacityDemandRatio, 1e-12);
+        assertEquals(5.0 / 6, features.servableDemandShare, 1e-12); // item 1: 2 of 3 units
+        assertEquals(2.0 / 7, features.lbCapacityShare, 1e-12);
+        assertEquals(6.0 / 7, features.ubCapacityShare, 1e-12);
+        assertEquals(18.0 / 7, features.ubInAisles, 1e-12);
+        assertEquals(1.5, features.ordersPerItem, 1e-12);
+        assertEquals(2.0, features.aislesPerItem, 1e-12);
+        assertEquals(1.0, features.sharedItemShare, 1e-12);
+        assertEquals(17, features.asMap().size());
+    }
+
+    @Test
+    void emptyRowsDoNotDivideByZero() {
+        InstanceFeatures features = new InstanceFeatures(new CsrInstance(List.of(), List.of(), 2), 0, 5);
+
+        assertEquals(2, features.items);
+        features.asMap().forEach((name, value) -> assertEquals(name.equals("items") ? 2.0 : 0.0, value, name));
+    }
+}
@@ -0,0 +1,86 @@
+package org.sbpo2025.challenge;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InstanceGeneratorTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void invalidSpecsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> InstanceGenerator.Spec.defaults(0, 10, 5, 1));
+        assertThrows(IllegalArgumentException.class, () -> InstanceGenerator.Spec.defaults(10, 10, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new InstanceGenerator.Spec(10, 10, 5, 1.2, 4, 0, 0, 20, 0.005, 0.02, 1));
+        assertThrows(IllegalArgumentException.class, () -> new InstanceGenerator.Spec(10, 10, 5, 1.2, 4, 0, 3, 20, 0.005, 1.5, 1));
+        assertThrows(IllegalArgumentException.class, () -> new InstanceGenerator.Spec(10, 10, 5, 1.2, 4, 0, 3, 20, 0.05, 0.02, 1));
+        assertThrows(IllegalArgumentException.class, () -> new InstanceGenerator.Spec(10, 10, 5, 1.2, 4, 0, 3, 20, Double.NaN, 0.02, 1));
+    }
+
+    @Test
+    void generatedInstanceIsReadable() throws Exception {
+        InstanceGenerator.Spec spec = InstanceGenerator.parseSpec(new String[]{"orders:300", "items:120", "aisles:15",
+                "demand:zipf:1.1", "orderQuantity:4", "aisleQuantity:9", "wave:0.01,0.05", "seed:3"});
+        Path file = directory.resolve("generated.txt");
+        InstanceGenerator.generate(spec, file);
+
+        Challenge challenge = new Challenge();
+        challenge.readInput(file.toString());
+        assertEquals(300, challenge.orders.size());
+        assertEquals(120, challenge.nItems);
+        assertEquals(15, challenge.aisles.size());
+
+        int[] stocked = new int[challenge.nItems];
+        long capacity = 0;
+        for (Map<Integer, Integer> aisle : challenge.aisles) {
+            for (Map.Entry<Integer, Integer> entry : aisle.entrySet()) {
+                stocked[entry.getKey()]++;
+                assertTrue(entry.getValue() >= 1 && entry.getValue() <= 9);
+                capacity += entry.getValue();
+            }
+        }
+        for (int item = 0; item < challenge.nItems; item++) assertTrue(stocked[item] > 0, "item " + item + " in no aisle");
+        for (Map<Integer, Integer> order : challenge.orders) {
+            assertFalse(order.isEmpty());
+            for (int quantity : order.values()) assertTrue(quantity >= 1 && quantity <= 4);
+        }
+        assertEquals(Math.max(1, Math.round(0.01 * capacity)), challenge.waveSizeLB);
+        assertEquals(Math.round(0.05 * capacity), challenge.waveSizeUB);
+    }
+
+    @Test
+    void sameSeedSameFile() throws Exception {
+        InstanceGenerator.Spec spec = InstanceGenerator.Spec.defaults(200, 150, 10, 7);
+        Path first = directory.resolve("first.txt");
+        Path second = directory.resolve("second.txt");
+        Path other = directory.resolve("other.txt");
+        InstanceGenerator.generate(spec, first);
+        InstanceGenerator.generate(spec, second);
+        InstanceGenerator.generate(InstanceGenerator.Spec.defaults(200, 150, 10, 8), other);
+
+        assertArrayEquals(Files.readAllBytes(first), Files.readAllBytes(second));
+        assertFalse(Files.readString(first).equals(Files.readString(other)));
+    }
+
+    @Test
+    void scaledSpecKeepsTheShape() {
+        InstanceGenerator.Spec spec = InstanceGenerator.Spec.defaults(1000, 800, 20, 1).scaled(2.5, 9);
+
+        assertEquals(2500, spec.orders());
+        assertEquals(2000, spec.items());
+        assertEquals(50, spec.aisles());
+        assertEquals(2.0 * 2000 / 50, spec.aisleItems(), 1e-9); // aisles per item unchanged
+        assertEquals(9, spec.seed());
+    }
+}
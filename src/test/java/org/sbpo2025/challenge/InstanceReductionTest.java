@@ -0,0 +1,87 @@
+package org.sbpo2025.challenge;
+
+import org.apache.commons.lang3.time.StopWatch;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.sbpo2025.challenge.TestInstances.items;
+
+class InstanceReductionTest {
+
+    /*
+     * o2 asks for more of item 2 than the aisles hold; items 2 and 3 are then dead, so a2 is
+     * empty; a1 is saturated by a0 (5 >= total demand 3 of item 0)
+     */
+    private static InstanceReduction reduction() {
+        List<Map<Integer, Integer>> orders = List.of(items(0, 2), items(1, 1), items(2, 50), items(0, 1, 1, 1));
+        List<Map<Integer, Integer>> aisles = List.of(items(0, 5), items(0, 1), items(2, 3, 3, 4), items(1, 2));
+        return new InstanceReduction(orders, aisles, 4, 10);
+    }
+
+    @Test
+    void removesImpossibleOrdersDeadItemsAndSaturatedAisles() {
+        InstanceReduction reduction = reduction();
+
+        assertArrayEquals(new int[]{0, 1, 3}, reduction.orderIds);
+        assertArrayEquals(new int[]{0, 1}, reduction.itemIds);
+        assertArrayEquals(new int[]{0, 3}, reduction.aisleIds);
+        assertEquals(2, reduction.nItems);
+        assertEquals(List.of(items(0, 2), items(1, 1), items(0, 1, 1, 1)), reduction.orders);
+        assertEquals(List.of(items(0, 5), items(1, 2)), reduction.aisles);
+    }
+
+    @Test
+    void toOriginalRoundTrip() {
+        InstanceReduction reduction = reduction();
+
+        ChallengeSolution reduced = new ChallengeSolution(Set.of(0, 2), Set.of(0, 1));
+        ChallengeSolution original = reduction.toOriginal(reduced);
+        assertEquals(new ChallengeSolution(Set.of(0, 3), Set.of(0, 3)), original);
+        assertEquals(reduced, reduction.toReduced(original));
+
+        for (int orderMask = 0; orderMask < 1 << 3; orderMask++) {
+            for (int aisleMask = 0; aisleMask < 1 << 2; aisleMask++) {
+                ChallengeSolution solution = new ChallengeSolution(ids(orderMask), ids(aisleMask));
+                assertEquals(solution, reduction.toReduced(reduction.toOriginal(solution)));
+            }
+        }
+        assertNull(reduction.toOriginal(null));
+    }
+
+    @Test
+    void toReducedReplacesRemovedAisles() {
+        InstanceReduction reduction = reduction();
+
+        // a1 is replaced by a0 (already visited), the empty a2 is dropped
+        assertEquals(new ChallengeSolution(Set.of(0, 2), Set.of(0, 1)),
+                reduction.toReduced(new ChallengeSolution(Set.of(0, 3), Set.of(1, 2, 3))));
+        assertNull(reduction.toReduced(new ChallengeSolution(Set.of(2), Set.of(0))));
+        assertNull(reduction.toReduced(new ChallengeSolution(Set.of(0), Set.of(4))));
+    }
+
+    @Test
+    void emptyReductionSolvesToNothing() {
+        // every order is above UB: no order, item nor aisle is left
+        InstanceReduction reduction = new InstanceReduction(List.of(items(0, 6), items(1, 7)), List.of(items(0, 9), items(1, 9)), 2, 5);
+        assertEquals(0, reduction.orders.size());
+        assertEquals(0, reduction.aisles.size());
+
+        for (String algorithm : List.of("greedy", "genetic", "branchAndBound", "parallelTempering")) {
+            ChallengeSolver solver = new ChallengeSolver(reduction.orders, reduction.aisles, reduction.nItems, 1, 5);
+            assertNull(solver.solve(StopWatch.createStarted(), Challenge.parseParams(new String[]{"instance.txt", algorithm})), algorithm);
+        }
+    }
+
+    private static Set<Integer> ids(int mask) {
+        Set<Integer> ids = new HashSet<>();
+        for (int i = 0; i < 32; i++) if ((mask >> i & 1) == 1) ids.add(i);
+        return ids;
+    }
+}
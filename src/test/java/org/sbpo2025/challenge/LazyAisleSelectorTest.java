@@ -0,0 +1,83 @@
+package org.sbpo2025.challenge;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.sbpo2025.challenge.TestInstances.items;
+
+class LazyAisleSelectorTest {
+
+    @Test
+    void marginalOrderOnSmallInstance() {
+        // demand: item 0 -> 4, item 1 -> 2; a1 has the largest capacity but is mostly useless
+        List<Map<Integer, Integer>> orders = List.of(items(0, 3), items(0, 1, 1, 2));
+        List<Map<Integer, Integer>> aisles = List.of(items(0, 3), items(1, 9), items(0, 4), items(0, 1, 1, 2));
+        CsrInstance csr = new CsrInstance(orders, aisles, 2);
+
+        // scores 3, 2, 4, 3: a2 takes all of item 0, then a1 and a3 tie at 2 and a1 has more
+        // capacity; a0 and a3 are left with 0 and the same capacity
+        assertEquals(List.of(2, 1, 0, 3), lazyOrder(csr));
+        assertEquals(lazyOrder(csr), eagerOrder(csr));
+    }
+
+    @Test
+    void sameOrderAsPlainGreedy() {
+        for (long seed = 1; seed <= 300; seed++) {
+            Random random = new Random(seed);
+            int nItems = 1 + random.nextInt(12);
+            List<Map<Integer, Integer>> orders = TestInstances.randomRows(random, 1 + random.nextInt(30), nItems, 3, 4);
+            List<Map<Integer, Integer>> aisles = TestInstances.randomRows(random, 1 + random.nextInt(25), nItems, 4, 6);
+            CsrInstance csr = new CsrInstance(orders, aisles, nItems);
+
+            assertEquals(eagerOrder(csr), lazyOrder(csr), "seed " + seed);
+        }
+    }
+
+    private static List<Integer> lazyOrder(CsrInstance csr) {
+        LazyAisleSelector selector = new LazyAisleSelector(csr);
+        List<Integer> order = new ArrayList<>();
+        for (int aisle = selector.next(); aisle != -1; aisle = selector.next()) order.add(aisle);
+        return order;
+    }
+
+    /*
+     * Plain greedy: every step re-scores all remaining aisles, ties by capacity then id
+     */
+    private static List<Integer> eagerOrder(CsrInstance csr) {
+        int[] residualDemand = new int[csr.nItems];
+        for (int k = 0; k < csr.orderItem.length; k++) residualDemand[csr.orderItem[k]] += csr.orderQuantity[k];
+        long[] capacity = new long[csr.nAisles];
+        for (int a = 0; a < csr.nAisles; a++) {
+            for (int k = csr.aisleStart[a]; k < csr.aisleStart[a + 1]; k++) capacity[a] += csr.aisleQuantity[k];
+        }
+
+        boolean[] selected = new boolean[csr.nAisles];
+        List<Integer> order = new ArrayList<>();
+        for (int step = 0; step < csr.nAisles; step++) {
+            int best = -1;
+            long bestScore = -1;
+            for (int a = 0; a < csr.nAisles; a++) {
+                if (selected[a]) continue;
+                long score = 0;
+                for (int k = csr.aisleStart[a]; k < csr.aisleStart[a + 1]; k++) {
+                    score += Math.min(csr.aisleQuantity[k], residualDemand[csr.aisleItem[k]]);
+                }
+                if (score > bestScore || score == bestScore && capacity[a] > capacity[best]) {
+                    best = a;
+                    bestScore = score;
+                }
+            }
+            selected[best] = true;
+            order.add(best);
+            for (int k = csr.aisleStart[best]; k < csr.aisleStart[best + 1]; k++) {
+                residualDemand[csr.aisleItem[k]] = Math.max(0, residualDemand[csr.aisleItem[k]] - csr.aisleQuantity[k]);
+            }
+        }
+        return order;
+    }
+}
@@ -0,0 +1,79 @@
+package org.sbpo2025.challenge;
+
+import org.apache.commons.lang3.time.StopWatch;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.sbpo2025.challenge.TestInstances.items;
+
+class ParallelTemperingTest {
+
+    @Test
+    void needsAFeasibleStart() {
+        ChallengeSolver solver = new ChallengeSolver(List.of(items(0, 2)), List.of(items(0, 2)), 1, 1, 5);
+        PartialResult result = new ParallelTempering(solver).solve(new PartialResult(null, 0), StopWatch.createStarted(), new HashMap<>());
+        assertNull(result.partialSolution());
+    }
+
+    @Test
+    void feasibleAndNoBetterThanTheOptimum() {
+        for (long seed = 1; seed <= 3; seed++) {
+            Random random = new Random(seed);
+            int nItems = 2 + random.nextInt(3);
+            List<Map<Integer, Integer>> orders = TestInstances.randomRows(random, 8, nItems, 2, 3);
+            List<Map<Integer, Integer>> aisles = TestInstances.randomRows(random, 5, nItems, 3, 4);
+
+            ChallengeSolver greedySolver = new ChallengeSolver(orders, aisles, nItems, 1, 12);
+            ChallengeSolution greedy = greedySolver.solve(StopWatch.createStarted(),
+                    Challenge.parseParams(new String[]{"instance.txt", "greedy"}));
+            assertNotNull(greedy, "seed " + seed);
+
+            // timeLimit:2 leaves the greedy start its one second of remaining time
+            ChallengeSolver solver = new ChallengeSolver(orders, aisles, nItems, 1, 12);
+            ChallengeSolution solution = solver.solve(StopWatch.createStarted(),
+                    Challenge.parseParams(new String[]{"instance.txt", "parallelTempering", "timeLimit:2", "ptRoundMoves:1000"}));
+
+            assertTrue(solver.isSolutionFeasible(solution), "seed " + seed);
+            double value = solver.computeObjectiveFunction(solution);
+            assertTrue(value >= greedySolver.computeObjectiveFunction(greedy), "seed " + seed);
+            assertTrue(value <= optimum(orders, aisles, nItems, 1, 12) + 1e-9, "seed " + seed);
+        }
+    }
+
+    /*
+     * Best units / aisles over all aisle subsets and all order subsets they serve
+     */
+    private static double optimum(List<Map<Integer, Integer>> orders, List<Map<Integer, Integer>> aisles, int nItems, int LB, int UB) {
+        double best = 0;
+        for (int aisleMask = 1; aisleMask < 1 << aisles.size(); aisleMask++) {
+            int[] capacity = new int[nItems];
+            for (int a = 0; a < aisles.size(); a++) {
+                if ((aisleMask >> a & 1) != 0) aisles.get(a).forEach((item, quantity) -> capacity[item] += quantity);
+            }
+            for (int orderMask = 1; orderMask < 1 << orders.size(); orderMask++) {
+                int[] demand = new int[nItems];
+                int units = 0;
+                for (int o = 0; o < orders.size(); o++) {
+                    if ((orderMask >> o & 1) == 0) continue;
+                    for (Map.Entry<Integer, Integer> entry : orders.get(o).entrySet()) {
+                        demand[entry.getKey()] += entry.getValue();
+                        units += entry.getValue();
+                    }
+                }
+                boolean fits = units >= LB && units <= UB;
+                for (int i = 0; i < nItems && fits; i++) fits = demand[i] <= capacity[i];
+                if (fits) best = Math.max(best, (double) units / Integer.bitCount(aisleMask));
+            }
+        }
+        return best;
+    }
+
+}
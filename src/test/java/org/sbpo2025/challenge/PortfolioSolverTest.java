@@ -0,0 +1,56 @@
+package org.sbpo2025.challenge;
+
+import org.apache.commons.lang3.time.StopWatch;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.sbpo2025.challenge.TestInstances.items;
+
+class PortfolioSolverTest {
+
+    @Test
+    void weightDecaysWithTheSlicesSinceTheLastImprovement() {
+        assertEquals(1.0, PortfolioSolver.weight(-1, 7));
+        assertEquals(5.0, PortfolioSolver.weight(7, 7));
+        assertEquals(3.0, PortfolioSolver.weight(6, 7));
+        assertEquals(2.0, PortfolioSolver.weight(5, 7));
+        assertEquals(1.0, PortfolioSolver.weight(0, 60), 1e-12);
+    }
+
+    @Test
+    void improvementsAreCreditedToTheOfferingComponent() {
+        ChallengeSolver solver = new ChallengeSolver(List.of(items(0, 2), items(0, 1)), List.of(items(0, 2), items(0, 1)), 1, 1, 5);
+        Map<String, Object> params = new HashMap<>();
+        params.put("portfolioThreads", 1);
+        PortfolioSolver portfolio = new PortfolioSolver(solver, params, false);
+
+        PartialResult two = new PartialResult(new ChallengeSolution(Set.of(0), Set.of(0)), 2.0);
+        PartialResult three = new PartialResult(new ChallengeSolution(Set.of(0, 1), Set.of(0)), 3.0);
+        PartialResult four = new PartialResult(new ChallengeSolution(Set.of(0, 1), Set.of(0)), 4.0);
+
+        // one-shot components run once each, in order, and the portfolio ends when they are done
+        portfolio.addComponent("improves", (deadline, seed) -> solver.incumbent.offer(three), true);
+        portfolio.addComponent("worse", (deadline, seed) -> solver.incumbent.offer(two), true);
+        portfolio.addComponent("helper", (deadline, seed) -> { // offered by another thread: not credited
+            Thread helper = new Thread(() -> solver.incumbent.offer(four));
+            helper.start();
+            try {
+                helper.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, true);
+
+        assertEquals(four, portfolio.solve(new PartialResult(null, 0), StopWatch.createStarted()));
+        assertEquals(1, portfolio.getImprovements("improves"));
+        assertEquals(0, portfolio.getImprovements("worse"));
+        assertEquals(0, portfolio.getImprovements("helper"));
+        for (String name : List.of("improves", "worse", "helper")) assertEquals(1, portfolio.getSlices(name));
+    }
+
+}
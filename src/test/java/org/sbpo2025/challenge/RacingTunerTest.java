@@ -0,0 +1,61 @@
+package org.sbpo2025.challenge;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class RacingTunerTest {
+
+    /*
+     * Candidates with the given objectives, objectives[b][c] = objective of c on block b
+     */
+    private static List<RacingTuner.Candidate> candidates(double[][] objectives) {
+        List<RacingTuner.Candidate> candidates = new ArrayList<>();
+        for (int c = 0; c < objectives[0].length; c++) {
+            RacingTuner.Candidate candidate = new RacingTuner.Candidate(null);
+            for (double[] block : objectives) candidate.objectives.add(block[c]);
+            candidates.add(candidate);
+        }
+        return candidates;
+    }
+
+    @Test
+    void friedmanDropsConsistentlyWorseConfigurations() {
+        // same ranking on 6 blocks: rank sums 6, 12, 18, statistic 12 > 5.99; with no
+        // variation within the ranks the critical difference is 0
+        double[][] objectives = new double[6][];
+        for (int b = 0; b < 6; b++) objectives[b] = new double[]{30 + b, 20 + b, 10 + b};
+        assertArrayEquals(new boolean[]{false, true, true}, RacingTuner.friedmanTest(candidates(objectives), 0.05));
+    }
+
+    @Test
+    void friedmanStatisticAndConoverCriticalDifference() {
+        // ranks (1 2 3) (1 3 2) (1 2 3) (2 1 3): rank sums 5, 8, 11, sum of squared ranks 56,
+        // statistic 2 * 18 / 8 = 4.5
+        double[][] objectives = {{3, 2, 1}, {3, 1, 2}, {3, 2, 1}, {2, 3, 1}};
+
+        // below the chi-squared quantile 5.99 at alpha 0.05: nothing is dropped
+        assertArrayEquals(new boolean[]{false, false, false}, RacingTuner.friedmanTest(candidates(objectives), 0.05));
+
+        // above 3.22 at alpha 0.2; critical difference t(6, 0.9) * sqrt(2 * (4 * 56 - 210) / 6)
+        // = 1.440 * 2.160 = 3.11, so 8 - 5 is not significant and 11 - 5 is
+        assertArrayEquals(new boolean[]{false, false, true}, RacingTuner.friedmanTest(candidates(objectives), 0.2));
+    }
+
+    @Test
+    void friedmanKeepsTiesAndBalancedRankings() {
+        assertArrayEquals(new boolean[3], RacingTuner.friedmanTest(candidates(new double[][]{{1, 1, 1}, {2, 2, 2}, {5, 5, 5}}), 0.05));
+        assertArrayEquals(new boolean[2], RacingTuner.friedmanTest(candidates(new double[][]{{2, 1}, {1, 2}, {2, 1}, {1, 2}}), 0.05));
+        assertArrayEquals(new boolean[2], RacingTuner.friedmanTest(candidates(new double[][]{{9, 1}}), 0.05)); // one block
+    }
+
+    @Test
+    void tTestDropsWorseOnEveryBlock() {
+        // c1 is about 10% below c0 on every block, c2 is above it on two blocks and below on two
+        double[][] objectives = {{10, 9, 11}, {20, 18, 19}, {10, 9, 9}, {20, 18, 21}};
+        assertArrayEquals(new boolean[]{false, true, false}, RacingTuner.tTest(candidates(objectives), 0.05));
+    }
+}
@@ -0,0 +1,86 @@
+package org.sbpo2025.challenge;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResultCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private static Map<String, Object> params() {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("algorithm", "genetic");
+        params.put("populationSize", 100);
+        params.put("randomSeed", 1234L);
+        return params;
+    }
+
+    @Test
+    void keyIsStable() {
+        String key = ResultCache.key("abc", params(), true);
+
+        // sha256 of "abc\nalgorithm=genetic\npopulationSize=100\nrandomSeed=1234\nreduction=true":
+        // a new key format invalidates every cache on disk
+        assertEquals("5ff059292515dfeaa465e9bad8ebbabafd017bf64f3d9d7a502142bafc8866b2", key);
+
+        Map<String, Object> reordered = new LinkedHashMap<>();
+        reordered.put("randomSeed", 1234L);
+        reordered.put("populationSize", 100);
+        reordered.put("algorithm", "genetic");
+        assertEquals(key, ResultCache.key("abc", reordered, true));
+
+        Map<String, Object> printing = new HashMap<>(params());
+        printing.put("showStats", true);
+        printing.put("showOutput", true);
+        assertEquals(key, ResultCache.key("abc", printing, true));
+    }
+
+    @Test
+    void keyChangesWithWhatChangesTheResult() {
+        String key = ResultCache.key("abc", params(), true);
+
+        assertNotEquals(key, ResultCache.key("abd", params(), true));
+        assertNotEquals(key, ResultCache.key("abc", params(), false));
+
+        Map<String, Object> seed = params();
+        seed.put("randomSeed", 1235L);
+        assertNotEquals(key, ResultCache.key("abc", seed, true));
+
+        Map<String, Object> extra = params();
+        extra.put("binaryEncoding", true);
+        assertNotEquals(key, ResultCache.key("abc", extra, true));
+    }
+
+    @Test
+    void storedEntryIsReturned() throws IOException {
+        ResultCache cache = new ResultCache(directory, Long.MAX_VALUE);
+        String key = ResultCache.key("abc", params(), false);
+        assertNull(cache.get(key));
+
+        cache.put(key, new ChallengeSolution(Set.of(3, 1, 2), Set.of()), 2.5, 1200);
+        ResultCache.Entry entry = cache.get(key);
+        assertEquals(new ChallengeSolution(Set.of(1, 2, 3), Set.of()), entry.solution());
+        assertEquals(2.5, entry.objective());
+        assertEquals(1200, entry.solveMillis());
+    }
+
+    @Test
+    void unreadableEntryIsAMiss() throws IOException {
+        ResultCache cache = new ResultCache(directory, Long.MAX_VALUE);
+        Files.writeString(directory.resolve("broken.result"), "objective=x\n");
+        assertNull(cache.get("broken"));
+    }
+}
@@ -0,0 +1,72 @@
+package org.sbpo2025.challenge;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.sbpo2025.challenge.TestInstances.items;
+
+class SolutionStreamerTest {
+
+    @TempDir
+    Path directory;
+
+    private static ChallengeSolution read(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file);
+        int nOrders = Integer.parseInt(lines.get(0));
+        Set<Integer> orders = new HashSet<>();
+        for (int i = 1; i <= nOrders; i++) orders.add(Integer.parseInt(lines.get(i)));
+        Set<Integer> aisles = new HashSet<>();
+        for (int i = nOrders + 2; i < lines.size(); i++) aisles.add(Integer.parseInt(lines.get(i)));
+        assertEquals(aisles.size(), Integer.parseInt(lines.get(nOrders + 1)));
+        return new ChallengeSolution(orders, aisles);
+    }
+
+    private static void awaitWrites(SolutionStreamer streamer, int writes) throws InterruptedException {
+        for (int i = 0; i < 1000 && streamer.getWrites() < writes; i++) Thread.sleep(10); // written in the background
+        assertEquals(writes, streamer.getWrites());
+    }
+
+    @Test
+    void improvementsAreWrittenWithOriginalIds() throws Exception {
+        // reduced ids: orders 0, 1, 3 and aisles 0, 3 of the original instance (see InstanceReductionTest)
+        List<Map<Integer, Integer>> orders = List.of(items(0, 2), items(1, 1), items(2, 50), items(0, 1, 1, 1));
+        List<Map<Integer, Integer>> aisles = List.of(items(0, 5), items(0, 1), items(2, 3, 3, 4), items(1, 2));
+        InstanceReduction reduction = new InstanceReduction(orders, aisles, 4, 10);
+
+        Incumbent incumbent = new Incumbent();
+        Path output = directory.resolve("solution.txt");
+        SolutionStreamer streamer = new SolutionStreamer(incumbent, output.toString(), 3_600_000, reduction::toOriginal);
+
+        // the first improvement is written right away, the next ones wait for the interval
+        incumbent.offer(new PartialResult(new ChallengeSolution(Set.of(0), Set.of(0)), 2.0));
+        awaitWrites(streamer, 1);
+        assertEquals(new ChallengeSolution(Set.of(0), Set.of(0)), read(output));
+
+        incumbent.offer(new PartialResult(new ChallengeSolution(Set.of(0, 2), Set.of(0)), 3.0));
+        incumbent.offer(new PartialResult(new ChallengeSolution(Set.of(0, 1, 2), Set.of(0, 1)), 2.5)); // not an improvement
+        incumbent.offer(new PartialResult(new ChallengeSolution(Set.of(0, 1, 2), Set.of(0, 1)), 3.5));
+        assertEquals(new ChallengeSolution(Set.of(0), Set.of(0)), read(output));
+
+        streamer.close();
+        assertEquals(new ChallengeSolution(Set.of(0, 1, 3), Set.of(0, 3)), read(output));
+        assertEquals(2, streamer.getWrites());
+
+        // closed: later improvements are not streamed
+        incumbent.offer(new PartialResult(new ChallengeSolution(Set.of(1), Set.of(1)), 9.0));
+        assertEquals(2, streamer.getWrites());
+        try (var files = Files.list(directory)) {
+            assertFalse(files.anyMatch(f -> f.toString().endsWith(".tmp")));
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+package org.sbpo2025.challenge;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SolverLogTest {
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+    private PrintStream systemOut;
+    private PrintStream systemErr;
+
+    @BeforeEach
+    void redirect() {
+        SolverLog.flush(); // messages of earlier tests go to the real streams
+        systemOut = System.out;
+        systemErr = System.err;
+        System.setOut(new PrintStream(out, true, StandardCharsets.UTF_8));
+        System.setErr(new PrintStream(err, true, StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    void restore() {
+        SolverLog.flush();
+        System.setOut(systemOut);
+        System.setErr(systemErr);
+        SolverLog.configure(new String[0]);
+    }
+
+    private static List<String> lines(ByteArrayOutputStream stream) {
+        String text = stream.toString(StandardCharsets.UTF_8);
+        return text.isEmpty() ? List.of() : List.of(text.split("\\R"));
+    }
+
+    @Test
+    void messagesOfEveryThreadArePrintedInOrder() throws InterruptedException {
+        SolverLog.setLevel(SolverLog.Level.INFO);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int id = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 500; i++) SolverLog.info("thread %d message %d", id, i);
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) thread.join();
+        SolverLog.flush();
+
+        List<String> lines = lines(out);
+        assertEquals(2000, lines.size());
+        int[] next = new int[4];
+        for (String line : lines) {
+            String[] words = line.split(" ");
+            int id = Integer.parseInt(words[1]);
+            assertEquals(next[id]++, Integer.parseInt(words[3]), line);
+        }
+    }
+
+    @Test
+    void levelFiltersMessages() {
+        SolverLog.setLevel(SolverLog.Level.WARN);
+        assertTrue(SolverLog.isEnabled(SolverLog.Level.ERROR));
+        assertFalse(SolverLog.isEnabled(SolverLog.Level.INFO));
+
+        SolverLog.info("hidden %d", 1);
+        SolverLog.debug("hidden");
+        SolverLog.warn("shown %s", "warning");
+        SolverLog.error("shown error");
+        SolverLog.flush();
+
+        assertEquals(List.of(), lines(out));
+        assertEquals(List.of("shown warning", "shown error"), lines(err));
+    }
+
+    @Test
+    void patternsWithoutArgumentsAndBadPatternsArePrinted() {
+        SolverLog.info("100% done");
+        SolverLog.info("%d orders", "many");
+        SolverLog.flush();
+
+        assertEquals(List.of("100% done", "%d orders [many]"), lines(out));
+    }
+
+    @Test
+    void configureFromArguments() {
+        SolverLog.configure(new String[]{"instance.txt", "showOutput"});
+        assertTrue(SolverLog.isEnabled(SolverLog.Level.DEBUG));
+        assertFalse(SolverLog.isEnabled(SolverLog.Level.TRACE));
+
+        SolverLog.configure(new String[]{"showOutput", "logLevel:error"}); // logLevel wins
+        assertTrue(SolverLog.isEnabled(SolverLog.Level.ERROR));
+        assertFalse(SolverLog.isEnabled(SolverLog.Level.WARN));
+
+        SolverLog.configure(new String[0]);
+        assertTrue(SolverLog.isEnabled(SolverLog.Level.INFO));
+        assertFalse(SolverLog.isEnabled(SolverLog.Level.DEBUG));
+    }
+
+    @Test
+    void samplerKeepsOneInN() {
+        SolverLog.configure(new String[]{"logSample:3"});
+        SolverLog.Sampler sampler = new SolverLog.Sampler();
+        int sampled = 0;
+        for (int i = 0; i < 10; i++) if (sampler.sample()) sampled++;
+        assertEquals(4, sampled); // calls 0, 3, 6 and 9
+
+        SolverLog.setSampling(0); // at least 1: every call
+        assertTrue(sampler.sample());
+        assertTrue(sampler.sample());
+    }
+
+}
@@ -0,0 +1,60 @@
+package org.sbpo2025.challenge;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/*
+ * Small instances for the tests
+ */
+public final class TestInstances {
+
+    private TestInstances() {
+    }
+
+    /*
+     * item -> quantity map from item, quantity pairs
+     */
+    public static Map<Integer, Integer> items(int... pairs) {
+        Map<Integer, Integer> map = new HashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) map.put(pairs[i], pairs[i + 1]);
+        return map;
+    }
+
+    /*
+     * Random rows of 1..maxItems distinct items with quantities in 1..maxQuantity
+     */
+    public static List<Map<Integer, Integer>> randomRows(Random random, int rows, int nItems, int maxItems, int maxQuantity) {
+        List<Map<Integer, Integer>> list = new ArrayList<>(rows);
+        for (int r = 0; r < rows; r++) {
+            Map<Integer, Integer> row = new HashMap<>();
+            int count = 1 + random.nextInt(Math.min(maxItems, nItems));
+            while (row.size() < count) row.put(random.nextInt(nItems), 1 + random.nextInt(maxQuantity));
+            list.add(row);
+        }
+        return list;
+    }
+
+    /*
+     * Instance file in the input format of Challenge.readInput
+     */
+    public static void write(Path file, List<Map<Integer, Integer>> orders, List<Map<Integer, Integer>> aisles, int nItems,
+            int waveSizeLB, int waveSizeUB) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(orders.size() + " " + nItems + " " + aisles.size());
+        for (List<Map<Integer, Integer>> rows : List.of(orders, aisles)) {
+            for (Map<Integer, Integer> row : rows) {
+                lines.add(row.size() + row.entrySet().stream().map(entry -> " " + entry.getKey() + " " + entry.getValue())
+                        .collect(Collectors.joining()));
+            }
+        }
+        lines.add(waveSizeLB + " " + waveSizeUB);
+        Files.write(file, lines);
+    }
+}
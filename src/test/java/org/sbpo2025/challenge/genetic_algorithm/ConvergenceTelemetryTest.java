@@ -0,0 +1,101 @@
+package org.sbpo2025.challenge.genetic_algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.sbpo2025.challenge.TestInstances.items;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sbpo2025.challenge.ChallengeSolver;
+import org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm.WavePickingProblem;
+import org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm.WaveSolution;
+
+class ConvergenceTelemetryTest {
+
+    @TempDir
+    Path directory;
+
+    private static WavePickingProblem problem() {
+        List<Map<Integer, Integer>> orders = List.of(items(0, 2), items(1, 1), items(0, 1), items(1, 3));
+        List<Map<Integer, Integer>> aisles = List.of(items(0, 3), items(1, 4), items(0, 1), items(1, 1));
+        ChallengeSolver solver = new ChallengeSolver(orders, aisles, 2, 1, 8);
+        return new WavePickingProblem(solver.orders, solver.aisles, solver.items, solver.csr, 1, 8, 1);
+    }
+
+    private static WaveSolution solution(List<Integer> orders, List<Integer> aisles, double value) {
+        WaveSolution solution = new WaveSolution(new ArrayList<>(orders), new ArrayList<>(aisles));
+        solution.setObjective(0, -value); // stored negated
+        return solution;
+    }
+
+    /*
+     * Values 2, 1, -0.5; gene counts o0 2, o1 1, a0 2, a1 1 over 8 genes: 8 differing pairs
+     * per gene sum, diversity 2 * 8 / (3 * 2 * 8)
+     */
+    private static List<WaveSolution> population() {
+        return List.of(solution(List.of(0), List.of(0), 2), solution(List.of(0, 1), List.of(0), 1),
+                solution(List.of(), List.of(1), -0.5));
+    }
+
+    private static String[] columns(String line) {
+        return line.split(",", -1);
+    }
+
+    @Test
+    void csvRecords() throws IOException {
+        Path file = directory.resolve("run.telemetry.csv");
+        ConvergenceTelemetry<WaveSolution> telemetry = new ConvergenceTelemetry<>(problem(), file.toString());
+        telemetry.onGeneration(10, 30, population());
+        telemetry.onGeneration(11, 33, population());
+        telemetry.onFinish(population());
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(3, lines.size());
+        assertEquals("generation,evaluations,time_ms,best,mean,worst,diversity,removed_orders,added_aisles,evals_per_sec", lines.get(0));
+
+        String[] tenth = columns(lines.get(1));
+        assertEquals(List.of("10", "30"), List.of(tenth[0], tenth[1]));
+        assertEquals(List.of("2.000000", "0.833333", "-0.500000", "0.333333", "0", "0"),
+                List.of(tenth[3], tenth[4], tenth[5], tenth[6], tenth[7], tenth[8]));
+
+        // diversity only every 10 generations
+        String[] eleventh = columns(lines.get(2));
+        assertEquals(List.of("11", "33", ""), List.of(eleventh[0], eleventh[1], eleventh[6]));
+    }
+
+    @Test
+    void jsonlRecords() throws IOException {
+        Path file = directory.resolve("run.telemetry.jsonl");
+        ConvergenceTelemetry<WaveSolution> telemetry = new ConvergenceTelemetry<>(problem(), file.toString());
+        telemetry.onGeneration(20, 60, population());
+        telemetry.onGeneration(21, 63, population());
+        telemetry.close();
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"generation\":20,\"evaluations\":60,"));
+        assertTrue(lines.get(0).contains("\"best\":2.000000,\"mean\":0.833333,\"worst\":-0.500000,\"diversity\":0.333333,"));
+        assertTrue(lines.get(1).contains("\"diversity\":null,"));
+    }
+
+    @Test
+    void writerBehindDropsTheOldestRecords() throws IOException {
+        Path file = directory.resolve("run.telemetry.csv");
+        ConvergenceTelemetry<WaveSolution> telemetry = new ConvergenceTelemetry<>(problem(), file.toString(), 3);
+        for (int generation = 1; generation <= 5; generation++) telemetry.onGeneration(generation, 3 * generation, population());
+        telemetry.close(); // before the first background flush
+
+        // the slot the producer fills next is not trusted, so capacity - 1 records are kept
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(List.of("4", "5"), List.of(columns(lines.get(1))[0], columns(lines.get(2))[0]));
+        assertEquals(3, lines.size());
+    }
+}
@@ -0,0 +1,137 @@
+package org.sbpo2025.challenge.genetic_algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.sbpo2025.challenge.TestInstances.items;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sbpo2025.challenge.ChallengeSolution;
+import org.sbpo2025.challenge.ChallengeSolver;
+import org.sbpo2025.challenge.genetic_algorithm.GeneticAlgorithmCheckpoint.IterationProgress;
+import org.sbpo2025.challenge.genetic_algorithm.GeneticAlgorithmCheckpoint.Snapshot;
+import org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm.WavePickingProblem;
+import org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm.WaveSolution;
+
+class GeneticAlgorithmCheckpointTest {
+
+    private static final List<Map<Integer, Integer>> ORDERS = List.of(items(0, 2), items(1, 1, 2, 1), items(0, 1, 2, 2), items(1, 3));
+    private static final List<Map<Integer, Integer>> AISLES = List.of(items(0, 3, 1, 1), items(1, 4), items(2, 3), items(0, 1, 2, 1));
+
+    @TempDir
+    Path directory;
+
+    private static WavePickingProblem problem(long seed) {
+        ChallengeSolver solver = new ChallengeSolver(ORDERS, AISLES, 3, 1, 8);
+        return new WavePickingProblem(solver.orders, solver.aisles, solver.items, solver.csr, 1, 8, seed);
+    }
+
+    private static void awaitFile(Path file) throws InterruptedException {
+        for (int i = 0; i < 1000 && !Files.exists(file); i++) Thread.sleep(10); // written in the background
+        assertTrue(Files.exists(file), file + " not written");
+    }
+
+    @Test
+    void snapshotRoundTrip() throws Exception {
+        WavePickingProblem problem = problem(7);
+        List<WaveSolution> population = problem.createInitialPopulation(6);
+        population.forEach(problem::evaluate);
+        SplitMixRandom mutationRandom = new SplitMixRandom(42);
+        mutationRandom.nextLong();
+
+        byte[] fingerprint = GeneticAlgorithmCheckpoint.fingerprint(ORDERS, AISLES, "WavePickingProblem", 7L, 6);
+        Path file = directory.resolve("run.checkpoint");
+        GeneticAlgorithmCheckpoint<WaveSolution> checkpoint = new GeneticAlgorithmCheckpoint<>(problem, file, 5, fingerprint,
+                List.of(problem.random, mutationRandom));
+        checkpoint.onGeneration(10, 66, population);
+        awaitFile(file);
+
+        CheckpointableRandom restoredRandom = new CheckpointableRandom(0);
+        SplitMixRandom restoredMutationRandom = new SplitMixRandom(0);
+        GeneticAlgorithmCheckpoint<WaveSolution> resumed = new GeneticAlgorithmCheckpoint<>(problem(7), file, 5, fingerprint,
+                List.of(restoredRandom, restoredMutationRandom));
+        Snapshot<WaveSolution> snapshot = resumed.load();
+
+        assertNotNull(snapshot);
+        assertEquals(10, snapshot.generation());
+        assertEquals(66, snapshot.evaluations());
+        assertArrayEquals(new long[]{problem.random.getState(), mutationRandom.getState()}, snapshot.randomStates());
+        assertEquals(population.size(), snapshot.population().size());
+        for (int i = 0; i < population.size(); i++) {
+            assertEquals(population.get(i).getOrders(), snapshot.population().get(i).getOrders());
+            assertEquals(population.get(i).getAisles(), snapshot.population().get(i).getAisles());
+            assertEquals(population.get(i).getObjective(0), snapshot.population().get(i).getObjective(0));
+        }
+
+        // the restored generators continue the same streams
+        resumed.restoreRandoms(snapshot);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(problem.random.nextInt(1000), restoredRandom.nextInt(1000));
+            assertEquals(mutationRandom.nextLong(), restoredMutationRandom.nextLong());
+        }
+
+        checkpoint.onFinish(population);
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void snapshotOfAnotherRunIsIgnored() throws Exception {
+        WavePickingProblem problem = problem(7);
+        List<WaveSolution> population = problem.createInitialPopulation(4);
+        population.forEach(problem::evaluate);
+        Path file = directory.resolve("run.checkpoint");
+        new GeneticAlgorithmCheckpoint<>(problem, file, 5, GeneticAlgorithmCheckpoint.fingerprint(ORDERS, AISLES, 7L),
+                List.of(problem.random)).onGeneration(5, 20, population);
+        awaitFile(file);
+
+        // same sizes and configuration, one aisle quantity differs
+        List<Map<Integer, Integer>> otherAisles = List.of(items(0, 3, 1, 1), items(1, 4), items(2, 3), items(0, 1, 2, 2));
+        assertNull(new GeneticAlgorithmCheckpoint<>(problem(7), file, 5, GeneticAlgorithmCheckpoint.fingerprint(ORDERS, otherAisles, 7L),
+                List.of(new CheckpointableRandom(0))).load());
+        assertNull(new GeneticAlgorithmCheckpoint<>(problem(7), file, 5, GeneticAlgorithmCheckpoint.fingerprint(ORDERS, AISLES, 8L),
+                List.of(new CheckpointableRandom(0))).load());
+        assertNotNull(new GeneticAlgorithmCheckpoint<>(problem(7), file, 5, GeneticAlgorithmCheckpoint.fingerprint(ORDERS, AISLES, 7L),
+                List.of(new CheckpointableRandom(0))).load());
+    }
+
+    @Test
+    void fingerprintIsAContentDigest() {
+        byte[] fingerprint = GeneticAlgorithmCheckpoint.fingerprint(ORDERS, AISLES, "WavePickingProblem", 7L, null);
+        assertEquals(32, fingerprint.length);
+
+        // map iteration order does not matter
+        Map<Integer, Integer> reversed = new LinkedHashMap<>();
+        reversed.put(2, 1);
+        reversed.put(1, 1);
+        List<Map<Integer, Integer>> orders = List.of(items(0, 2), reversed, items(0, 1, 2, 2), items(1, 3));
+        assertArrayEquals(fingerprint, GeneticAlgorithmCheckpoint.fingerprint(orders, AISLES, "WavePickingProblem", 7L, null));
+
+        assertFalse(Arrays.equals(fingerprint, GeneticAlgorithmCheckpoint.fingerprint(ORDERS, AISLES, "WavePickingProblem", 7L, true)));
+        assertFalse(Arrays.equals(fingerprint, GeneticAlgorithmCheckpoint.fingerprint(AISLES, ORDERS, "WavePickingProblem", 7L, null)));
+    }
+
+    @Test
+    void iterationProgressRoundTrip() throws IOException {
+        Path file = directory.resolve("run.checkpoint.iterations");
+        ChallengeSolution best = new ChallengeSolution(Set.of(0, 3), Set.of(0, 1));
+        GeneticAlgorithmCheckpoint.saveIterations(file, new IterationProgress("4x4 {seed=1}", 2, best, 2.5));
+
+        IterationProgress progress = GeneticAlgorithmCheckpoint.loadIterations(file, "4x4 {seed=1}");
+        assertEquals(new IterationProgress("4x4 {seed=1}", 2, best, 2.5), progress);
+        assertNull(GeneticAlgorithmCheckpoint.loadIterations(file, "4x4 {seed=2}"));
+        assertNull(GeneticAlgorithmCheckpoint.loadIterations(directory.resolve("missing"), "4x4 {seed=1}"));
+    }
+}
@@ -0,0 +1,82 @@
+package org.sbpo2025.challenge.genetic_algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+import org.junit.jupiter.api.Test;
+import org.sbpo2025.challenge.genetic_algorithm.binary_genetic_algorithm.operators.GeometricBitFlipMutation;
+import org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm.WaveSolution;
+import org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm.operators.WaveBitFlipMutation;
+import org.uma.jmetal.solution.binarysolution.BinarySolution;
+import org.uma.jmetal.solution.binarysolution.impl.DefaultBinarySolution;
+
+class GeometricSkipTest {
+
+    // generator returning a fixed nextDouble
+    private static RandomGenerator fixed(double value) {
+        return new RandomGenerator() {
+            @Override
+            public long nextLong() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public double nextDouble() {
+                return value;
+            }
+        };
+    }
+
+    @Test
+    void gapIsTheInverseGeometricCdf() {
+        assertEquals(0, GeometricSkip.next(-1, 0.5, fixed(0.0))); // u = 1: no skip
+        assertEquals(2, GeometricSkip.next(-1, 0.5, fixed(0.8))); // floor(log 0.2 / log 0.5) = 2
+        assertEquals(13, GeometricSkip.next(10, 0.5, fixed(0.8)));
+        assertEquals(5, GeometricSkip.next(4, 1, fixed(0.8)));
+        assertEquals(Integer.MAX_VALUE, GeometricSkip.next(4, 0, fixed(0.8)));
+        assertEquals(Integer.MAX_VALUE, GeometricSkip.next(Integer.MAX_VALUE - 1, 1e-9, fixed(0.999999)));
+    }
+
+    @Test
+    void everyBitFlipsWithTheMutationProbability() {
+        int bits = 100;
+        int trials = 10000;
+        double probability = 0.05;
+        SplitMixRandom random = new SplitMixRandom(1);
+        int[] flips = new int[bits];
+        for (int t = 0; t < trials; t++) {
+            for (int i = GeometricSkip.next(-1, probability, random); i < bits; i = GeometricSkip.next(i, probability, random)) flips[i]++;
+        }
+        for (int i = 0; i < bits; i++) {
+            assertTrue(Math.abs((double) flips[i] / trials - probability) < 0.01, "bit " + i + ": " + flips[i]);
+        }
+    }
+
+    @Test
+    void binaryMutationFlipsAllOrNoBits() {
+        BinarySolution solution = new DefaultBinarySolution(List.of(5, 3), 1);
+        List<String> before = List.of(solution.getVariable(0).toString(), solution.getVariable(1).toString());
+
+        new GeometricBitFlipMutation(0, new SplitMixRandom(1)).execute(solution);
+        assertEquals(before, List.of(solution.getVariable(0).toString(), solution.getVariable(1).toString()));
+
+        new GeometricBitFlipMutation(1, new SplitMixRandom(1)).execute(solution);
+        for (int v = 0; v < 2; v++) {
+            for (int i = 0; i < solution.getVariable(v).getBinarySetLength(); i++) {
+                assertEquals(before.get(v).charAt(i) == '0', solution.getVariable(v).get(i), "variable " + v + " bit " + i);
+            }
+        }
+    }
+
+    @Test
+    void subsetMutationFlipsMembership() {
+        WaveSolution solution = new WaveSolution(new ArrayList<>(List.of(0)), new ArrayList<>(List.of(1)));
+        new WaveBitFlipMutation(1, 3, 2, new SplitMixRandom(1)).execute(solution);
+        assertEquals(List.of(1, 2), solution.getOrders());
+        assertEquals(List.of(0), solution.getAisles());
+    }
+}
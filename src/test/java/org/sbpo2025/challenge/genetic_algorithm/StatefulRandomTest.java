@@ -0,0 +1,49 @@
+package org.sbpo2025.challenge.genetic_algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import org.junit.jupiter.api.Test;
+
+class StatefulRandomTest {
+
+    @Test
+    void checkpointableRandomIsJavaUtilRandom() {
+        Random reference = new Random(1234);
+        CheckpointableRandom random = new CheckpointableRandom(1234);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(reference.nextInt(), random.nextInt());
+            assertEquals(reference.nextInt(17), random.nextInt(17));
+            assertEquals(reference.nextDouble(), random.nextDouble());
+            assertEquals(reference.nextLong(), random.nextLong());
+        }
+
+        reference.setSeed(99);
+        random.setSeed(99);
+        assertEquals(reference.nextLong(), random.nextLong());
+    }
+
+    @Test
+    void splitMixRandomIsSplittableRandom() {
+        SplittableRandom reference = new SplittableRandom(1234);
+        SplitMixRandom random = new SplitMixRandom(1234);
+        for (int i = 0; i < 100; i++) assertEquals(reference.nextLong(), random.nextLong());
+    }
+
+    @Test
+    void stateRoundTrip() {
+        for (StatefulRandom random : new StatefulRandom[]{new CheckpointableRandom(5), new SplitMixRandom(5)}) {
+            RandomGenerator generator = (RandomGenerator) random;
+            generator.nextLong();
+            long state = random.getState();
+            long[] expected = new long[20];
+            for (int i = 0; i < expected.length; i++) expected[i] = generator.nextLong();
+
+            random.setState(state);
+            for (long value : expected) assertEquals(value, generator.nextLong());
+        }
+    }
+}
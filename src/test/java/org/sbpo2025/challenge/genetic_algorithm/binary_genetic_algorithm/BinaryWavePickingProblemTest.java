@@ -0,0 +1,91 @@
+package org.sbpo2025.challenge.genetic_algorithm.binary_genetic_algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.sbpo2025.challenge.TestInstances.items;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.sbpo2025.challenge.ChallengeSolution;
+import org.sbpo2025.challenge.ChallengeSolver;
+import org.uma.jmetal.solution.binarysolution.BinarySolution;
+
+class BinaryWavePickingProblemTest {
+
+    private static final List<Map<Integer, Integer>> ORDERS = List.of(items(0, 2), items(1, 1, 2, 1), items(0, 1, 2, 2), items(1, 3));
+    private static final List<Map<Integer, Integer>> AISLES = List.of(items(0, 3, 1, 1), items(1, 4), items(2, 3), items(0, 1, 2, 1));
+
+    private static BinaryWavePickingProblem problem(int LB, long seed) {
+        ChallengeSolver solver = new ChallengeSolver(ORDERS, AISLES, 3, LB, 8);
+        BinaryWavePickingProblem problem = new BinaryWavePickingProblem(solver.orders, solver.aisles, solver.items, solver.csr, LB, 8, seed);
+        problem.setWaveSizePenalty(10);
+        return problem;
+    }
+
+    private static int units(List<Map<Integer, Integer>> rows, List<Integer> selected) {
+        int total = 0;
+        for (int r : selected) total += rows.get(r).values().stream().mapToInt(Integer::intValue).sum();
+        return total;
+    }
+
+    private static int quantity(List<Map<Integer, Integer>> rows, List<Integer> selected, int item) {
+        int total = 0;
+        for (int r : selected) total += rows.get(r).getOrDefault(item, 0);
+        return total;
+    }
+
+    @Test
+    void feasibleSolutionIsScoredWithoutRepair() {
+        BinaryWavePickingProblem problem = problem(1, 3);
+        BinarySolution solution = problem.fromChallengeSolution(new ChallengeSolution(Set.of(0, 1), Set.of(0, 2)));
+        problem.evaluate(solution);
+
+        assertEquals(-2.0, solution.getObjective(0), 1e-12); // 4 units over 2 aisles
+        assertEquals(2.0, problem.objective(solution), 1e-12);
+        assertTrue(problem.isFeasible(solution));
+        assertEquals(List.of(0, 1), problem.getSelectedOrders(solution));
+        assertEquals(List.of(0, 2), problem.getVisitedAisles(solution));
+        assertEquals(0, problem.removedOrdersCount.sum());
+        assertEquals(0, problem.addedAislesCount.sum());
+    }
+
+    @Test
+    void repairDropsEveryOrderTheAislesCannotServe() {
+        BinaryWavePickingProblem problem = problem(1, 3);
+        // aisle 2 only stocks item 2, and every order also needs item 0 or 1
+        BinarySolution solution = problem.fromChallengeSolution(new ChallengeSolution(Set.of(0, 1, 2, 3), Set.of(2)));
+        problem.evaluate(solution);
+
+        assertEquals(List.of(), problem.getSelectedOrders(solution));
+        assertEquals(List.of(2), problem.getVisitedAisles(solution));
+        assertEquals(4, problem.removedOrdersCount.sum());
+        assertEquals(10.0, solution.getObjective(0), 1e-12); // 0 units, 1 unit below LB
+    }
+
+    @Test
+    void repairedSolutionsFitTheirAislesAndMatchTheMapObjective() {
+        for (long seed = 0; seed < 50; seed++) {
+            int LB = 6;
+            BinaryWavePickingProblem problem = problem(LB, seed);
+            BinarySolution solution = problem.createSolution();
+            problem.evaluate(solution);
+
+            List<Integer> orders = problem.getSelectedOrders(solution);
+            List<Integer> aisles = problem.getVisitedAisles(solution);
+            for (int item = 0; item < 3; item++) {
+                assertTrue(quantity(ORDERS, orders, item) <= quantity(AISLES, aisles, item), "seed " + seed + " item " + item);
+            }
+            assertTrue(units(AISLES, aisles) >= LB, "seed " + seed);
+
+            int units = units(ORDERS, orders);
+            double ratio = units == 0 || aisles.isEmpty() ? 0.0 : (double) units / aisles.size();
+            int penalization = Math.max(0, LB - units) + Math.max(0, units - 8);
+            assertEquals(-(ratio - 10.0 * penalization), solution.getObjective(0), 1e-12, "seed " + seed);
+            assertEquals(penalization == 0, problem.isFeasible(solution), "seed " + seed);
+        }
+    }
+
+}
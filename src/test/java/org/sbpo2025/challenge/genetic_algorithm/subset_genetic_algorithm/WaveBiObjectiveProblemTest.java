@@ -0,0 +1,70 @@
+package org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.sbpo2025.challenge.TestInstances.items;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.sbpo2025.challenge.ChallengeSolution;
+import org.sbpo2025.challenge.ChallengeSolver;
+
+class WaveBiObjectiveProblemTest {
+
+    private static final List<Map<Integer, Integer>> ORDERS = List.of(items(0, 2), items(1, 1, 2, 1), items(0, 1, 2, 2), items(1, 3));
+    private static final List<Map<Integer, Integer>> AISLES = List.of(items(0, 3, 1, 1), items(1, 4), items(2, 3), items(0, 1, 2, 1));
+
+    private static WaveBiObjectiveProblem problem(int LB, int UB) {
+        ChallengeSolver solver = new ChallengeSolver(ORDERS, AISLES, 3, LB, UB);
+        WaveBiObjectiveProblem problem = new WaveBiObjectiveProblem(solver.orders, solver.aisles, solver.items, solver.csr, LB, UB, 3);
+        problem.setWaveSizePenalty(10);
+        return problem;
+    }
+
+    @Test
+    void unitsAndAislesOfAFeasibleWave() {
+        WaveBiObjectiveProblem problem = problem(1, 8);
+        WaveSolution solution = problem.fromChallengeSolution(new ChallengeSolution(Set.of(0, 1), Set.of(0, 2)));
+        problem.evaluate(solution);
+
+        assertEquals(-4.0, solution.getObjective(0));
+        assertEquals(2.0, solution.getObjective(1));
+        assertEquals(0.0, solution.getConstraint(0));
+        assertEquals(-2.0, problem.fitness(solution));
+        assertEquals(2.0, problem.objective(solution));
+        assertTrue(problem.isFeasible(solution));
+    }
+
+    @Test
+    void waveSizeViolationIsAConstraint() {
+        WaveBiObjectiveProblem problem = problem(1, 3);
+        WaveSolution solution = problem.fromChallengeSolution(new ChallengeSolution(Set.of(0, 1), Set.of(0, 2)));
+        problem.evaluate(solution);
+
+        assertEquals(-4.0, solution.getObjective(0)); // objectives are not penalized
+        assertEquals(-1.0, solution.getConstraint(0));
+        assertEquals(-2.0 + 10.0, problem.fitness(solution));
+        assertFalse(problem.isFeasible(solution));
+    }
+
+    @Test
+    void repairOnlyDependsOnTheSolution() {
+        WaveBiObjectiveProblem problem = problem(1, 8);
+        // a0 holds 1 unit of item 1 and none of item 2: o1 and o2 go, then o1 or o3 at random
+        WaveSolution first = new WaveSolution(new ArrayList<>(List.of(0, 1, 2, 3)), new ArrayList<>(List.of(0)), 2, 1);
+        WaveSolution second = first.copy();
+        problem.evaluate(first);
+        problem.random.nextLong();
+        problem.evaluate(second);
+
+        assertEquals(first.getOrders(), second.getOrders());
+        assertEquals(first.getObjective(0), second.getObjective(0));
+        assertTrue(first.getOrders().contains(0) && !first.getOrders().contains(2));
+    }
+
+}
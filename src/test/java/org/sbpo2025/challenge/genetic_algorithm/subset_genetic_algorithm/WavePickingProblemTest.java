@@ -0,0 +1,60 @@
+package org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.sbpo2025.challenge.ChallengeSolver;
+import org.sbpo2025.challenge.TestInstances;
+
+class WavePickingProblemTest {
+
+    private static final int ITEMS = 8;
+    private static final Random INSTANCE = new Random(11);
+    private static final List<Map<Integer, Integer>> ORDERS = TestInstances.randomRows(INSTANCE, 60, ITEMS, 3, 4);
+    private static final List<Map<Integer, Integer>> AISLES = TestInstances.randomRows(INSTANCE, 20, ITEMS, 4, 6);
+
+    private static WavePickingProblem problem(long seed) {
+        ChallengeSolver solver = new ChallengeSolver(ORDERS, AISLES, ITEMS, 1, 1000);
+        return new WavePickingProblem(solver.orders, solver.aisles, solver.items, solver.csr, 1, 1000, seed);
+    }
+
+    private static List<WaveSolution> population(int threads, long seed) throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            // the parallel stream runs on the pool it is started from
+            return pool.submit(() -> problem(seed).createInitialPopulation(40)).get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void populationDoesNotDependOnTheNumberOfThreads() throws Exception {
+        List<WaveSolution> serial = population(1, 5);
+        List<WaveSolution> parallel = population(4, 5);
+
+        assertEquals(40, parallel.size());
+        for (int i = 0; i < serial.size(); i++) {
+            assertEquals(serial.get(i).getOrders(), parallel.get(i).getOrders(), "individual " + i);
+            assertEquals(serial.get(i).getAisles(), parallel.get(i).getAisles(), "individual " + i);
+        }
+    }
+
+    @Test
+    void warmStartOrdersFitTheStockOfTheirAisles() throws Exception {
+        for (WaveSolution solution : population(4, 9)) {
+            int[] stock = new int[ITEMS];
+            for (int a : solution.getAisles()) AISLES.get(a).forEach((item, quantity) -> stock[item] += quantity);
+            for (int o : solution.getOrders()) ORDERS.get(o).forEach((item, quantity) -> stock[item] -= quantity);
+            for (int item = 0; item < ITEMS; item++) assertTrue(stock[item] >= 0, "item " + item);
+            assertEquals(solution.getOrders().size(), solution.getOrders().stream().distinct().count());
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+package org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm.operators;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.sbpo2025.challenge.ChallengeSolver;
+import org.sbpo2025.challenge.TestInstances;
+import org.sbpo2025.challenge.genetic_algorithm.SplitMixRandom;
+import org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm.WavePickingProblem;
+import org.sbpo2025.challenge.genetic_algorithm.subset_genetic_algorithm.WaveSolution;
+
+class FeasibleOperatorsTest {
+
+    private static final int ITEMS = 6;
+    private static final Random INSTANCE = new Random(17);
+    private static final List<Map<Integer, Integer>> ORDERS = TestInstances.randomRows(INSTANCE, 40, ITEMS, 3, 4);
+    private static final List<Map<Integer, Integer>> AISLES = TestInstances.randomRows(INSTANCE, 12, ITEMS, 3, 8);
+    private static final ChallengeSolver SOLVER = new ChallengeSolver(ORDERS, AISLES, ITEMS, 1, 1000);
+
+    /*
+     * Warm-start individuals: their orders fit in their aisles
+     */
+    private static List<WaveSolution> population(long seed) {
+        return new WavePickingProblem(SOLVER.orders, SOLVER.aisles, SOLVER.items, SOLVER.csr, 1, 1000, seed).createInitialPopulation(30);
+    }
+
+    private static void assertFits(WaveSolution solution) {
+        int[] stock = new int[ITEMS];
+        for (int a : solution.getAisles()) AISLES.get(a).forEach((item, quantity) -> stock[item] += quantity);
+        for (int o : solution.getOrders()) ORDERS.get(o).forEach((item, quantity) -> stock[item] -= quantity);
+        for (int item = 0; item < ITEMS; item++) assertTrue(stock[item] >= 0, "item " + item + " of " + solution);
+        assertEquals(solution.getOrders().size(), solution.getOrders().stream().distinct().count());
+        assertEquals(solution.getAisles().size(), solution.getAisles().stream().distinct().count());
+    }
+
+    /*
+     * The orders of the list that fit in the aisles, in list order
+     */
+    private static WaveSolution fitting(List<Integer> orders, List<Integer> aisles) {
+        WaveSolution solution = new WaveSolution(new ArrayList<>(), new ArrayList<>(aisles));
+        WaveLoad load = new WaveLoad(SOLVER.csr, solution);
+        for (int o : orders) {
+            if (!load.fits(o)) continue;
+            solution.addOrder(o);
+            load.addOrder(o);
+        }
+        return solution;
+    }
+
+    @Test
+    void mutationKeepsOrdersServed() {
+        FeasibleBitFlipMutation mutation = new FeasibleBitFlipMutation(0.1, SOLVER.csr, new SplitMixRandom(3));
+        for (WaveSolution solution : population(1)) {
+            assertFits(solution);
+            for (int round = 0; round < 20; round++) {
+                mutation.execute(solution);
+                assertFits(solution);
+            }
+        }
+    }
+
+    @Test
+    void crossoverOfParentsWithTheSameAislesNeedsNoRepair() {
+        for (boolean ordersUnion : List.of(false, true)) {
+            FeasibleUniformCrossover crossover = new FeasibleUniformCrossover(1.0, ordersUnion, new Random(5), SOLVER.csr);
+            List<WaveSolution> population = population(2);
+            for (int i = 0; i + 1 < population.size(); i += 2) {
+                // aisle exchanges are free: only same-aisle parents are guaranteed servable children
+                WaveSolution first = population.get(i);
+                WaveSolution second = fitting(population.get(i + 1).getOrders(), first.getAisles());
+                for (WaveSolution child : crossover.execute(List.of(first, second))) assertFits(child);
+            }
+        }
+    }
+
+}